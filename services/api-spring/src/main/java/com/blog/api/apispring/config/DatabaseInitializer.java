@@ -5,6 +5,7 @@ import com.blog.api.apispring.repository.PermissionRepository;
 import com.blog.api.apispring.repository.PostRepository;
 import com.blog.api.apispring.repository.RoleRepository;
 import com.blog.api.apispring.security.authorities.PermissionType;
+import com.blog.api.apispring.service.RoleService;
 import com.blog.api.apispring.service.TagService;
 import com.blog.api.apispring.service.UserService;
 import org.flywaydb.core.Flyway;
@@ -39,6 +40,7 @@ public class DatabaseInitializer implements ApplicationRunner
 	private TagService tagService;
 	private PermissionRepository permissionRepository;
 	private RoleRepository roleRepository;
+	private RoleService roleService;
 	private PostRepository postRepository;
 	private Flyway flyway;
 	private ApplicationArguments applicationArguments;
@@ -73,6 +75,12 @@ public class DatabaseInitializer implements ApplicationRunner
 		this.roleRepository = roleRepository;
 	}
 
+	@Autowired
+	public void setRoleService(RoleService roleService)
+	{
+		this.roleService = roleService;
+	}
+
 	@Autowired
 	public void setTagService(TagService tagService)
 	{
@@ -123,8 +131,8 @@ public class DatabaseInitializer implements ApplicationRunner
 
 		Set<Permission> allPermissions = new HashSet<>(Arrays.asList(read, create, delete, update));
 		// Roles
-		Role adminRole = createRoleIfNotFound("ROLE_ADMIN", allPermissions);
-		Role userRole = createRoleIfNotFound("ROLE_USER", Collections.singleton(read));
+		Role adminRole = createOrUpdateRole("ROLE_ADMIN", allPermissions);
+		Role userRole = createOrUpdateRole("ROLE_USER", Collections.singleton(read));
 
 		// Users
 		String adminName = environment.getRequiredProperty("blog-api.seeding.users.admin-name");
@@ -229,9 +237,12 @@ public class DatabaseInitializer implements ApplicationRunner
 		return optionalPermission.get();
 	}
 
-	private Role createRoleIfNotFound(String name, Set<Permission> permissions)
+	/**
+	 * Creates the role, or gives an existing one the seeded permissions.
+	 */
+	private Role createOrUpdateRole(String name, Set<Permission> permissions)
 	{
-		Optional<Role> optionalRole = roleRepository.findByName(name);
+		Optional<Role> optionalRole = roleService.setPermissions(name, permissions);
 		if (optionalRole.isEmpty())
 		{
 			Role role = new Role(name);
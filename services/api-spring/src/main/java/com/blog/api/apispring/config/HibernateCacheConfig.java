@@ -0,0 +1,115 @@
+package com.blog.api.apispring.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache of the reference data: tags, roles, permissions and users, their collections and the
+ * queries looking them up by slug or email.
+ * <p>
+ * Regions are Caffeine caches created here with an explicit size and time to live, Hibernate fails on a region that
+ * is not declared. Hit ratio and evictions are published as {@code cache.*} metrics tagged with the region name.
+ */
+@Configuration
+public class HibernateCacheConfig
+{
+	public static final String TAGS_REGION = "tags";
+	public static final String TAG_QUERIES_REGION = "tags.queries";
+	public static final String ROLES_REGION = "roles";
+	public static final String ROLE_PERMISSIONS_REGION = "roles.permissions";
+	public static final String PERMISSIONS_REGION = "permissions";
+	public static final String USERS_REGION = "users";
+	public static final String USER_ROLES_REGION = "users.roles";
+	public static final String USER_QUERIES_REGION = "users.queries";
+
+	private final MeterRegistry meterRegistry;
+
+	public HibernateCacheConfig(MeterRegistry meterRegistry)
+	{
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager(@Value("${blog-api.jpa.cache.tags.max-size:10000}") long tagsMaxSize,
+											  @Value("${blog-api.jpa.cache.tags.ttl:1h}") Duration tagsTtl,
+											  @Value("${blog-api.jpa.cache.roles.max-size:1000}") long rolesMaxSize,
+											  @Value("${blog-api.jpa.cache.roles.ttl:1h}") Duration rolesTtl,
+											  @Value("${blog-api.jpa.cache.users.max-size:10000}") long usersMaxSize,
+											  @Value("${blog-api.jpa.cache.users.ttl:10m}") Duration usersTtl,
+											  @Value("${blog-api.jpa.cache.queries.max-size:10000}") long queriesMaxSize,
+											  @Value("${blog-api.jpa.cache.queries.ttl:10m}") Duration queriesTtl)
+	{
+		// One manager per application context, the contexts of the tests share the provider.
+		CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		CacheManager cacheManager = provider.getCacheManager(
+				URI.create("blog-api:hibernate-" + ObjectUtils.getIdentityHexString(this)),
+				getClass().getClassLoader());
+
+		createRegion(cacheManager, TAGS_REGION, tagsMaxSize, tagsTtl);
+		createRegion(cacheManager, TAG_QUERIES_REGION, queriesMaxSize, queriesTtl);
+		createRegion(cacheManager, ROLES_REGION, rolesMaxSize, rolesTtl);
+		createRegion(cacheManager, ROLE_PERMISSIONS_REGION, rolesMaxSize, rolesTtl);
+		createRegion(cacheManager, PERMISSIONS_REGION, rolesMaxSize, rolesTtl);
+		createRegion(cacheManager, USERS_REGION, usersMaxSize, usersTtl);
+		createRegion(cacheManager, USER_ROLES_REGION, usersMaxSize, usersTtl);
+		createRegion(cacheManager, USER_QUERIES_REGION, queriesMaxSize, queriesTtl);
+		createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queriesMaxSize,
+				queriesTtl);
+		// A cached query is stale once its tables are more recent, the timestamps must outlive every query result.
+		createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null, null);
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager)
+	{
+		return properties ->
+		{
+			properties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+			properties.put(CacheSettings.USE_QUERY_CACHE, true);
+			properties.put(CacheSettings.CACHE_REGION_FACTORY, "jcache");
+			properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+			properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+		};
+	}
+
+	/**
+	 * Creates a region holding references to the cached state, Hibernate never mutates it.
+	 *
+	 * @param maxSize the maximum number of entries, null when unbounded
+	 * @param ttl     the time to live of an entry, null when entries do not expire
+	 */
+	private void createRegion(CacheManager cacheManager, String name, Long maxSize, Duration ttl)
+	{
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setStoreByValue(false);
+		configuration.setStatisticsEnabled(true);
+		if (maxSize != null)
+		{
+			configuration.setMaximumSize(OptionalLong.of(maxSize));
+		}
+		if (ttl != null)
+		{
+			configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+		}
+
+		JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(name, configuration));
+	}
+}
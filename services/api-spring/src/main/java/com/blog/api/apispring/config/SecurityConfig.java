@@ -2,6 +2,7 @@ package com.blog.api.apispring.config;
 
 import com.blog.api.apispring.exception.handler.RestAccessDeniedHandler;
 import com.blog.api.apispring.exception.handler.RestAuthenticationEntryPoint;
+import com.blog.api.apispring.security.UserSecurityVersionService;
 import com.blog.api.apispring.security.authorities.PermissionType;
 import com.blog.api.apispring.security.filter.AccessJwtAuthenticationFilter;
 import com.blog.api.apispring.security.filter.RefreshJwtAuthenticationFilter;
@@ -57,7 +58,8 @@ public class SecurityConfig
 	}
 
 	@Bean
-	public SecurityFilterChain web(HttpSecurity http, BlogUserDetailsService userDetailsService) throws Exception
+	public SecurityFilterChain web(HttpSecurity http, BlogUserDetailsService userDetailsService,
+								   UserSecurityVersionService userSecurityVersionService) throws Exception
 	{
 		http.userDetailsService(userDetailsService);
 		http.csrf(AbstractHttpConfigurer::disable);
@@ -93,6 +95,12 @@ public class SecurityConfig
 			// Authority check done with MethodSecutiry
 			authorize.requestMatchers("/comments/**")
 					 .authenticated();
+			// Actuator
+			authorize.requestMatchers("/actuator/metrics", "/actuator/metrics/**")
+					 .authenticated();
+			// Export
+			authorize.requestMatchers("/export", "/export/**")
+					 .hasRole("ADMIN");
 			// Any
 			authorize.anyRequest()
 					 .permitAll();
@@ -106,7 +114,8 @@ public class SecurityConfig
 		});
 
 		// === JWT Filters ===
-		AuthenticationManager authenticationManager = authenticationManager(userDetailsService);
+		AuthenticationManager authenticationManager = authenticationManager(userDetailsService,
+				userSecurityVersionService);
 		http.addFilterBefore(new RefreshJwtAuthenticationFilter(jwtService, authenticationManager),
 				UsernamePasswordAuthenticationFilter.class);
 		http.addFilterBefore(new AccessJwtAuthenticationFilter(jwtService, authenticationManager),
@@ -115,11 +124,13 @@ public class SecurityConfig
 	}
 
 	@Bean
-	public AuthenticationManager authenticationManager(BlogUserDetailsService userDetailsService)
+	public AuthenticationManager authenticationManager(BlogUserDetailsService userDetailsService,
+													   UserSecurityVersionService userSecurityVersionService)
 	{
 		DaoAuthenticationProvider usernamePasswordAuthProvider = new DaoAuthenticationProvider(userDetailsService);
 		usernamePasswordAuthProvider.setPasswordEncoder(passwordEncoder());
-		JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider(userDetailsService);
+		JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider(userDetailsService,
+				userSecurityVersionService);
 
 		return new ProviderManager(usernamePasswordAuthProvider, jwtAuthenticationProvider);
 	}
@@ -14,9 +14,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Objects;
+
 import static com.blog.api.apispring.security.filter.RefreshJwtAuthenticationFilter.REFRESH_TOKEN_COOKIE;
 
 @RestController
@@ -100,6 +104,11 @@ class AuthController
 		Long userId = userDetails.getId();
 		String username = userDetails.getUsername();
 		String email = userDetails.getEmail();
-		return jwtService.generateAccessToken(userId, username, email);
+		List<String> authorities = userDetails.getAuthorities()
+											  .stream()
+											  .map(GrantedAuthority::getAuthority)
+											  .filter(Objects::nonNull)
+											  .toList();
+		return jwtService.generateAccessToken(userId, username, email, authorities, userDetails.getSecurityVersion());
 	}
 }
@@ -3,11 +3,15 @@ package com.blog.api.apispring.controller;
 import com.blog.api.apispring.dto.comment.UpdateCommentRequest;
 import com.blog.api.apispring.model.Comment;
 import com.blog.api.apispring.projection.CommentInfo;
+import com.blog.api.apispring.projection.EntityVersion;
 import com.blog.api.apispring.service.CommentService;
+import com.blog.api.apispring.utils.HttpCacheUtils;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
 
@@ -23,8 +27,23 @@ class CommentController
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<CommentInfo> getComment(@PathVariable long id)
+	public ResponseEntity<CommentInfo> getComment(@PathVariable long id, WebRequest webRequest)
 	{
+		Optional<EntityVersion> optionalVersion = commentService.getCommentVersion(id);
+		if (optionalVersion.isEmpty())
+		{
+			return ResponseEntity.notFound()
+								 .build();
+		}
+
+		EntityVersion version = optionalVersion.get();
+		if (HttpCacheUtils.checkNotModified(webRequest, HttpCacheUtils.eTag("comment", id, version),
+				version.getUpdatedAt()))
+		{
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+								 .build();
+		}
+
 		Optional<CommentInfo> optionalCommentInfo = commentService.getCommentInfo(id);
 		if (optionalCommentInfo.isEmpty())
 		{
@@ -50,13 +69,9 @@ class CommentController
 		String newUsername = request.username();
 		String newBody = request.body();
 
-		Comment comment = optionalComment.get();
-		comment = commentService.updateComment(comment, newUsername, newBody);
-		// TODO : Comment -> CommentInfo without query ?
-		Optional<CommentInfo> commentInfo = commentService.getCommentInfo(comment.getId());
-		assert commentInfo.isPresent();
+		CommentInfo commentInfo = commentService.updateComment(optionalComment.get(), newUsername, newBody);
 
-		return ResponseEntity.ok(commentInfo.get());
+		return ResponseEntity.ok(commentInfo);
 	}
 
 	@DeleteMapping("/{id}")
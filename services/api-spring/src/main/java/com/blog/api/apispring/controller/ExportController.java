@@ -0,0 +1,41 @@
+package com.blog.api.apispring.controller;
+
+import com.blog.api.apispring.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/export")
+public class ExportController
+{
+	private static final String FILENAME = "blog-export.ndjson";
+
+	private final ExportService exportService;
+
+	public ExportController(ExportService exportService)
+	{
+		this.exportService = exportService;
+	}
+
+	/**
+	 * Streams every post followed by its comments, one JSON object per line. The body is written asynchronously,
+	 * within {@code spring.mvc.async.request-timeout}.
+	 */
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> export()
+	{
+		return ResponseEntity.ok()
+							 .contentType(MediaType.APPLICATION_NDJSON)
+							 .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+																						.filename(FILENAME)
+																						.build()
+																						.toString())
+							 .body(exportService::exportTo);
+	}
+}
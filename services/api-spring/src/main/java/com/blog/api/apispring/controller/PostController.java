@@ -1,27 +1,37 @@
 package com.blog.api.apispring.controller;
 
+import com.blog.api.apispring.dto.comment.CommentCursor;
+import com.blog.api.apispring.dto.metadata.CursorPage;
 import com.blog.api.apispring.dto.metadata.Metadata;
 import com.blog.api.apispring.dto.posts.*;
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
 import com.blog.api.apispring.exception.PostPublicationConflictException;
-import com.blog.api.apispring.model.Comment;
 import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.projection.CollectionVersion;
 import com.blog.api.apispring.projection.CommentInfo;
+import com.blog.api.apispring.projection.EntityVersion;
+import com.blog.api.apispring.projection.PostHeader;
 import com.blog.api.apispring.projection.PostInfoWithAuthor;
 import com.blog.api.apispring.projection.PostInfoWithAuthorAndTags;
+import com.blog.api.apispring.projection.PostSummaryWithAuthorAndTags;
 import com.blog.api.apispring.security.userdetails.BlogUserDetails;
 import com.blog.api.apispring.service.CommentService;
+import com.blog.api.apispring.service.PostListingCacheService;
+import com.blog.api.apispring.service.PostRenderService;
 import com.blog.api.apispring.service.PostService;
+import com.blog.api.apispring.utils.HttpCacheUtils;
 import jakarta.validation.Valid;
 import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
@@ -34,11 +44,16 @@ class PostController
 {
 	private final PostService postService;
 	private final CommentService commentService;
+	private final PostListingCacheService postListingCacheService;
+	private final PostRenderService postRenderService;
 
-	public PostController(PostService postService, CommentService commentService)
+	public PostController(PostService postService, CommentService commentService,
+						  PostListingCacheService postListingCacheService, PostRenderService postRenderService)
 	{
 		this.postService = postService;
 		this.commentService = commentService;
+		this.postListingCacheService = postListingCacheService;
+		this.postRenderService = postRenderService;
 	}
 
 	@GetMapping
@@ -51,42 +66,103 @@ class PostController
 			getPostsRequest.setUnpublished(false);
 		}
 
-		Page<PostInfoWithAuthorAndTags> postsPage = postService.getPageablePostsInfo(getPostsRequest);
-		List<PostInfoWithAuthorAndTags> postsContent = postsPage.getContent();
-		Map<Long, Long> commentsCount = postService.getCommentsCount(postsContent.stream()
-																				 .map(PostInfoWithAuthor::getId)
-																				 .toList());
-		List<PostDto> results = postsContent.stream()
-											.map(p ->
-											{
-												PostDto dto = new PostDto(p);
-												dto.setCommentsCount(commentsCount.get(p.getId()));
-												return dto;
-											})
-											.toList();
+		// Listings of published posts are the same for every user.
+		GetPostsResponse response = postListingCacheService.getPosts(getPostsRequest,
+				() -> loadPosts(getPostsRequest));
+		return ResponseEntity.ok(response);
+	}
+
+	private GetPostsResponse loadPosts(GetPostsRequestImpl getPostsRequest)
+	{
+		if (getPostsRequest.isCursorPagination())
+		{
+			CursorPage<PostSummaryWithAuthorAndTags> postsPage = postService.getCursorPostsInfo(getPostsRequest);
+			List<PostDto> results = toPostDtos(postsPage.content());
+
+			Metadata metadata = new Metadata();
+			metadata.pageSize(getPostsRequest.getPageSize())
+					.sortBy(getPostsRequest.getSortBy())
+					.next(postsPage.next())
+					.prev(postsPage.prev());
+			return new GetPostsResponse(results, metadata);
+		}
+
+		Page<PostSummaryWithAuthorAndTags> postsPage = postService.getPageablePostsInfo(getPostsRequest);
+		List<PostDto> results = toPostDtos(postsPage.getContent());
 
 		Metadata metadata = new Metadata();
 		metadata.count(postsPage.getTotalElements())
 				.page(postsPage.getNumber())
 				.pageSize(postsPage.getSize())
 				.sortBy(getPostsRequest.getSortBy());
-		return ResponseEntity.ok(new GetPostsResponse(results, metadata));
+		return new GetPostsResponse(results, metadata);
+	}
+
+	private List<PostDto> toPostDtos(List<PostSummaryWithAuthorAndTags> postsContent)
+	{
+		return postsContent.stream()
+						   .map(PostDto::new)
+						   .toList();
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<PostDto> getPost(@PathVariable long id)
+	public ResponseEntity<PostDto> getPost(@PathVariable long id, WebRequest webRequest)
 	{
+		// The version is read first, a write racing with the request then only makes the ETag older than the body.
+		Optional<EntityVersion> optionalVersion = postService.getPostVersion(id);
+		if (optionalVersion.isEmpty())
+		{
+			return ResponseEntity.notFound()
+								 .build();
+		}
+
+		EntityVersion version = optionalVersion.get();
+		if (HttpCacheUtils.checkNotModified(webRequest, HttpCacheUtils.eTag("post", id, version),
+				version.getUpdatedAt()))
+		{
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+								 .build();
+		}
+
 		Optional<PostInfoWithAuthorAndTags> optionalPost = postService.getPostInfoWithTags(id);
 		if (optionalPost.isEmpty())
 		{
 			return ResponseEntity.notFound()
 								 .build();
 		}
-		PostInfoWithAuthorAndTags post = optionalPost.get();
-		Long commentsCount = postService.getCommentsCount(post.getId());
-		PostDto dto = new PostDto(post);
-		dto.setCommentsCount(commentsCount);
-		return ResponseEntity.ok(dto);
+		return ResponseEntity.ok(new PostDto(optionalPost.get()));
+	}
+
+	/**
+	 * Returns the body of the post rendered to sanitized HTML.
+	 */
+	@GetMapping(value = "/{id}/html", produces = MediaType.TEXT_HTML_VALUE)
+	public ResponseEntity<String> getPostHtml(@PathVariable long id, WebRequest webRequest)
+	{
+		Optional<EntityVersion> optionalVersion = postService.getPostVersion(id);
+		if (optionalVersion.isEmpty())
+		{
+			return ResponseEntity.notFound()
+								 .build();
+		}
+
+		EntityVersion version = optionalVersion.get();
+		// The HTML also changes with the renderer, when the markdown extensions are changed.
+		String resource = "post-html-" + postRenderService.getRenderer();
+		if (HttpCacheUtils.checkNotModified(webRequest, HttpCacheUtils.eTag(resource, id, version),
+				version.getUpdatedAt()))
+		{
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+								 .build();
+		}
+
+		Optional<String> optionalHtml = postRenderService.getHtml(id);
+		if (optionalHtml.isEmpty())
+		{
+			return ResponseEntity.notFound()
+								 .build();
+		}
+		return ResponseEntity.ok(optionalHtml.get());
 	}
 
 	@PostMapping
@@ -106,61 +182,93 @@ class PostController
 
 	@PutMapping("/{id}")
 	@PreAuthorize("hasAuthority('UPDATE') || @postSecurity.isOwner(authentication, #post)")
-	public ResponseEntity<PostInfoWithAuthorAndTags> updatePost(@PathVariable("id") @NonNull Post post,
+	public ResponseEntity<PostInfoWithAuthorAndTags> updatePost(@PathVariable("id") @NonNull PostHeader post,
 																@Valid @RequestBody UpdatePostRequest updatePostRequest)
 	{
 		String title = updatePostRequest.title();
 		String body = updatePostRequest.body();
 		Set<TagIdOrSlug> tags = updatePostRequest.tags();
 
-		PostInfoWithAuthorAndTags updatedPost = postService.updatePost(post, title, body, tags);
+		Optional<PostInfoWithAuthorAndTags> updatedPost = postService.updatePost(post.getId(), title, body, tags);
+		if (updatedPost.isEmpty())
+		{
+			return ResponseEntity.notFound()
+								 .build();
+		}
 
-		return ResponseEntity.ok(updatedPost);
+		return ResponseEntity.ok(updatedPost.get());
 	}
 
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasAuthority('DELETE') || @postSecurity.isOwner(authentication, #post)")
-	public ResponseEntity<PostDto> deletePost(@PathVariable("id") @NonNull Post post)
+	public ResponseEntity<PostDto> deletePost(@PathVariable("id") @NonNull PostHeader post)
 	{
+		// Read with its author before the delete, the response is the deleted post.
+		Optional<PostInfoWithAuthor> optionalPost = postService.getPostInfo(post.getId());
+		if (optionalPost.isEmpty())
+		{
+			return ResponseEntity.notFound()
+								 .build();
+		}
+
 		postService.deletePost(post.getId());
 
-		return ResponseEntity.ok(new PostDto(post));
+		return ResponseEntity.ok(new PostDto(optionalPost.get()));
 	}
 
 	@GetMapping("/{id}/comments")
 	@PreAuthorize("#post.isPublished() || @postSecurity.isOwner(authentication, #post)")
-	public ResponseEntity<GetPostCommentsResponse> getPostComments(@PathVariable("id") @NonNull Post post)
+	public ResponseEntity<GetPostCommentsResponse> getPostComments(@PathVariable("id") @NonNull PostHeader post,
+																   GetPostCommentsRequest getPostCommentsRequest,
+																   WebRequest webRequest)
 	{
-		Set<CommentInfo> commentsInfo = commentService.getAllCommentInfoByPostId(post.getId());
-		return ResponseEntity.ok(GetPostCommentsResponse.fromCommentsInfo(commentsInfo));
+		int limit = getPostCommentsRequest.getLimit();
+		CommentCursor cursor = CommentCursor.decode(getPostCommentsRequest.getCursor());
+
+		// Every page depends on the whole collection, a new comment moves the page boundaries.
+		CollectionVersion version = commentService.getAllCommentsVersionByPostId(post.getId());
+		String cursorToken = cursor == null ? "" : getPostCommentsRequest.getCursor();
+		String resource = "post-" + post.getId() + "-comments-" + limit + "-" + cursorToken;
+		if (HttpCacheUtils.checkNotModified(webRequest, HttpCacheUtils.eTag(resource, version),
+				version.getUpdatedAt()))
+		{
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+								 .build();
+		}
+
+		CursorPage<CommentInfo> commentsPage = commentService.getCommentInfoPageByPostId(post.getId(), cursor, limit);
+		return ResponseEntity.ok(GetPostCommentsResponse.fromCommentsPage(commentsPage, limit));
 	}
 
 	@PostMapping("/{id}/comments")
 	@PreAuthorize("#post.isPublished() || @postSecurity.isOwner(authentication, #post)")
-	public ResponseEntity<CommentInfo> createPostComment(@PathVariable("id") @NonNull Post post, @Valid @RequestBody
-	CreatePostCommentRequest createPostCommentRequest)
+	public ResponseEntity<CommentInfo> createPostComment(@PathVariable("id") @NonNull PostHeader post,
+														 @Valid @RequestBody
+														 CreatePostCommentRequest createPostCommentRequest)
 	{
 		String username = createPostCommentRequest.username();
 		String body = createPostCommentRequest.body();
 
-		Comment comment = postService.addCommentToPost(post, username, body);
-		// Todo : Comment -> CommentInfo without query
-		Optional<CommentInfo> commentInfo = commentService.getCommentInfo(comment.getId());
-		assert commentInfo.isPresent();
+		CommentInfo commentInfo = postService.addCommentToPost(post.getId(), username, body);
 
-		return ResponseEntity.ok(commentInfo.get());
+		return ResponseEntity.ok(commentInfo);
 	}
 
 	@PostMapping("/{id}/publish")
 	@PreAuthorize("hasAuthority('UPDATE') || @postSecurity.isOwner(authentication, #post)")
-	public ResponseEntity<Void> publishPost(@PathVariable("id") @NonNull Post post)
+	public ResponseEntity<Void> publishPost(@PathVariable("id") @NonNull PostHeader post)
 	{
 		if (post.isPublished())
 		{
 			throw PostPublicationConflictException.fromPost(post.getId());
 		}
 
-		post = postService.publishPost(post);
+		if (postService.publishPost(post.getId())
+					   .isEmpty())
+		{
+			return ResponseEntity.notFound()
+								 .build();
+		}
 
 		return ResponseEntity.status(HttpStatus.NO_CONTENT)
 							 .build();
@@ -168,14 +276,19 @@ class PostController
 
 	@PostMapping("/{id}/hide")
 	@PreAuthorize("hasAuthority('UPDATE') || @postSecurity.isOwner(authentication, #post)")
-	public ResponseEntity<Void> hidePost(@PathVariable("id") @NonNull Post post)
+	public ResponseEntity<Void> hidePost(@PathVariable("id") @NonNull PostHeader post)
 	{
 		if (!post.isPublished())
 		{
 			throw PostPublicationConflictException.fromPost(post.getId());
 		}
 
-		post = postService.hidePost(post);
+		if (postService.hidePost(post.getId())
+					   .isEmpty())
+		{
+			return ResponseEntity.notFound()
+								 .build();
+		}
 
 		return ResponseEntity.status(HttpStatus.NO_CONTENT)
 							 .build();
@@ -4,8 +4,12 @@ import com.blog.api.apispring.dto.tag.CreateTagRequest;
 import com.blog.api.apispring.dto.tag.GetTagsResponse;
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
 import com.blog.api.apispring.dto.tag.UpdateTagRequest;
+import com.blog.api.apispring.enums.TagInclude;
 import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.projection.CollectionVersion;
+import com.blog.api.apispring.projection.EntityVersion;
 import com.blog.api.apispring.service.TagService;
+import com.blog.api.apispring.utils.HttpCacheUtils;
 import com.blog.api.apispring.utils.TagUtils;
 import com.blog.api.apispring.validation.TagSlug;
 import jakarta.validation.Valid;
@@ -17,9 +21,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -35,24 +41,57 @@ public class TagController
 		this.tagService = tagService;
 	}
 
+	/**
+	 * @param include optional data, {@code postCounts} adds the published and total post counts of each tag
+	 */
 	@GetMapping
-	public ResponseEntity<GetTagsResponse> getTags()
+	public ResponseEntity<GetTagsResponse> getTags(@RequestParam(name = "include", required = false)
+												   Collection<TagInclude> include, WebRequest webRequest)
 	{
+		boolean postCounts = include != null && include.contains(TagInclude.POST_COUNTS);
+		CollectionVersion version = postCounts ? tagService.getAllTagsWithPostCountsVersion() :
+				tagService.getAllTagsVersion();
+		String eTag = HttpCacheUtils.eTag(postCounts ? "tags-post-counts" : "tags", version);
+		if (HttpCacheUtils.checkNotModified(webRequest, eTag, version.getUpdatedAt()))
+		{
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+								 .build();
+		}
+
 		List<Tag> tags = tagService.getAllTags();
-		return ResponseEntity.ok(new GetTagsResponse(tags));
+		return ResponseEntity.ok(postCounts ? new GetTagsResponse(tags, tagService.getAllPostCounts()) :
+				new GetTagsResponse(tags));
 	}
 
 	@GetMapping("/{idOrSlug}")
-	public ResponseEntity<Tag> getTag(@PathVariable TagIdOrSlug idOrSlug)
+	public ResponseEntity<Tag> getTag(@PathVariable TagIdOrSlug idOrSlug, WebRequest webRequest)
 	{
 		return handleTagIdOrSlug(idOrSlug, id ->
 		{
+			Optional<EntityVersion> optionalVersion = tagService.getTagVersion(id);
+			if (optionalVersion.isPresent() && HttpCacheUtils.checkNotModified(webRequest,
+					HttpCacheUtils.eTag("tag", id, optionalVersion.get()), optionalVersion.get()
+																		  .getUpdatedAt()))
+			{
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+									 .build();
+			}
+
 			Optional<Tag> optionalTag = tagService.getTag(id);
 			return optionalTag.map(ResponseEntity::ok)
 							  .orElseGet(() -> ResponseEntity.notFound()
 															 .build());
 		}, slug ->
 		{
+			Optional<EntityVersion> optionalVersion = tagService.getTagVersion(slug);
+			if (optionalVersion.isPresent() && HttpCacheUtils.checkNotModified(webRequest,
+					HttpCacheUtils.eTag("tag", slug, optionalVersion.get()), optionalVersion.get()
+																			.getUpdatedAt()))
+			{
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+									 .build();
+			}
+
 			Optional<Tag> optionalTag = tagService.getTag(slug);
 			return optionalTag.map(ResponseEntity::ok)
 							  .orElseGet(() -> ResponseEntity.notFound()
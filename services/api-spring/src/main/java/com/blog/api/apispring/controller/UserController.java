@@ -1,12 +1,12 @@
 package com.blog.api.apispring.controller;
 
+import com.blog.api.apispring.dto.metadata.CursorPage;
 import com.blog.api.apispring.dto.metadata.Metadata;
 import com.blog.api.apispring.dto.posts.GetPostsResponse;
 import com.blog.api.apispring.dto.posts.PostDto;
 import com.blog.api.apispring.dto.users.GetUserPostsRequest;
 import com.blog.api.apispring.dto.users.UserDetailsDto;
-import com.blog.api.apispring.projection.PostInfoWithAuthor;
-import com.blog.api.apispring.projection.PostInfoWithAuthorAndTags;
+import com.blog.api.apispring.projection.PostSummaryWithAuthorAndTags;
 import com.blog.api.apispring.security.userdetails.BlogUserDetails;
 import com.blog.api.apispring.service.PostService;
 import jakarta.validation.Valid;
@@ -18,7 +18,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/users")
@@ -43,19 +42,23 @@ public class UserController
 														 @AuthenticationPrincipal BlogUserDetails userDetails)
 	{
 		Long userId = userDetails.getId();
-		Page<PostInfoWithAuthorAndTags> postsPage = postService.getPageablePostsInfoByAuthor(getPostsRequest, userId);
-		List<PostInfoWithAuthorAndTags> postsContent = postsPage.getContent();
-		Map<Long, Long> commentsCount = postService.getCommentsCount(postsContent.stream()
-																				 .map(PostInfoWithAuthor::getId)
-																				 .toList());
-		List<PostDto> results = postsContent.stream()
-											.map(p ->
-											{
-												PostDto dto = new PostDto(p);
-												dto.setCommentsCount(commentsCount.get(p.getId()));
-												return dto;
-											})
-											.toList();
+		if (getPostsRequest.isCursorPagination())
+		{
+			CursorPage<PostSummaryWithAuthorAndTags> postsPage = postService.getCursorPostsInfoByAuthor(
+					getPostsRequest, userId);
+			List<PostDto> results = toPostDtos(postsPage.content());
+
+			Metadata metadata = new Metadata();
+			metadata.pageSize(getPostsRequest.getPageSize())
+					.sortBy(getPostsRequest.getSortBy())
+					.next(postsPage.next())
+					.prev(postsPage.prev());
+			return ResponseEntity.ok(new GetPostsResponse(results, metadata));
+		}
+
+		Page<PostSummaryWithAuthorAndTags> postsPage = postService.getPageablePostsInfoByAuthor(getPostsRequest,
+				userId);
+		List<PostDto> results = toPostDtos(postsPage.getContent());
 
 		Metadata metadata = new Metadata();
 		metadata.count(postsPage.getTotalElements())
@@ -64,4 +67,11 @@ public class UserController
 				.sortBy(getPostsRequest.getSortBy());
 		return ResponseEntity.ok(new GetPostsResponse(results, metadata));
 	}
+
+	private List<PostDto> toPostDtos(List<PostSummaryWithAuthorAndTags> postsContent)
+	{
+		return postsContent.stream()
+						   .map(PostDto::new)
+						   .toList();
+	}
 }
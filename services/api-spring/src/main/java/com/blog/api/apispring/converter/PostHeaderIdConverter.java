@@ -0,0 +1,31 @@
+package com.blog.api.apispring.converter;
+
+import com.blog.api.apispring.projection.PostHeader;
+import com.blog.api.apispring.service.PostHeaderService;
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * Binds a post id to its {@link PostHeader}, null when the post does not exist.
+ */
+public class PostHeaderIdConverter implements Converter<String, PostHeader>
+{
+	private final PostHeaderService postHeaderService;
+
+	public PostHeaderIdConverter(PostHeaderService postHeaderService)
+	{
+		this.postHeaderService = postHeaderService;
+	}
+
+	@Override
+	public PostHeader convert(String id)
+	{
+		try
+		{
+			return postHeaderService.getPostHeader(Long.parseLong(id))
+									.orElse(null);
+		} catch (NumberFormatException e)
+		{
+			return null;
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.blog.api.apispring.converter;
+
+import com.blog.api.apispring.enums.PostCountMode;
+import org.springframework.core.convert.converter.Converter;
+
+public class StringToPostCountModeConverter implements Converter<String, PostCountMode>
+{
+	@Override
+	public PostCountMode convert(String source)
+	{
+		return PostCountMode.fromValue(source);
+	}
+}
@@ -0,0 +1,13 @@
+package com.blog.api.apispring.converter;
+
+import com.blog.api.apispring.enums.PostInclude;
+import org.springframework.core.convert.converter.Converter;
+
+public class StringToPostIncludeConverter implements Converter<String, PostInclude>
+{
+	@Override
+	public PostInclude convert(String source)
+	{
+		return PostInclude.fromValue(source);
+	}
+}
@@ -0,0 +1,13 @@
+package com.blog.api.apispring.converter;
+
+import com.blog.api.apispring.dto.tag.TagExpression;
+import org.springframework.core.convert.converter.Converter;
+
+public class StringToTagExpressionConverter implements Converter<String, TagExpression>
+{
+	@Override
+	public TagExpression convert(String source)
+	{
+		return TagExpression.parse(source);
+	}
+}
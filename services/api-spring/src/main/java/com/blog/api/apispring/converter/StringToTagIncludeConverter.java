@@ -0,0 +1,13 @@
+package com.blog.api.apispring.converter;
+
+import com.blog.api.apispring.enums.TagInclude;
+import org.springframework.core.convert.converter.Converter;
+
+public class StringToTagIncludeConverter implements Converter<String, TagInclude>
+{
+	@Override
+	public TagInclude convert(String source)
+	{
+		return TagInclude.fromValue(source);
+	}
+}
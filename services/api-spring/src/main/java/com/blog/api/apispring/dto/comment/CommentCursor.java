@@ -0,0 +1,70 @@
+package com.blog.api.apispring.dto.comment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position inside the comments of a post, read from the oldest to the newest.
+ * <p>
+ * A cursor remembers the sort key (createdAt and id) of the last comment of a page, the next page starts right after
+ * it.
+ */
+public record CommentCursor(OffsetDateTime createdAt,
+							long id)
+{
+	private static final String SEPARATOR = "|";
+	private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor.";
+
+	public String encode()
+	{
+		String raw = createdAt.toInstant()
+							  .toString() + SEPARATOR + id;
+		return Base64.getUrlEncoder()
+					 .withoutPadding()
+					 .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a cursor token sent back by a client.
+	 *
+	 * @param token the token, a blank token means the first page
+	 * @return the decoded cursor or null for the first page
+	 * @throws IllegalArgumentException if the token is malformed
+	 */
+	public static CommentCursor decode(String token)
+	{
+		if (token == null || token.isBlank())
+		{
+			return null;
+		}
+
+		String[] parts;
+		try
+		{
+			String raw = new String(Base64.getUrlDecoder()
+										  .decode(token), StandardCharsets.UTF_8);
+			parts = raw.split("\\" + SEPARATOR, -1);
+		} catch (IllegalArgumentException e)
+		{
+			throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+		}
+
+		if (parts.length != 2)
+		{
+			throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+		}
+
+		try
+		{
+			OffsetDateTime createdAt = OffsetDateTime.ofInstant(Instant.parse(parts[0]), ZoneOffset.UTC);
+			return new CommentCursor(createdAt, Long.parseLong(parts[1]));
+		} catch (NumberFormatException | DateTimeParseException e)
+		{
+			throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.blog.api.apispring.dto.export;
+
+import com.blog.api.apispring.dto.posts.PostDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Line of the NDJSON export, each post is followed by its comments.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({@JsonSubTypes.Type(value = ExportLine.PostLine.class, name = "post"),
+		@JsonSubTypes.Type(value = ExportLine.CommentLine.class, name = "comment")})
+public sealed interface ExportLine
+{
+	record PostLine(long id, String title, String description, String body, int readingTime,
+					@JsonInclude(JsonInclude.Include.ALWAYS) OffsetDateTime publishedAt, PostDto.AuthorDto author,
+					List<PostDto.TagDto> tags) implements ExportLine
+	{
+	}
+
+	record CommentLine(long id, long postId, String username, String body,
+					   OffsetDateTime createdAt) implements ExportLine
+	{
+	}
+}
@@ -0,0 +1,16 @@
+package com.blog.api.apispring.dto.metadata;
+
+import java.util.List;
+
+/**
+ * A page read with keyset pagination, no total count is computed.
+ *
+ * @param content the rows of the page, in the requested order
+ * @param next    token of the following page or null on the last page
+ * @param prev    token of the previous page or null on the first page
+ */
+public record CursorPage<T>(List<T> content,
+							String next,
+							String prev)
+{
+}
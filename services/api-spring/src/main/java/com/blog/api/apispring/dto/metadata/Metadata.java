@@ -10,6 +10,8 @@ public class Metadata
 	private Integer page;
 	private Integer pageSize;
 	private String sortBy;
+	private String next;
+	private String prev;
 
 	public Metadata count(long count)
 	{
@@ -35,6 +37,18 @@ public class Metadata
 		return this;
 	}
 
+	public Metadata next(String next)
+	{
+		this.next = next;
+		return this;
+	}
+
+	public Metadata prev(String prev)
+	{
+		this.prev = prev;
+		return this;
+	}
+
 	public Long getCount()
 	{
 		return count;
@@ -54,4 +68,14 @@ public class Metadata
 	{
 		return sortBy;
 	}
+
+	public String getNext()
+	{
+		return next;
+	}
+
+	public String getPrev()
+	{
+		return prev;
+	}
 }
@@ -0,0 +1,27 @@
+package com.blog.api.apispring.dto.posts;
+
+import lombok.Data;
+
+/**
+ * Query parameters of {@code GET /posts/{id}/comments}, a page of comments read after an optional cursor.
+ */
+@Data
+public class GetPostCommentsRequest
+{
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 200;
+
+	private int limit = DEFAULT_LIMIT;
+	private String cursor;
+
+	public void setLimit(int limit)
+	{
+		if (limit <= 0)
+		{
+			this.limit = DEFAULT_LIMIT;
+			return;
+		}
+
+		this.limit = Math.min(MAX_LIMIT, limit);
+	}
+}
@@ -1,5 +1,6 @@
 package com.blog.api.apispring.dto.posts;
 
+import com.blog.api.apispring.dto.metadata.CursorPage;
 import com.blog.api.apispring.dto.metadata.Metadata;
 import com.blog.api.apispring.projection.CommentInfo;
 
@@ -8,10 +9,13 @@ import java.util.Collection;
 public record GetPostCommentsResponse(Metadata metadata,
 									  Collection<CommentInfo> results)
 {
-	public static GetPostCommentsResponse fromCommentsInfo(Collection<CommentInfo> comments)
+	public static GetPostCommentsResponse fromCommentsPage(CursorPage<CommentInfo> comments, int limit)
 	{
 		Metadata metadata = new Metadata();
-		metadata.count(comments.size());
-		return new GetPostCommentsResponse(metadata, comments);
+		metadata.count(comments.content()
+							   .size())
+				.pageSize(limit)
+				.next(comments.next());
+		return new GetPostCommentsResponse(metadata, comments.content());
 	}
 }
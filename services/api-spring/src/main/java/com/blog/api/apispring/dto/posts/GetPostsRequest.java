@@ -1,6 +1,9 @@
 package com.blog.api.apispring.dto.posts;
 
+import com.blog.api.apispring.dto.tag.TagExpression;
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.enums.PostCountMode;
+import com.blog.api.apispring.enums.PostInclude;
 import com.blog.api.apispring.enums.PostSortBy;
 import com.blog.api.apispring.model.Post;
 import org.springframework.data.domain.Pageable;
@@ -30,11 +33,54 @@ public interface GetPostsRequest
 
 	void setTags(Collection<TagIdOrSlug> tags);
 
+	/**
+	 * Boolean expression the tags of the posts must match, null when the posts are not filtered by an expression. Both
+	 * the expression and the tags apply when they are given.
+	 */
+	TagExpression getTagExpression();
+
+	void setTagExpression(TagExpression tagExpression);
+
 	boolean isUnpublished();
 
 	void setUnpublished(boolean isUnpublished);
 
+	/**
+	 * Keyset pagination token, null when offset pagination is used. A blank token asks for the first page.
+	 */
+	String getCursor();
+
+	void setCursor(String cursor);
+
+	default boolean isCursorPagination()
+	{
+		return getCursor() != null;
+	}
+
+	/**
+	 * How the total count is computed, null to use the configured mode.
+	 */
+	PostCountMode getCountMode();
+
+	void setCountMode(PostCountMode countMode);
+
+	/**
+	 * Optional fields of the returned posts, the body is only read and returned when asked for.
+	 */
+	Collection<PostInclude> getInclude();
+
+	void setInclude(Collection<PostInclude> include);
+
+	default boolean isBodyIncluded()
+	{
+		return getInclude().contains(PostInclude.BODY);
+	}
+
 	Pageable toPageable();
 
+	/**
+	 * Filters of the request, except for the search query which depends on the search engine in use and for the tags
+	 * and tag expression which are resolved by the service.
+	 */
 	Specification<Post> toSpecifications();
 }
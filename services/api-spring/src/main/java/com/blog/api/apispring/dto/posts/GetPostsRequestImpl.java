@@ -1,6 +1,9 @@
 package com.blog.api.apispring.dto.posts;
 
+import com.blog.api.apispring.dto.tag.TagExpression;
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.enums.PostCountMode;
+import com.blog.api.apispring.enums.PostInclude;
 import com.blog.api.apispring.enums.PostSortBy;
 import com.blog.api.apispring.model.Post;
 import com.blog.api.apispring.model.Post_;
@@ -26,7 +29,11 @@ public class GetPostsRequestImpl implements GetPostsRequest
 	@NotNull
 	private PostSortBy sortBy = PostSortBy.PUBLISHED_AT_DESC;
 	private Collection<TagIdOrSlug> tags = Collections.emptySet();
+	private TagExpression tagExpression;
 	private boolean unpublished = false;
+	private String cursor;
+	private PostCountMode countMode;
+	private Collection<PostInclude> include = Collections.emptySet();
 
 	public static final int DEFAULT_PAGE = 0;
 	public static final int DEFAULT_PAGE_SIZE = 20;
@@ -66,6 +73,9 @@ public class GetPostsRequestImpl implements GetPostsRequest
 			case ID_DESC -> sort = Sort.by(Sort.Order.desc(Post_.id.getName()));
 			case PUBLISHED_AT_ASC -> sort = Sort.by(Sort.Order.asc(Post_.publishedAt.getName()));
 			case PUBLISHED_AT_DESC -> sort = Sort.by(Sort.Order.desc(Post_.publishedAt.getName()));
+			// Ranking is applied by the search, this is the order used when there is nothing to rank.
+			case RELEVANCE -> sort = Sort.by(Sort.Order.desc(Post_.publishedAt.getName()),
+					Sort.Order.desc(Post_.id.getName()));
 			default -> throw new UnsupportedOperationException("Unsupported sort by value");
 		}
 		return PageRequest.of(page, pageSize, sort);
@@ -73,12 +83,8 @@ public class GetPostsRequestImpl implements GetPostsRequest
 
 	public Specification<Post> toSpecifications()
 	{
-		String q = this.getQ();
-		Collection<TagIdOrSlug> tags = this.getTags();
 		boolean includeUnpublished = this.isUnpublished();
 
-		return PostSpecs.withTags(tags)
-						.and(PostSpecs.titleContains(q))
-						.and(PostSpecs.onlyPublished(!includeUnpublished));
+		return Specification.where(PostSpecs.onlyPublished(!includeUnpublished));
 	}
 }
@@ -0,0 +1,131 @@
+package com.blog.api.apispring.dto.posts;
+
+import com.blog.api.apispring.enums.PostSortBy;
+import com.blog.api.apispring.model.Post_;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position inside a post listing.
+ * <p>
+ * A cursor remembers the sort key of the row it was taken from (publishedAt and id) and the direction to seek in,
+ * so that the next query can start right after (or right before) that row instead of skipping an OFFSET.
+ */
+public record PostCursor(PostSortBy sortBy,
+						 boolean backward,
+						 long id,
+						 OffsetDateTime publishedAt)
+{
+	private static final String SEPARATOR = "|";
+	private static final String FORWARD = "n";
+	private static final String BACKWARD = "p";
+	private static final String INVALID_CURSOR_MESSAGE = "Invalid cursor.";
+
+	public static PostCursor next(PostSortBy sortBy, long id, OffsetDateTime publishedAt)
+	{
+		return new PostCursor(sortBy, false, id, publishedAt);
+	}
+
+	public static PostCursor prev(PostSortBy sortBy, long id, OffsetDateTime publishedAt)
+	{
+		return new PostCursor(sortBy, true, id, publishedAt);
+	}
+
+	/**
+	 * Whether the rows following this cursor are read in ascending key order.
+	 */
+	public boolean isAscending()
+	{
+		return isAscending(sortBy) != backward;
+	}
+
+	public String encode()
+	{
+		String published = publishedAt == null ? "" : publishedAt.toInstant()
+																 .toString();
+		String raw = String.join(SEPARATOR, sortBy.getValue(), backward ? BACKWARD : FORWARD, String.valueOf(id),
+				published);
+		return Base64.getUrlEncoder()
+					 .withoutPadding()
+					 .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a cursor token sent back by a client.
+	 *
+	 * @param token  the token, a blank token means the first page
+	 * @param sortBy the sort order of the request, the cursor must have been issued for the same order
+	 * @return the decoded cursor or null for the first page
+	 * @throws IllegalArgumentException if the token is malformed or was issued for another sort order
+	 */
+	public static PostCursor decode(String token, PostSortBy sortBy)
+	{
+		if (token == null || token.isBlank())
+		{
+			return null;
+		}
+
+		String[] parts;
+		try
+		{
+			String raw = new String(Base64.getUrlDecoder()
+										  .decode(token), StandardCharsets.UTF_8);
+			parts = raw.split("\\" + SEPARATOR, -1);
+		} catch (IllegalArgumentException e)
+		{
+			throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+		}
+
+		if (parts.length != 4 || !(FORWARD.equals(parts[1]) || BACKWARD.equals(parts[1])))
+		{
+			throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+		}
+
+		if (!sortBy.getValue()
+				   .equals(parts[0]))
+		{
+			throw new IllegalArgumentException("Cursor does not match the requested sort order.");
+		}
+
+		try
+		{
+			long id = Long.parseLong(parts[2]);
+			OffsetDateTime publishedAt = parts[3].isEmpty() ? null : OffsetDateTime.ofInstant(Instant.parse(parts[3]),
+					ZoneOffset.UTC);
+			return new PostCursor(sortBy, BACKWARD.equals(parts[1]), id, publishedAt);
+		} catch (NumberFormatException | DateTimeParseException e)
+		{
+			throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+		}
+	}
+
+	/**
+	 * Sort used to read a keyset page, id is always used as a tie-breaker so that the order is total.
+	 *
+	 * @param sortBy   the requested sort order
+	 * @param backward true when reading the rows located before the cursor
+	 */
+	public static Sort toSort(PostSortBy sortBy, boolean backward)
+	{
+		Sort.Direction direction = isAscending(sortBy) != backward ? Sort.Direction.ASC : Sort.Direction.DESC;
+		return switch (sortBy)
+		{
+			case ID_ASC, ID_DESC -> Sort.by(direction, Post_.id.getName());
+			case PUBLISHED_AT_ASC, PUBLISHED_AT_DESC ->
+					Sort.by(direction, Post_.publishedAt.getName(), Post_.id.getName());
+			case RELEVANCE ->
+					throw new IllegalArgumentException("Cursor pagination is not available when sorting by relevance.");
+		};
+	}
+
+	private static boolean isAscending(PostSortBy sortBy)
+	{
+		return sortBy == PostSortBy.ID_ASC || sortBy == PostSortBy.PUBLISHED_AT_ASC;
+	}
+}
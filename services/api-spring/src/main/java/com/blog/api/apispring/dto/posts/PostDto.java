@@ -7,6 +7,8 @@ import com.blog.api.apispring.projection.PostInfoWithAuthor;
 import com.blog.api.apispring.projection.PostInfoWithAuthorAndComments;
 import com.blog.api.apispring.projection.PostInfoWithAuthorAndTags;
 import com.blog.api.apispring.projection.PostInfoWithAuthorTagsComments;
+import com.blog.api.apispring.projection.PostSummaryInfo;
+import com.blog.api.apispring.projection.PostSummaryWithAuthorAndTags;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -69,6 +71,21 @@ public class PostDto
 		this.setTags(postInfo.getTags());
 	}
 
+	/**
+	 * Post of a listing, the body is only set when the listing loaded it.
+	 */
+	public PostDto(PostSummaryWithAuthorAndTags postSummary)
+	{
+		if (postSummary instanceof PostInfoWithAuthor postInfo)
+		{
+			this.setFromPostInfo(postInfo);
+		} else
+		{
+			this.setFromPostSummary(postSummary);
+		}
+		this.setTags(postSummary.getTags());
+	}
+
 	public PostDto(PostInfoWithAuthorAndComments postInfo)
 	{
 		this.setFromPostInfo(postInfo);
@@ -84,13 +101,19 @@ public class PostDto
 
 	private void setFromPostInfo(PostInfoWithAuthor postInfo)
 	{
-		this.id = postInfo.getId();
-		this.title = postInfo.getTitle();
-		this.description = postInfo.getDescription();
+		this.setFromPostSummary(postInfo);
 		this.body = postInfo.getBody();
-		this.publishedAt = postInfo.getPublishedAt();
-		this.readingTime = postInfo.getReadingTime();
-		PostInfoWithAuthor.UserInfo author = postInfo.getAuthor();
+	}
+
+	private void setFromPostSummary(PostSummaryInfo postSummary)
+	{
+		this.id = postSummary.getId();
+		this.title = postSummary.getTitle();
+		this.description = postSummary.getDescription();
+		this.publishedAt = postSummary.getPublishedAt();
+		this.readingTime = postSummary.getReadingTime();
+		this.commentsCount = postSummary.getCommentsCount();
+		PostSummaryInfo.UserInfo author = postSummary.getAuthor();
 		this.author = new AuthorDto(author.getId(), author.getName());
 	}
 
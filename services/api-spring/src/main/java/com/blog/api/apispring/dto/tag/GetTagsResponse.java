@@ -2,15 +2,27 @@ package com.blog.api.apispring.dto.tag;
 
 import com.blog.api.apispring.dto.metadata.Metadata;
 import com.blog.api.apispring.model.Tag;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.List;
+import java.util.Map;
 
-public record GetTagsResponse(List<Tag> results, Metadata metadata)
+/**
+ * @param postCounts the post counts by tag id, only when asked for
+ */
+public record GetTagsResponse(List<Tag> results,
+							  @JsonInclude(JsonInclude.Include.NON_NULL) Map<Long, TagPostCounts> postCounts,
+							  Metadata metadata)
 {
 	public GetTagsResponse(List<Tag> tags)
+	{
+		this(tags, null);
+	}
+
+	public GetTagsResponse(List<Tag> tags, Map<Long, TagPostCounts> postCounts)
 	{
 		Metadata m = new Metadata();
 		m.count(tags.size());
-		this(tags, m);
+		this(tags, postCounts, m);
 	}
 }
@@ -0,0 +1,231 @@
+package com.blog.api.apispring.dto.tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Boolean expression over tags, for instance {@code java AND (spring OR jakarta) AND NOT draft}.
+ * <p>
+ * Operands are tag ids or slugs, operators are the upper-case keywords {@code AND}, {@code OR} and {@code NOT}, which
+ * never collide with a slug since slugs are lower-case. {@code NOT} binds tighter than {@code AND}, which binds tighter
+ * than {@code OR}, parentheses group sub-expressions.
+ */
+public sealed interface TagExpression
+{
+	int MAX_OPERANDS = 32;
+	int MAX_DEPTH = 8;
+
+	/**
+	 * Parses an expression.
+	 *
+	 * @throws IllegalArgumentException when the expression is malformed or too large
+	 */
+	static TagExpression parse(String value)
+	{
+		return new Parser(value).parse();
+	}
+
+	/**
+	 * @return the tags of the expression, in order of appearance
+	 */
+	List<TagIdOrSlug> tags();
+
+	/**
+	 * A post having the tag.
+	 */
+	record Tag(TagIdOrSlug tag) implements TagExpression
+	{
+		@Override
+		public List<TagIdOrSlug> tags()
+		{
+			return List.of(tag);
+		}
+
+		@Override
+		public String toString()
+		{
+			return tag.isId() ? tag.getId()
+								   .toString() : tag.getSlug();
+		}
+	}
+
+	/**
+	 * A post matching every operand.
+	 */
+	record And(List<TagExpression> operands) implements TagExpression
+	{
+		@Override
+		public List<TagIdOrSlug> tags()
+		{
+			return tagsOf(operands);
+		}
+
+		@Override
+		public String toString()
+		{
+			return join(operands, " AND ");
+		}
+	}
+
+	/**
+	 * A post matching at least one operand.
+	 */
+	record Or(List<TagExpression> operands) implements TagExpression
+	{
+		@Override
+		public List<TagIdOrSlug> tags()
+		{
+			return tagsOf(operands);
+		}
+
+		@Override
+		public String toString()
+		{
+			return join(operands, " OR ");
+		}
+	}
+
+	/**
+	 * A post not matching the operand.
+	 */
+	record Not(TagExpression operand) implements TagExpression
+	{
+		@Override
+		public List<TagIdOrSlug> tags()
+		{
+			return operand.tags();
+		}
+
+		@Override
+		public String toString()
+		{
+			return "NOT " + (operand instanceof Tag ? operand : "(" + operand + ")");
+		}
+	}
+
+	private static List<TagIdOrSlug> tagsOf(List<TagExpression> operands)
+	{
+		List<TagIdOrSlug> tags = new ArrayList<>();
+		operands.forEach(operand -> tags.addAll(operand.tags()));
+		return tags;
+	}
+
+	private static String join(List<TagExpression> operands, String operator)
+	{
+		return operands.stream()
+					   .map(operand -> operand instanceof And || operand instanceof Or ? "(" + operand + ")" :
+							   operand.toString())
+					   .collect(Collectors.joining(operator));
+	}
+
+	/**
+	 * Recursive descent parser, tokens are separated by spaces and parentheses.
+	 */
+	final class Parser
+	{
+		private final List<String> tokens = new ArrayList<>();
+		private int position;
+		private int operands;
+
+		private Parser(String value)
+		{
+			if (value == null || value.isBlank())
+			{
+				throw new IllegalArgumentException("Empty tag expression.");
+			}
+
+			int start = -1;
+			for (int i = 0; i <= value.length(); i++)
+			{
+				char c = i < value.length() ? value.charAt(i) : ' ';
+				boolean separator = Character.isWhitespace(c) || c == '(' || c == ')';
+				if (separator && start >= 0)
+				{
+					tokens.add(value.substring(start, i));
+					start = -1;
+				}
+				if (c == '(' || c == ')')
+				{
+					tokens.add(String.valueOf(c));
+				} else if (!separator && start < 0)
+				{
+					start = i;
+				}
+			}
+		}
+
+		private TagExpression parse()
+		{
+			TagExpression expression = parseOr(0);
+			if (position < tokens.size())
+			{
+				throw new IllegalArgumentException("Unexpected '" + tokens.get(position) + "' in tag expression.");
+			}
+			return expression;
+		}
+
+		private TagExpression parseOr(int depth)
+		{
+			List<TagExpression> operands = new ArrayList<>();
+			operands.add(parseAnd(depth));
+			while (accept("OR"))
+			{
+				operands.add(parseAnd(depth));
+			}
+			return operands.size() == 1 ? operands.getFirst() : new Or(List.copyOf(operands));
+		}
+
+		private TagExpression parseAnd(int depth)
+		{
+			List<TagExpression> operands = new ArrayList<>();
+			operands.add(parseNot(depth));
+			while (accept("AND"))
+			{
+				operands.add(parseNot(depth));
+			}
+			return operands.size() == 1 ? operands.getFirst() : new And(List.copyOf(operands));
+		}
+
+		private TagExpression parseNot(int depth)
+		{
+			if (depth > MAX_DEPTH)
+			{
+				throw new IllegalArgumentException("Tag expression is nested too deeply.");
+			}
+			if (accept("NOT"))
+			{
+				return new Not(parseNot(depth + 1));
+			}
+			if (accept("("))
+			{
+				TagExpression expression = parseOr(depth + 1);
+				if (!accept(")"))
+				{
+					throw new IllegalArgumentException("Missing ')' in tag expression.");
+				}
+				return expression;
+			}
+			if (position == tokens.size())
+			{
+				throw new IllegalArgumentException("Unexpected end of tag expression.");
+			}
+			if (++operands > MAX_OPERANDS)
+			{
+				throw new IllegalArgumentException("Tag expression has more than " + MAX_OPERANDS + " tags.");
+			}
+			return new Tag(TagIdOrSlug.fromString(tokens.get(position++)));
+		}
+
+		private boolean accept(String token)
+		{
+			if (position < tokens.size() && tokens.get(position)
+												  .equals(token))
+			{
+				position++;
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -17,10 +17,10 @@ public class TagIdOrSlug
 	@JsonCreator
 	public static TagIdOrSlug fromString(String value)
 	{
-		if (value.matches("^\\d+$"))
+		if (TagUtils.isDigits(value))
 		{
 			return new TagIdOrSlug(Long.parseLong(value), null);
-		} else if (value.matches(TagUtils.SLUG_REGEX))
+		} else if (TagUtils.matchesSlugFormat(value))
 		{
 			return new TagIdOrSlug(null, value);
 		}
@@ -36,7 +36,7 @@ public class TagIdOrSlug
 
 	public static TagIdOrSlug fromSlug(String slug)
 	{
-		if (slug.matches(TagUtils.SLUG_REGEX))
+		if (TagUtils.matchesSlugFormat(slug))
 		{
 			return new TagIdOrSlug(null, slug);
 		}
@@ -0,0 +1,11 @@
+package com.blog.api.apispring.dto.tag;
+
+/**
+ * Number of posts having a tag.
+ *
+ * @param published the published posts
+ * @param total     every post, drafts included
+ */
+public record TagPostCounts(long published, long total)
+{
+}
@@ -2,7 +2,10 @@ package com.blog.api.apispring.dto.users;
 
 import com.blog.api.apispring.dto.posts.GetPostsRequest;
 import com.blog.api.apispring.dto.posts.GetPostsRequestImpl;
+import com.blog.api.apispring.dto.tag.TagExpression;
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.enums.PostCountMode;
+import com.blog.api.apispring.enums.PostInclude;
 import com.blog.api.apispring.enums.PostSortBy;
 import com.blog.api.apispring.model.Post;
 import com.blog.api.apispring.specs.PostSpecs;
@@ -77,6 +80,18 @@ public class GetUserPostsRequest implements GetPostsRequest
 		this.getPostsRequest.setTags(tags);
 	}
 
+	@Override
+	public TagExpression getTagExpression()
+	{
+		return this.getPostsRequest.getTagExpression();
+	}
+
+	@Override
+	public void setTagExpression(TagExpression tagExpression)
+	{
+		this.getPostsRequest.setTagExpression(tagExpression);
+	}
+
 	@Override
 	public boolean isUnpublished()
 	{
@@ -88,6 +103,42 @@ public class GetUserPostsRequest implements GetPostsRequest
 	{
 	}
 
+	@Override
+	public String getCursor()
+	{
+		return this.getPostsRequest.getCursor();
+	}
+
+	@Override
+	public void setCursor(String cursor)
+	{
+		this.getPostsRequest.setCursor(cursor);
+	}
+
+	@Override
+	public PostCountMode getCountMode()
+	{
+		return this.getPostsRequest.getCountMode();
+	}
+
+	@Override
+	public void setCountMode(PostCountMode countMode)
+	{
+		this.getPostsRequest.setCountMode(countMode);
+	}
+
+	@Override
+	public Collection<PostInclude> getInclude()
+	{
+		return this.getPostsRequest.getInclude();
+	}
+
+	@Override
+	public void setInclude(Collection<PostInclude> include)
+	{
+		this.getPostsRequest.setInclude(include);
+	}
+
 	@Override
 	public Pageable toPageable()
 	{
@@ -97,11 +148,6 @@ public class GetUserPostsRequest implements GetPostsRequest
 	@Override
 	public Specification<Post> toSpecifications()
 	{
-		String q = this.getQ();
-		Collection<TagIdOrSlug> tags = this.getTags();
-
-		return PostSpecs.withTags(tags)
-						.and(PostSpecs.titleContains(q))
-						.and(PostSpecs.onlyPublished(false));
+		return Specification.where(PostSpecs.onlyPublished(false));
 	}
 }
@@ -0,0 +1,70 @@
+package com.blog.api.apispring.enums;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.autolink.AutolinkExtension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+
+import java.util.function.Supplier;
+
+/**
+ * GitHub Flavored Markdown extensions that can be enabled on the markdown engine.
+ */
+public enum MarkdownExtension
+{
+	/**
+	 * Pipe tables.
+	 */
+	TABLES("tables", TablesExtension::create),
+	/**
+	 * {@code ~~deleted~~} text.
+	 */
+	STRIKETHROUGH("strikethrough", StrikethroughExtension::create),
+	/**
+	 * Links from bare URLs and emails.
+	 */
+	AUTOLINK("autolink", AutolinkExtension::create);
+
+	private final String value;
+	private final Supplier<Extension> factory;
+
+	MarkdownExtension(String value, Supplier<Extension> factory)
+	{
+		this.value = value;
+		this.factory = factory;
+	}
+
+	public String getValue()
+	{
+		return value;
+	}
+
+	public Extension create()
+	{
+		return factory.get();
+	}
+
+	public static MarkdownExtension fromValue(String source)
+	{
+		if (source == null)
+		{
+			return null;
+		}
+
+		for (MarkdownExtension extension : values())
+		{
+			if (extension.getValue()
+						 .equalsIgnoreCase(source.trim()))
+			{
+				return extension;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString()
+	{
+		return value;
+	}
+}
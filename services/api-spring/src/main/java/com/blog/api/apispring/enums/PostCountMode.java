@@ -0,0 +1,56 @@
+package com.blog.api.apispring.enums;
+
+/**
+ * How the total count of a post listing is computed.
+ */
+public enum PostCountMode
+{
+	/**
+	 * Count query run on every request.
+	 */
+	EXACT("exact"),
+	/**
+	 * Exact count cached per filter, invalidated on writes.
+	 */
+	CACHED("cached"),
+	/**
+	 * Row estimate read from the Postgres planner statistics.
+	 */
+	ESTIMATED("estimated");
+
+	private final String value;
+
+	PostCountMode(String value)
+	{
+		this.value = value;
+	}
+
+	public String getValue()
+	{
+		return value;
+	}
+
+	public static PostCountMode fromValue(String source)
+	{
+		if (source == null)
+		{
+			return null;
+		}
+
+		for (PostCountMode mode : values())
+		{
+			if (mode.getValue()
+					.equalsIgnoreCase(source.trim()))
+			{
+				return mode;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString()
+	{
+		return value;
+	}
+}
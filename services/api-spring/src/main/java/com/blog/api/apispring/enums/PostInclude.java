@@ -0,0 +1,48 @@
+package com.blog.api.apispring.enums;
+
+/**
+ * Optional fields of the posts returned by a listing, listings only return post summaries by default.
+ */
+public enum PostInclude
+{
+	/**
+	 * The markdown body.
+	 */
+	BODY("body");
+
+	private final String value;
+
+	PostInclude(String value)
+	{
+		this.value = value;
+	}
+
+	public String getValue()
+	{
+		return value;
+	}
+
+	public static PostInclude fromValue(String source)
+	{
+		if (source == null)
+		{
+			return null;
+		}
+
+		for (PostInclude include : values())
+		{
+			if (include.getValue()
+					   .equalsIgnoreCase(source.trim()))
+			{
+				return include;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString()
+	{
+		return value;
+	}
+}
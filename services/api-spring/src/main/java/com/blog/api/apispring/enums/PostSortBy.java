@@ -5,7 +5,8 @@ public enum PostSortBy
 	ID_ASC("id"),
 	ID_DESC("-id"),
 	PUBLISHED_AT_ASC("publishedAt"),
-	PUBLISHED_AT_DESC("-publishedAt");
+	PUBLISHED_AT_DESC("-publishedAt"),
+	RELEVANCE("relevance");
 
 	private final String value;
 
@@ -0,0 +1,48 @@
+package com.blog.api.apispring.enums;
+
+/**
+ * Optional data of a tag listing, listings only return the tags by default.
+ */
+public enum TagInclude
+{
+	/**
+	 * The published and total post counts of each tag.
+	 */
+	POST_COUNTS("postCounts");
+
+	private final String value;
+
+	TagInclude(String value)
+	{
+		this.value = value;
+	}
+
+	public String getValue()
+	{
+		return value;
+	}
+
+	public static TagInclude fromValue(String source)
+	{
+		if (source == null)
+		{
+			return null;
+		}
+
+		for (TagInclude include : values())
+		{
+			if (include.getValue()
+					   .equalsIgnoreCase(source.trim()))
+			{
+				return include;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString()
+	{
+		return value;
+	}
+}
@@ -0,0 +1,18 @@
+package com.blog.api.apispring.event;
+
+/**
+ * Published by {@link com.blog.api.apispring.service.CommentService} whenever a comment is written.
+ *
+ * @param commentId the id of the comment
+ * @param postId    the id of the commented post
+ * @param type      what happened to the comment
+ */
+public record CommentChangedEvent(long commentId,
+								  long postId,
+								  Type type)
+{
+	public enum Type
+	{
+		CREATED, UPDATED, DELETED
+	}
+}
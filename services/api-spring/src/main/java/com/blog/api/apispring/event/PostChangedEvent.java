@@ -0,0 +1,26 @@
+package com.blog.api.apispring.event;
+
+import java.util.Set;
+
+/**
+ * Published by {@link com.blog.api.apispring.service.PostService} whenever a post is written.
+ * Listeners use it to keep caches and derived data in sync with the posts table.
+ *
+ * @param postId the id of the post
+ * @param type   what happened to the post
+ * @param tagIds the tags whose listings gained or lost the post, null when they are not known
+ */
+public record PostChangedEvent(long postId,
+							   Type type,
+							   Set<Long> tagIds)
+{
+	public enum Type
+	{
+		CREATED, UPDATED, PUBLISHED, HIDDEN, DELETED
+	}
+
+	public PostChangedEvent(long postId, Type type)
+	{
+		this(postId, type, null);
+	}
+}
@@ -0,0 +1,11 @@
+package com.blog.api.apispring.event;
+
+/**
+ * Published by {@link com.blog.api.apispring.service.RoleService} when the permissions of a role change, the security
+ * version of every user of the role was incremented.
+ *
+ * @param roleId the id of the role
+ */
+public record RoleSecurityChangedEvent(long roleId)
+{
+}
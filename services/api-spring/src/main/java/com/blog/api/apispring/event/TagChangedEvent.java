@@ -0,0 +1,16 @@
+package com.blog.api.apispring.event;
+
+/**
+ * Published by {@link com.blog.api.apispring.service.TagService} whenever a tag is created, renamed or deleted.
+ *
+ * @param tagId the id of the tag
+ * @param type  what happened to the tag
+ */
+public record TagChangedEvent(long tagId,
+							  Type type)
+{
+	public enum Type
+	{
+		CREATED, UPDATED, DELETED
+	}
+}
@@ -0,0 +1,11 @@
+package com.blog.api.apispring.event;
+
+/**
+ * Published by {@link com.blog.api.apispring.service.UserService} whenever a user is saved, its roles may have
+ * changed.
+ *
+ * @param userId the id of the user
+ */
+public record UserSecurityChangedEvent(long userId)
+{
+}
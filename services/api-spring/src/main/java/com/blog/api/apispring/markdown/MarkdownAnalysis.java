@@ -0,0 +1,18 @@
+package com.blog.api.apispring.markdown;
+
+import java.util.List;
+
+/**
+ * What is derived from a markdown document when a post is saved.
+ *
+ * @param plainText the text of the document without its markup, blocks are separated by a new line
+ * @param excerpt   the first words of the plain text, with their original spacing
+ * @param wordCount the number of words of the plain text
+ * @param outline   the headings of the document, in order
+ */
+public record MarkdownAnalysis(String plainText, String excerpt, int wordCount, List<Heading> outline)
+{
+	public record Heading(int level, String text)
+	{
+	}
+}
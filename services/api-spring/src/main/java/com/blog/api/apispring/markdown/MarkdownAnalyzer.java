@@ -0,0 +1,179 @@
+package com.blog.api.apispring.markdown;
+
+import org.commonmark.ext.gfm.tables.TableCell;
+import org.commonmark.ext.gfm.tables.TableRow;
+import org.commonmark.node.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Walks a parsed markdown document once and derives its plain text, excerpt, word count and outline.
+ * <p>
+ * Words are counted while the text is appended, so neither the excerpt nor the word count needs another pass over
+ * the plain text. An analyzer is stateful, use {@link #analyze(Node, int)} for each document.
+ */
+public class MarkdownAnalyzer extends AbstractVisitor
+{
+	private final int excerptWordCount;
+	private final StringBuilder plainText = new StringBuilder();
+	private final StringBuilder excerpt = new StringBuilder();
+	private final List<MarkdownAnalysis.Heading> outline = new ArrayList<>();
+	private StringBuilder headingText;
+	private int wordCount;
+	private boolean inWord;
+
+	private MarkdownAnalyzer(int excerptWordCount)
+	{
+		this.excerptWordCount = Math.max(1, excerptWordCount);
+	}
+
+	/**
+	 * @param document         the parsed document
+	 * @param excerptWordCount the maximum number of words of the excerpt, at least one
+	 */
+	public static MarkdownAnalysis analyze(Node document, int excerptWordCount)
+	{
+		MarkdownAnalyzer analyzer = new MarkdownAnalyzer(excerptWordCount);
+		document.accept(analyzer);
+		String plainText = analyzer.plainText.toString()
+											 .strip();
+		String excerpt = analyzer.excerpt.toString()
+										 .strip();
+		return new MarkdownAnalysis(plainText, excerpt, analyzer.wordCount, List.copyOf(analyzer.outline));
+	}
+
+	@Override
+	public void visit(Text text)
+	{
+		append(text.getLiteral());
+	}
+
+	@Override
+	public void visit(Code code)
+	{
+		append(code.getLiteral());
+	}
+
+	@Override
+	public void visit(SoftLineBreak softLineBreak)
+	{
+		append("\n");
+	}
+
+	@Override
+	public void visit(HardLineBreak hardLineBreak)
+	{
+		append("\n");
+	}
+
+	@Override
+	public void visit(Paragraph paragraph)
+	{
+		visitChildren(paragraph);
+		endBlock();
+	}
+
+	@Override
+	public void visit(Heading heading)
+	{
+		headingText = new StringBuilder();
+		visitChildren(heading);
+		String text = headingText.toString()
+								 .strip();
+		outline.add(new MarkdownAnalysis.Heading(heading.getLevel(), text));
+		headingText = null;
+		endBlock();
+	}
+
+	@Override
+	public void visit(FencedCodeBlock fencedCodeBlock)
+	{
+		append(fencedCodeBlock.getLiteral());
+		endBlock();
+	}
+
+	@Override
+	public void visit(IndentedCodeBlock indentedCodeBlock)
+	{
+		append(indentedCodeBlock.getLiteral());
+		endBlock();
+	}
+
+	@Override
+	public void visit(HtmlBlock htmlBlock)
+	{
+		// Markup, not text.
+	}
+
+	@Override
+	public void visit(HtmlInline htmlInline)
+	{
+		// Markup, not text.
+	}
+
+	@Override
+	public void visit(CustomBlock customBlock)
+	{
+		visitChildren(customBlock);
+		endBlock();
+	}
+
+	@Override
+	public void visit(CustomNode customNode)
+	{
+		visitChildren(customNode);
+		// Table cells and rows are the only custom inline nodes whose text is not joined with the next node.
+		if (customNode instanceof TableCell)
+		{
+			append(" ");
+		} else if (customNode instanceof TableRow)
+		{
+			endBlock();
+		}
+	}
+
+	/**
+	 * Separates the text of two blocks, so that the last word of a block never runs into the first word of the next.
+	 */
+	private void endBlock()
+	{
+		if (!plainText.isEmpty() && plainText.charAt(plainText.length() - 1) != '\n')
+		{
+			append("\n");
+		}
+	}
+
+	private void append(String text)
+	{
+		plainText.append(text);
+		if (headingText != null)
+		{
+			headingText.append(text);
+		}
+
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if (Character.isWhitespace(c))
+			{
+				inWord = false;
+				if (wordCount > 0 && wordCount < excerptWordCount)
+				{
+					excerpt.append(c);
+				}
+			} else
+			{
+				if (!inWord)
+				{
+					inWord = true;
+					wordCount++;
+				}
+				if (wordCount <= excerptWordCount)
+				{
+					excerpt.append(c);
+				}
+			}
+		}
+	}
+}
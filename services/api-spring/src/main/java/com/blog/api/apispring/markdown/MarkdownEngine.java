@@ -0,0 +1,146 @@
+package com.blog.api.apispring.markdown;
+
+import com.blog.api.apispring.enums.MarkdownExtension;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.commonmark.Extension;
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.commonmark.renderer.text.TextContentRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Parser and renderers of the markdown bodies, built once with the configured extensions.
+ * <p>
+ * The commonmark parser and renderers are immutable and thread-safe, so a single engine is shared by every request
+ * and can be driven from many threads by bulk imports. Parse time is published as the {@code markdown.parse} timer
+ * and, relative to the size of the document, as the {@code markdown.parse.time.per.kb} summary.
+ */
+@Component
+@Slf4j
+public class MarkdownEngine
+{
+	private static final double NANOS_PER_MICRO = 1_000.0;
+	private static final double BYTES_PER_KB = 1_024.0;
+	/**
+	 * Bumped whenever a change of this class changes the HTML rendered from the same markdown.
+	 */
+	private static final int HTML_RENDERER_VERSION = 1;
+
+	private final Parser parser;
+	private final HtmlRenderer htmlRenderer;
+	private final TextContentRenderer textRenderer;
+	private final Timer parseTimer;
+	private final DistributionSummary parseTimePerKb;
+	private final String htmlFingerprint;
+
+	public MarkdownEngine(MeterRegistry meterRegistry,
+						  @Value("${blog-api.markdown.extensions:tables,strikethrough,autolink}") List<String> extensionNames)
+	{
+		List<MarkdownExtension> markdownExtensions = toMarkdownExtensions(extensionNames);
+		List<Extension> extensions = markdownExtensions.stream()
+													   .map(MarkdownExtension::create)
+													   .toList();
+		this.htmlFingerprint = HTML_RENDERER_VERSION + ":" + markdownExtensions.stream()
+																			   .map(MarkdownExtension::getValue)
+																			   .collect(Collectors.joining(","));
+		this.parser = Parser.builder()
+							.extensions(extensions)
+							.build();
+		this.htmlRenderer = HtmlRenderer.builder()
+										.extensions(extensions)
+										.escapeHtml(true)
+										.sanitizeUrls(true)
+										.build();
+		this.textRenderer = TextContentRenderer.builder()
+											   .extensions(extensions)
+											   .build();
+		this.parseTimer = Timer.builder("markdown.parse")
+							   .description("Time spent parsing markdown documents")
+							   .register(meterRegistry);
+		this.parseTimePerKb = DistributionSummary.builder("markdown.parse.time.per.kb")
+												 .description("Parse time of markdown documents per KB of markdown")
+												 .baseUnit("microseconds")
+												 .register(meterRegistry);
+	}
+
+	private static List<MarkdownExtension> toMarkdownExtensions(Collection<String> extensionNames)
+	{
+		List<MarkdownExtension> extensions = new ArrayList<>();
+		for (String name : extensionNames)
+		{
+			if (name.isBlank())
+			{
+				continue;
+			}
+
+			MarkdownExtension extension = MarkdownExtension.fromValue(name);
+			if (extension == null)
+			{
+				throw new IllegalArgumentException("Unknown markdown extension: " + name);
+			}
+			extensions.add(extension);
+		}
+		log.info("Markdown extensions: {}", extensionNames);
+		return extensions;
+	}
+
+	/**
+	 * Identifies the HTML renderer and its extensions: HTML rendered by engines with the same fingerprint from the same
+	 * markdown is the same.
+	 */
+	public String getHtmlFingerprint()
+	{
+		return htmlFingerprint;
+	}
+
+	public Node parse(String markdown)
+	{
+		long start = System.nanoTime();
+		Node document = parser.parse(markdown);
+		long elapsed = System.nanoTime() - start;
+
+		parseTimer.record(elapsed, TimeUnit.NANOSECONDS);
+		// Characters stand for bytes, encoding the document only to measure it would cost more than the metric.
+		double kilobytes = Math.max(markdown.length(), 1) / BYTES_PER_KB;
+		parseTimePerKb.record(elapsed / NANOS_PER_MICRO / kilobytes);
+		return document;
+	}
+
+	public String toPlainText(String markdown)
+	{
+		return textRenderer.render(parse(markdown));
+	}
+
+	/**
+	 * Renders markdown to HTML. Raw HTML of the markdown is escaped and unsafe link destinations are removed, the
+	 * result is still meant to be cleaned by {@link com.blog.api.apispring.service.TextService#sanitizeHtml(String)}.
+	 */
+	public String toHtml(String markdown)
+	{
+		return htmlRenderer.render(parse(markdown));
+	}
+
+	/**
+	 * @see MarkdownAnalyzer
+	 */
+	public MarkdownAnalysis analyze(String markdown, int excerptWordCount)
+	{
+		return MarkdownAnalyzer.analyze(parse(markdown), excerptWordCount);
+	}
+
+	public List<MarkdownAnalysis.Heading> outline(String markdown)
+	{
+		return analyze(markdown, 1).outline();
+	}
+}
@@ -1,6 +1,7 @@
 package com.blog.api.apispring.model;
 
 import jakarta.persistence.*;
+import jakarta.persistence.Index;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.Length;
 import org.hibernate.annotations.*;
@@ -8,9 +9,10 @@ import org.hibernate.type.SqlTypes;
 
 import java.time.OffsetDateTime;
 
-@Table(name = "comments")
+@Table(name = "comments",
+	   indexes = @Index(name = "ix_comments_post_id_created_at_id", columnList = "post_id, created_at, id"))
 @Entity
-public class Comment extends BaseEntity {
+public class Comment extends VersionedEntity {
 
 	@NotNull
 	private String username;
@@ -25,7 +27,7 @@ public class Comment extends BaseEntity {
 	@JdbcTypeCode(SqlTypes.TIMESTAMP_WITH_TIMEZONE)
 	private OffsetDateTime createdAt;
 
-	@ManyToOne(optional = false)
+	@ManyToOne(optional = false, fetch = FetchType.LAZY)
 	@JoinColumn(name = "post_id", nullable = false, updatable = false)
 	@OnDelete(action = OnDeleteAction.CASCADE)
 	private Post post;
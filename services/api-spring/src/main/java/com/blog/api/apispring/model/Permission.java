@@ -1,12 +1,17 @@
 package com.blog.api.apispring.model;
 
+import com.blog.api.apispring.config.HibernateCacheConfig;
 import com.blog.api.apispring.security.authorities.PermissionType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
 @Table(name = "permissions")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PERMISSIONS_REGION)
 public class Permission extends BaseEntity
 {
 	@Column(unique = true)
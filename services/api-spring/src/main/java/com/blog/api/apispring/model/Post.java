@@ -11,9 +11,9 @@ import org.hibernate.type.SqlTypes;
 import java.time.OffsetDateTime;
 import java.util.*;
 
-@Table(name = "posts")
+@Table(name = "posts", indexes = @Index(name = "ix_posts_published_at_id", columnList = "published_at, id"))
 @Entity
-public class Post extends BaseEntity
+public class Post extends VersionedEntity
 {
 	@NotBlank(message = "Post title cannot be empty.")
 	private String title;
@@ -27,10 +27,27 @@ public class Post extends BaseEntity
 	@Column(length = Length.LONG32)
 	private String body = "New post body";
 
+	/**
+	 * Plain text of the markdown body, indexed by the full-text search.
+	 */
+	@NotNull
+	@ColumnDefault("''")
+	@Column(name = "body_text", length = Length.LONG32)
+	private String bodyText = "";
+
 	@ColumnDefault("1")
 	@NotNull
 	private int readingTime = 1;
 
+	/**
+	 * Denormalized number of comments. Written with the insert of a new post, then only maintained by atomic
+	 * increments in {@link com.blog.api.apispring.service.CommentService} so that saving a post never overwrites it.
+	 */
+	@ColumnDefault("0")
+	@NotNull
+	@Column(name = "comments_count", updatable = false)
+	private long commentsCount = 0;
+
 	@Column(name = "published_at")
 	@JdbcTypeCode(SqlTypes.TIMESTAMP_WITH_TIMEZONE)
 	private OffsetDateTime publishedAt;
@@ -39,7 +56,11 @@ public class Post extends BaseEntity
 	@JoinColumn(name = "author_id")
 	private User author;
 
-	@OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+	/**
+	 * Comments are saved with the post but never removed through it, deleting a post relies on the
+	 * {@code ON DELETE CASCADE} of comments.post_id instead of loading every comment.
+	 */
+	@OneToMany(mappedBy = "post", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
 	private Set<Comment> comments = new HashSet<>();
 
 	@ManyToMany
@@ -78,6 +99,16 @@ public class Post extends BaseEntity
 		this.body = body;
 	}
 
+	public String getBodyText()
+	{
+		return bodyText;
+	}
+
+	public void setBodyText(String bodyText)
+	{
+		this.bodyText = bodyText;
+	}
+
 	public int getReadingTime()
 	{
 		return readingTime;
@@ -88,6 +119,11 @@ public class Post extends BaseEntity
 		this.readingTime = readingTime;
 	}
 
+	public long getCommentsCount()
+	{
+		return commentsCount;
+	}
+
 	public OffsetDateTime getPublishedAt()
 	{
 		return publishedAt;
@@ -128,9 +164,17 @@ public class Post extends BaseEntity
 		getTags().add(newTag);
 	}
 
+	/**
+	 * Adds a comment saved with the post. The comments count only reaches the database with the insert of the post,
+	 * so this only counts comments of unsaved posts. Comments of saved posts go through
+	 * {@link com.blog.api.apispring.service.CommentService}, which increments the stored count.
+	 */
 	public void addComment(Comment comment)
 	{
-		getComments().add(comment);
+		if (getComments().add(comment))
+		{
+			commentsCount++;
+		}
 		comment.setPost(this);
 	}
 
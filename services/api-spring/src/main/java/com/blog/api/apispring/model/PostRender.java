@@ -0,0 +1,81 @@
+package com.blog.api.apispring.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.Length;
+
+/**
+ * Sanitized HTML rendered from the markdown body of a post, with the hash of the body and the renderer it was rendered
+ * from.
+ */
+@Table(name = "post_renders")
+@Entity
+public class PostRender
+{
+	@Id
+	@Column(name = "post_id")
+	private Long postId;
+
+	@NotNull
+	@Column(name = "body_hash", length = 64)
+	private String bodyHash;
+
+	/**
+	 * Hash of the fingerprint of the markdown engine, a render made with other extensions or an older renderer is
+	 * stale.
+	 */
+	@NotNull
+	@Column(length = 16)
+	private String renderer;
+
+	@NotNull
+	@Column(length = Length.LONG32)
+	private String html;
+
+	public PostRender()
+	{
+	}
+
+	public PostRender(Long postId)
+	{
+		this.postId = postId;
+	}
+
+	public Long getPostId()
+	{
+		return postId;
+	}
+
+	public String getBodyHash()
+	{
+		return bodyHash;
+	}
+
+	public void setBodyHash(String bodyHash)
+	{
+		this.bodyHash = bodyHash;
+	}
+
+	public String getRenderer()
+	{
+		return renderer;
+	}
+
+	public void setRenderer(String renderer)
+	{
+		this.renderer = renderer;
+	}
+
+	public String getHtml()
+	{
+		return html;
+	}
+
+	public void setHtml(String html)
+	{
+		this.html = html;
+	}
+}
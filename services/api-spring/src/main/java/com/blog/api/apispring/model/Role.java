@@ -1,18 +1,24 @@
 package com.blog.api.apispring.model;
 
+import com.blog.api.apispring.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
 //https://www.baeldung.com/role-and-privilege-for-spring-security-registration
 @Table(name = "roles")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ROLES_REGION)
 public class Role extends BaseEntity
 {
 	@Column(unique = true)
 	private String name;
 
 	@ManyToMany(fetch = FetchType.LAZY)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ROLE_PERMISSIONS_REGION)
 	@JoinTable(name = "roles_permissions", joinColumns = @JoinColumn(name = "role_id"), inverseJoinColumns = @JoinColumn(name = "permission_id"))
 	private Set<Permission> permissions;
 
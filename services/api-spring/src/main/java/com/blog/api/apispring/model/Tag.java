@@ -1,15 +1,21 @@
 package com.blog.api.apispring.model;
 
+import com.blog.api.apispring.config.HibernateCacheConfig;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 
 @Entity
 @Table(name = "tags")
-public class Tag extends BaseEntity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TAGS_REGION)
+public class Tag extends VersionedEntity
 {
 
 	@NotNull
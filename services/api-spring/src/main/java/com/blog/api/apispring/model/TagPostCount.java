@@ -0,0 +1,57 @@
+package com.blog.api.apispring.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Number of posts having a tag, published or not.
+ * <p>
+ * Rows are maintained by database triggers whenever a post gains or loses a tag, is published or hidden, and are
+ * never written by the application.
+ */
+@Table(name = "tag_post_counts")
+@Entity
+@Immutable
+public class TagPostCount
+{
+	@Id
+	@Column(name = "tag_id")
+	private Long tagId;
+
+	@Column(name = "published_count")
+	private long publishedCount;
+
+	@Column(name = "total_count")
+	private long totalCount;
+
+	@Column(name = "updated_at")
+	@JdbcTypeCode(SqlTypes.TIMESTAMP_WITH_TIMEZONE)
+	private OffsetDateTime updatedAt;
+
+	public Long getTagId()
+	{
+		return tagId;
+	}
+
+	public long getPublishedCount()
+	{
+		return publishedCount;
+	}
+
+	public long getTotalCount()
+	{
+		return totalCount;
+	}
+
+	public OffsetDateTime getUpdatedAt()
+	{
+		return updatedAt;
+	}
+}
@@ -1,8 +1,12 @@
 package com.blog.api.apispring.model;
 
+import com.blog.api.apispring.config.HibernateCacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -11,6 +15,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USERS_REGION)
 public class User extends BaseEntity
 {
 
@@ -29,9 +35,19 @@ public class User extends BaseEntity
 	private List<Post> posts = new ArrayList<>();
 
 	@ManyToMany(fetch = FetchType.LAZY)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_ROLES_REGION)
 	@JoinTable(name = "users_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
 	private Set<Role> roles;
 
+	/**
+	 * Incremented whenever the roles change, access tokens issued for an older version no longer carry the right
+	 * authorities.
+	 */
+	@ColumnDefault("0")
+	@NotNull
+	@Column(name = "security_version")
+	private long securityVersion = 0;
+
 	public User()
 	{
 	}
@@ -89,16 +105,25 @@ public class User extends BaseEntity
 		{
 			roles = new HashSet<>();
 		}
-		roles.add(role);
+		if (roles.add(role))
+		{
+			securityVersion++;
+		}
 	}
 
 	public void setRoles(Set<Role> roles)
 	{
 		this.roles = roles;
+		securityVersion++;
 	}
 
 	public Set<Role> getRoles()
 	{
 		return roles;
 	}
+
+	public long getSecurityVersion()
+	{
+		return securityVersion;
+	}
 }
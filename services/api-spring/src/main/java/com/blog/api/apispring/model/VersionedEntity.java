@@ -0,0 +1,41 @@
+package com.blog.api.apispring.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Entity with a version incremented by every update through JPA, used for optimistic locking. Bulk updates of derived
+ * data only touch the update time, both together are the HTTP validators (ETag and Last-Modified) of the resource.
+ */
+@MappedSuperclass
+public class VersionedEntity extends BaseEntity
+{
+	@Version
+	@ColumnDefault("0")
+	private long version;
+
+	@UpdateTimestamp
+	@Column(name = "updated_at")
+	@JdbcTypeCode(SqlTypes.TIMESTAMP_WITH_TIMEZONE)
+	private OffsetDateTime updatedAt;
+
+	@JsonIgnore
+	public long getVersion()
+	{
+		return version;
+	}
+
+	@JsonIgnore
+	public OffsetDateTime getUpdatedAt()
+	{
+		return updatedAt;
+	}
+}
@@ -0,0 +1,17 @@
+package com.blog.api.apispring.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Version of a collection of {@link com.blog.api.apispring.model.VersionedEntity}: it changes when an element is
+ * added, removed or updated.
+ */
+public interface CollectionVersion
+{
+	long getCount();
+
+	/**
+	 * Last update of an element, null when the collection is empty.
+	 */
+	OffsetDateTime getUpdatedAt();
+}
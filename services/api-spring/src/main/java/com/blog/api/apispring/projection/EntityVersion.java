@@ -0,0 +1,13 @@
+package com.blog.api.apispring.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Version of a {@link com.blog.api.apispring.model.VersionedEntity}, read without loading the entity.
+ */
+public interface EntityVersion
+{
+	long getVersion();
+
+	OffsetDateTime getUpdatedAt();
+}
@@ -0,0 +1,25 @@
+package com.blog.api.apispring.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Flat row of a post and its author, read by the export.
+ */
+public interface PostExportRow
+{
+	Long getId();
+
+	String getTitle();
+
+	String getDescription();
+
+	String getBody();
+
+	int getReadingTime();
+
+	OffsetDateTime getPublishedAt();
+
+	Long getAuthorId();
+
+	String getAuthorName();
+}
@@ -0,0 +1,25 @@
+package com.blog.api.apispring.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Columns of a post needed to authorize a request and check its publication state, read without the body.
+ */
+public interface PostHeader
+{
+	long getId();
+
+	/**
+	 * Id of the author, null when the post has none.
+	 */
+	Long getAuthorId();
+
+	OffsetDateTime getPublishedAt();
+
+	long getVersion();
+
+	default boolean isPublished()
+	{
+		return getPublishedAt() != null;
+	}
+}
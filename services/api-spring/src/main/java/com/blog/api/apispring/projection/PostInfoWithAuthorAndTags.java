@@ -5,8 +5,9 @@ import org.springframework.beans.factory.annotation.Value;
 
 import java.util.Set;
 
-public interface PostInfoWithAuthorAndTags extends PostInfoWithAuthor
+public interface PostInfoWithAuthorAndTags extends PostInfoWithAuthor, PostSummaryWithAuthorAndTags
 {
+	@Override
 	@Value("#{target?.tags ?: new java.util.HashSet()}")
 	Set<Tag> getTags();
 }
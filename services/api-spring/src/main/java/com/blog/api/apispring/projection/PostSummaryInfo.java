@@ -0,0 +1,33 @@
+package com.blog.api.apispring.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Projection for {@link com.blog.api.apispring.model.Post} without its body, used by the listings.
+ */
+public interface PostSummaryInfo
+{
+	Long getId();
+
+	String getTitle();
+
+	String getDescription();
+
+	int getReadingTime();
+
+	OffsetDateTime getPublishedAt();
+
+	long getCommentsCount();
+
+	UserInfo getAuthor();
+
+	/**
+	 * Projection for {@link com.blog.api.apispring.model.User}
+	 */
+	interface UserInfo
+	{
+		Long getId();
+
+		String getName();
+	}
+}
@@ -0,0 +1,25 @@
+package com.blog.api.apispring.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Flat row of a post listing, read without the body column.
+ */
+public interface PostSummaryRow
+{
+	Long getId();
+
+	String getTitle();
+
+	String getDescription();
+
+	int getReadingTime();
+
+	OffsetDateTime getPublishedAt();
+
+	long getCommentsCount();
+
+	Long getAuthorId();
+
+	String getAuthorName();
+}
@@ -0,0 +1,10 @@
+package com.blog.api.apispring.projection;
+
+import com.blog.api.apispring.model.Tag;
+
+import java.util.Set;
+
+public interface PostSummaryWithAuthorAndTags extends PostSummaryInfo
+{
+	Set<Tag> getTags();
+}
@@ -0,0 +1,13 @@
+package com.blog.api.apispring.projection;
+
+import com.blog.api.apispring.model.Tag;
+
+/**
+ * A tag of a post, read for a page of posts at once.
+ */
+public interface PostTagRow
+{
+	Long getPostId();
+
+	Tag getTag();
+}
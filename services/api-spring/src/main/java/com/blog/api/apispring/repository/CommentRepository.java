@@ -1,17 +1,26 @@
 package com.blog.api.apispring.repository;
 
 import com.blog.api.apispring.model.Comment;
+import com.blog.api.apispring.projection.CollectionVersion;
 import com.blog.api.apispring.projection.CommentInfo;
+import com.blog.api.apispring.projection.EntityVersion;
 import com.blog.api.apispring.projection.PostInfoWithAuthorAndTags;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends CrudRepository<Comment, Long>
 {
@@ -22,13 +31,61 @@ public interface CommentRepository extends CrudRepository<Comment, Long>
 			""")
 	Optional<CommentInfo> findCommentInfoById(@Param("id") long id);
 
+	/**
+	 * Reads every comment in post order, oldest first, through a forward-only cursor walking the
+	 * {@code (post_id, created_at, id)} index. The stream must be consumed and closed within a transaction.
+	 */
+	@Query(value = """
+				select c.id as id, c.username as username, c.body as body, c.createdAt as createdAt, c.post.id as postId
+				from Comment c
+				order by c.post.id, c.createdAt, c.id
+			""")
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PostRepository.EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	Stream<CommentInfo> streamAllInfo();
+
+	@Query("select c.version as version, c.updatedAt as updatedAt from Comment c where c.id = :id")
+	Optional<EntityVersion> findVersionById(@Param("id") long id);
+
+	@Query("""
+			select count(c.id) as count, max(c.updatedAt) as updatedAt
+			from Comment c
+			where c.post.id = :postId
+			""")
+	CollectionVersion findAllVersionByPostId(@Param("postId") long postId);
+
+	@Query("select c.post.id from Comment c where c.id = :id")
+	Optional<Long> findPostIdById(@Param("id") long id);
+
+	@Modifying
+	@Query("delete from Comment c where c.id = :id")
+	int deleteCommentById(@Param("id") long id);
+
+	/**
+	 * Reads the first comments of the post, oldest first.
+	 */
 	@Query(value = """
 				select c.id as id, c.username as username, c.body as body, c.createdAt as createdAt, c.post.id as postId
 				from Comment c
 				where c.post.id = :postId
-			""", countQuery = """
-				select count(c.id)
+				order by c.createdAt, c.id
+			""")
+	List<CommentInfo> findFirstInfoByPostId(@Param("postId") long postId, Limit limit);
+
+	/**
+	 * Reads the comments of the post located after the cursor, oldest first.
+	 * <p>
+	 * Equivalent to {@code (created_at, id) > (?, ?)}, written so that created_at stays usable as a bound of the
+	 * {@code (post_id, created_at, id)} index.
+	 */
+	@Query(value = """
+				select c.id as id, c.username as username, c.body as body, c.createdAt as createdAt, c.post.id as postId
 				from Comment c
+				where c.post.id = :postId
+					and c.createdAt >= :createdAt
+					and (c.createdAt > :createdAt or c.id > :id)
+				order by c.createdAt, c.id
 			""")
-	Set<CommentInfo> findAllInfoByPostId(@Param("postId") long postId);
+	List<CommentInfo> findInfoByPostIdAfter(@Param("postId") long postId, @Param("createdAt") OffsetDateTime createdAt,
+											@Param("id") long id, Limit limit);
 }
\ No newline at end of file
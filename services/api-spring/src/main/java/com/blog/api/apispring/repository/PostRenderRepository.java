@@ -0,0 +1,10 @@
+package com.blog.api.apispring.repository;
+
+import com.blog.api.apispring.model.PostRender;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostRenderRepository extends CrudRepository<PostRender, Long>
+{
+}
@@ -2,21 +2,35 @@ package com.blog.api.apispring.repository;
 
 import com.blog.api.apispring.model.Post;
 import com.blog.api.apispring.projection.*;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends CrudRepository<Post, Long>, PostRepositoryExtension,
 		JpaSpecificationExecutor<Post>
 {
+	/**
+	 * Rows fetched per round trip by the export cursors, large enough to amortize the round trips and small enough to
+	 * keep a batch of post bodies in memory.
+	 */
+	String EXPORT_FETCH_SIZE = "500";
+
 	@EntityGraph(attributePaths = {"comments"})
 	Optional<Post> findWithCommentsById(long id);
 
@@ -32,6 +46,61 @@ public interface PostRepository extends CrudRepository<Post, Long>, PostReposito
 	@EntityGraph(attributePaths = {"author", "tags", "comments"})
 	Optional<PostInfoWithAuthorTagsComments> findInfoWithTagsAndCommentsById(@Param("id") long id);
 
+	@EntityGraph(attributePaths = {"author", "tags"})
+	List<Post> findAllWithAuthorAndTagsByIdIn(Collection<Long> ids);
+
+	/**
+	 * Reads the listing fields of the posts, never the body.
+	 */
+	@Query(value = """
+				select p.id as id, p.title as title, p.description as description, p.readingTime as readingTime,
+					p.publishedAt as publishedAt, p.commentsCount as commentsCount, a.id as authorId, a.name as authorName
+				from Post p
+				left join p.author a
+				where p.id in :ids
+			""")
+	List<PostSummaryRow> findSummaryRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query(value = """
+				select p.id as postId, t as tag
+				from Post p
+				join p.tags t
+				where p.id in :ids
+			""")
+	List<PostTagRow> findTagRowsByPostIdIn(@Param("ids") Collection<Long> ids);
+
+	Slice<Post> findByPublishedAtIsNotNull(Pageable pageable);
+
+	/**
+	 * Reads every post with its author in id order, through a forward-only cursor fetching
+	 * {@value #EXPORT_FETCH_SIZE} rows at a time. The stream must be consumed and closed within a transaction.
+	 */
+	@Query(value = """
+				select p.id as id, p.title as title, p.description as description, p.body as body,
+					p.readingTime as readingTime, p.publishedAt as publishedAt, a.id as authorId, a.name as authorName
+				from Post p
+				left join p.author a
+				order by p.id
+			""")
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	Stream<PostExportRow> streamAllExportRows();
+
+	/**
+	 * Reads the tags of every post in post id order, through a forward-only cursor.
+	 *
+	 * @see #streamAllExportRows()
+	 */
+	@Query(value = """
+				select p.id as postId, t as tag
+				from Post p
+				join p.tags t
+				order by p.id
+			""")
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+	Stream<PostTagRow> streamAllTagRows();
+
 	@Query(value = """
 				select p
 				from Post p
@@ -42,11 +111,65 @@ public interface PostRepository extends CrudRepository<Post, Long>, PostReposito
 	@EntityGraph(attributePaths = {"author", "tags"})
 	Page<PostInfoWithAuthorAndTags> findAllInfoWithTags(Pageable pageable);
 
+	@Query("select p.version as version, p.updatedAt as updatedAt from Post p where p.id = :id")
+	Optional<EntityVersion> findVersionById(@Param("id") long id);
+
+	/**
+	 * Reads the header of the post, the author id comes from the foreign key without joining the users.
+	 */
 	@Query(value = """
-				select count(c)
+				select p.id as id, p.author.id as authorId, p.publishedAt as publishedAt, p.version as version
 				from Post p
-				left join Comment c on c.post = p
 				where p.id = :id
 			""")
-	long countCommentsById(@Param("id") Long id);
+	Optional<PostHeader> findHeaderById(@Param("id") long id);
+
+	/**
+	 * Removes the tags of the posts, posts_tags has no cascade on the post.
+	 * <p>
+	 * The statement only touches posts_tags, without the hint Hibernate would clear every second-level cache region.
+	 */
+	@Modifying
+	@Query(value = "delete from posts_tags where post_id in :ids", nativeQuery = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "posts_tags"))
+	int deleteTagLinksByPostIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Deletes the posts in one statement, their comments and renders are removed by the {@code ON DELETE CASCADE} of
+	 * the database. Tags must be unlinked first with {@link #deleteTagLinksByPostIdIn(Collection)}.
+	 */
+	@Modifying
+	@Query("delete from Post p where p.id in :ids")
+	int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Increments the comments count and touches the update time. The version is left alone, a concurrent update of the
+	 * post would otherwise fail its optimistic lock.
+	 */
+	@Modifying
+	@Query(value = """
+				update Post p
+				set p.commentsCount = p.commentsCount + 1, p.updatedAt = current_timestamp
+				where p.id = :id
+			""")
+	int incrementCommentsCount(@Param("id") long id);
+
+	@Modifying
+	@Query(value = """
+				update Post p
+				set p.commentsCount = p.commentsCount - 1, p.updatedAt = current_timestamp
+				where p.id = (select c.post.id from Comment c where c.id = :commentId) and p.commentsCount > 0
+			""")
+	int decrementCommentsCountByCommentId(@Param("commentId") long commentId);
+
+	/**
+	 * Touches the update time of the posts carrying a tag, their representation includes the tag.
+	 */
+	@Modifying
+	@Query(value = """
+				update Post p
+				set p.updatedAt = current_timestamp
+				where p.id in (select tagged.id from Post tagged join tagged.tags t where t.id = :tagId)
+			""")
+	int touchByTagId(@Param("tagId") long tagId);
 }
@@ -1,21 +1,23 @@
 package com.blog.api.apispring.repository;
 
-import com.blog.api.apispring.model.Comment;
 import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.Post_;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.*;
-import jakarta.persistence.metamodel.EntityType;
-import jakarta.persistence.metamodel.Metamodel;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaContext;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public interface PostRepositoryExtension
 {
-	Map<Long, Long> countCommentsByIds(@Param("postIds") List<Long> postIds);
+	/**
+	 * Reads the ordered ids of one page of posts. Only the ids are selected so that sorting and limiting the matching
+	 * posts never touches the wide post rows, they are loaded afterward for the page only.
+	 */
+	List<Long> findPageIds(Specification<Post> specs, Sort sort, long offset, int limit);
 }
 
 class PostRepositoryExtensionImpl implements PostRepositoryExtension
@@ -28,32 +30,27 @@ class PostRepositoryExtensionImpl implements PostRepositoryExtension
 	}
 
 	@Override
-	public Map<Long, Long> countCommentsByIds(List<Long> postIds)
+	public List<Long> findPageIds(Specification<Post> specs, Sort sort, long offset, int limit)
 	{
-		record PostCommentCount(Long id, Long count)
+		CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
+		CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+		Root<Post> postRoot = query.from(Post.class);
+
+		Predicate predicate = specs.toPredicate(postRoot, query, criteriaBuilder);
+		if (predicate != null)
+		{
+			query.where(predicate);
+		}
+		query.select(postRoot.get(Post_.id));
+		// An unsorted page keeps the order set by the specifications, if any.
+		if (sort.isSorted())
 		{
+			query.orderBy(QueryUtils.toOrders(sort, postRoot, criteriaBuilder));
 		}
 
-		CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
-		Metamodel m = em.getMetamodel();
-		EntityType<Post> Post_ = m.entity(Post.class);
-		EntityType<Comment> Comment_ = m.entity(Comment.class);
-
-		CriteriaQuery<PostCommentCount> query = criteriaBuilder.createQuery(PostCommentCount.class);
-		Root<Post> postRoot = query.from(Post_);
-		SetJoin<Post, Comment> commentJoin = postRoot.join(Post_.getSet("comments", Comment.class), JoinType.LEFT);
-
-		query.select(criteriaBuilder.construct(PostCommentCount.class, postRoot.get(Post_.getId(Long.class)),
-				criteriaBuilder.count(commentJoin.get(Comment_.getId(Long.class)))));
-		query.groupBy(postRoot.get(Post_.getId(Long.class)));
-		query.orderBy(criteriaBuilder.asc(postRoot.get(Post_.getId(Long.class))));
-
-		List<PostCommentCount> commentCounts = em.createQuery(query)
-												 .getResultList();
-		Map<Long, Long> map = new HashMap<>(postIds.size());
-		postIds.forEach(id -> map.put(id, 0L));
-		commentCounts.forEach(postCommentCount -> map.replace(postCommentCount.id(), postCommentCount.count()));
-
-		return map;
+		return em.createQuery(query)
+				 .setFirstResult(Math.toIntExact(offset))
+				 .setMaxResults(limit)
+				 .getResultList();
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.blog.api.apispring.repository;
+
+import com.blog.api.apispring.model.TagPostCount;
+import com.blog.api.apispring.projection.CollectionVersion;
+import org.jspecify.annotations.NullMarked;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Post counts of the tags, read only: the rows are maintained by database triggers.
+ */
+@Repository
+public interface TagPostCountRepository extends CrudRepository<TagPostCount, Long>
+{
+	@Override
+	@NullMarked
+	List<TagPostCount> findAll();
+
+	/**
+	 * Version of the tags and their post counts, it changes with a tag and with the counts of a tag.
+	 */
+	@Query("""
+				select count(t.id) as count, greatest(max(t.updatedAt), max(c.updatedAt)) as updatedAt
+				from Tag t
+				left join TagPostCount c on c.tagId = t.id
+			""")
+	CollectionVersion findAllVersion();
+}
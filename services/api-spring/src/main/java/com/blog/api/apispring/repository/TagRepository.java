@@ -1,10 +1,16 @@
 package com.blog.api.apispring.repository;
 
+import com.blog.api.apispring.config.HibernateCacheConfig;
 import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.projection.CollectionVersion;
+import com.blog.api.apispring.projection.EntityVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,14 +26,27 @@ public interface TagRepository extends CrudRepository<Tag, Long>
 
 	@Override
 	@NullMarked
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.TAG_QUERIES_REGION)})
 	List<Tag> findAll();
 
 	Optional<Tag> deleteTagById(Long id);
 
 	Optional<Tag> deleteTagBySlug(String slug);
 
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.TAG_QUERIES_REGION)})
 	Optional<Tag> findBySlug(String slug);
 
+	@Query("select t.version as version, t.updatedAt as updatedAt from Tag t where t.id = :id")
+	Optional<EntityVersion> findVersionById(@Param("id") long id);
+
+	@Query("select t.version as version, t.updatedAt as updatedAt from Tag t where t.slug = :slug")
+	Optional<EntityVersion> findVersionBySlug(@Param("slug") String slug);
+
+	@Query("select count(t.id) as count, max(t.updatedAt) as updatedAt from Tag t")
+	CollectionVersion findAllVersion();
+
 	@Transactional
 	@Modifying
 	@Query("UPDATE Tag t set t.slug= :#{#tag.slug}, t.name= :#{#tag.name} WHERE t.slug= :slug")
@@ -39,5 +58,7 @@ public interface TagRepository extends CrudRepository<Tag, Long>
 	void updateTag(@Param("id") Long id, @Param("tag") Tag tag);
 
 	@Query("select t from Tag t where t.id in :ids or t.slug in :slugs")
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.TAG_QUERIES_REGION)})
 	Set<Tag> findAllByIdOrSlug(@NonNull Iterable<Long> ids, @NonNull Iterable<String> slugs);
 }
@@ -1,15 +1,42 @@
 package com.blog.api.apispring.repository;
 
+import com.blog.api.apispring.config.HibernateCacheConfig;
 import com.blog.api.apispring.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends CrudRepository<User, Long>
 {
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_QUERIES_REGION)})
 	Optional<User> findByEmail(String email);
 
 	@EntityGraph(attributePaths = {"roles", "roles.permissions"})
+	@QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_QUERIES_REGION)})
 	Optional<User> findWithRolesById(long id);
+
+	@Query("select u.securityVersion from User u where u.id = :id")
+	Optional<Long> findSecurityVersionById(@Param("id") long id);
+
+	/**
+	 * Increments the security version of every user of the role, a bulk update also evicts the cached users.
+	 *
+	 * @return the number of users
+	 */
+	@Modifying
+	@Query("""
+			update User u
+			set u.securityVersion = u.securityVersion + 1
+			where u.id in (select ur.id from User ur join ur.roles r where r.id = :roleId)
+			""")
+	int incrementSecurityVersionByRoleId(@Param("roleId") long roleId);
 }
@@ -0,0 +1,484 @@
+package com.blog.api.apispring.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory inverted index with BM25 ranking and phrase queries.
+ * <p>
+ * Documents are identified by a long key and numbered internally in insertion order, so posting lists are sorted int
+ * arrays that only grow at their end. Updating or removing a document only marks its number as deleted, the postings
+ * of deleted documents are dropped by a compaction once they make up a quarter of the index. Until then document
+ * frequencies still count deleted documents, which slightly skews the idf but never the matches.
+ * <p>
+ * Queries are made of terms and double-quoted phrases, a document must match all of them. Tokens are the lower-cased
+ * runs of letters and digits, there is no stemming.
+ */
+public class InvertedIndex
+{
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	/**
+	 * Position gap between the fields of a document so that a phrase never spans two fields.
+	 */
+	private static final int FIELD_POSITION_GAP = 1_000;
+	private static final double COMPACTION_RATIO = 0.25;
+	private static final int MIN_COMPACTION_DOCS = 64;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Postings> postingsByTerm = new HashMap<>();
+	private final Map<Long, Integer> docByKey = new HashMap<>();
+	private final BitSet deleted = new BitSet();
+	private long[] keys = new long[64];
+	private int[] lengths = new int[64];
+	private int docCount;
+	private int liveCount;
+	private long liveLength;
+
+	/**
+	 * Adds a document, or replaces it if the key is already indexed.
+	 *
+	 * @param key    the document key
+	 * @param fields the text fields of the document, null fields are skipped
+	 */
+	public void put(long key, String... fields)
+	{
+		Map<String, IntArray> termPositions = new HashMap<>();
+		int position = 0;
+		int length = 0;
+		for (String field : fields)
+		{
+			List<String> tokens = tokenize(field);
+			for (String token : tokens)
+			{
+				termPositions.computeIfAbsent(token, _ -> new IntArray())
+							 .add(position++);
+			}
+			length += tokens.size();
+			position += FIELD_POSITION_GAP;
+		}
+
+		lock.writeLock()
+			.lock();
+		try
+		{
+			removeDocument(key);
+
+			int doc = docCount++;
+			if (doc == keys.length)
+			{
+				keys = Arrays.copyOf(keys, doc * 2);
+				lengths = Arrays.copyOf(lengths, doc * 2);
+			}
+			keys[doc] = key;
+			lengths[doc] = length;
+			termPositions.forEach((term, positions) -> postingsByTerm.computeIfAbsent(term, _ -> new Postings())
+																	 .add(doc, positions));
+
+			docByKey.put(key, doc);
+			liveCount++;
+			liveLength += length;
+			compactIfNeeded();
+		} finally
+		{
+			lock.writeLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * @return true if the document was indexed
+	 */
+	public boolean remove(long key)
+	{
+		lock.writeLock()
+			.lock();
+		try
+		{
+			boolean removed = removeDocument(key);
+			if (removed)
+			{
+				compactIfNeeded();
+			}
+			return removed;
+		} finally
+		{
+			lock.writeLock()
+				.unlock();
+		}
+	}
+
+	public int size()
+	{
+		lock.readLock()
+			.lock();
+		try
+		{
+			return liveCount;
+		} finally
+		{
+			lock.readLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * Number of document numbers in use, deleted documents included until the next compaction.
+	 */
+	int documentCount()
+	{
+		lock.readLock()
+			.lock();
+		try
+		{
+			return docCount;
+		} finally
+		{
+			lock.readLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * Finds the documents matching every term and phrase of the query.
+	 *
+	 * @param query the query, phrases are written between double quotes
+	 * @param limit the maximum number of keys returned
+	 * @return the keys of the matching documents, best BM25 score first
+	 */
+	public List<Long> search(String query, int limit)
+	{
+		List<String[]> clauses = parse(query);
+		if (clauses.isEmpty() || limit <= 0)
+		{
+			return new ArrayList<>();
+		}
+
+		List<String> terms = new ArrayList<>(clauses.stream()
+													.flatMap(Arrays::stream)
+													.distinct()
+													.toList());
+
+		lock.readLock()
+			.lock();
+		try
+		{
+			Postings[] postings = new Postings[terms.size()];
+			for (int i = 0; i < postings.length; i++)
+			{
+				postings[i] = postingsByTerm.get(terms.get(i));
+				if (postings[i] == null)
+				{
+					return new ArrayList<>();
+				}
+			}
+
+			double[] idf = new double[postings.length];
+			int driver = 0;
+			for (int i = 0; i < postings.length; i++)
+			{
+				double df = Math.min(postings[i].size, liveCount);
+				idf[i] = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+				if (postings[i].size < postings[driver].size)
+				{
+					driver = i;
+				}
+			}
+
+			double averageLength = (double) liveLength / liveCount;
+			int[] entries = new int[postings.length];
+			List<ScoredKey> matches = new ArrayList<>();
+			for (int entry = 0; entry < postings[driver].size; entry++)
+			{
+				int doc = postings[driver].docs[entry];
+				if (deleted.get(doc) || !findEntries(postings, doc, entries) || !matchesPhrases(clauses, terms,
+						postings, entries))
+				{
+					continue;
+				}
+
+				double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+				double score = 0;
+				for (int i = 0; i < postings.length; i++)
+				{
+					int frequency = postings[i].frequency(entries[i]);
+					score += idf[i] * frequency * (K1 + 1) / (frequency + norm);
+				}
+				matches.add(new ScoredKey(keys[doc], score));
+			}
+
+			return matches.stream()
+						  .sorted(Comparator.comparingDouble(ScoredKey::score)
+											.reversed()
+											.thenComparing(ScoredKey::key, Comparator.reverseOrder()))
+						  .limit(limit)
+						  .map(ScoredKey::key)
+						  .toList();
+		} finally
+		{
+			lock.readLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * Splits a text into lower-cased runs of letters and digits.
+	 */
+	static List<String> tokenize(String text)
+	{
+		List<String> tokens = new ArrayList<>();
+		if (text == null)
+		{
+			return tokens;
+		}
+
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++)
+		{
+			boolean inToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (inToken && start < 0)
+			{
+				start = i;
+			} else if (!inToken && start >= 0)
+			{
+				tokens.add(text.substring(start, i)
+							   .toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Parses a query into clauses, a clause is a single term or the terms of a phrase.
+	 */
+	static List<String[]> parse(String query)
+	{
+		List<String[]> clauses = new ArrayList<>();
+		if (query == null)
+		{
+			return clauses;
+		}
+
+		String[] parts = query.split("\"", -1);
+		for (int i = 0; i < parts.length; i++)
+		{
+			List<String> tokens = tokenize(parts[i]);
+			if (i % 2 == 1 && tokens.size() > 1)
+			{
+				clauses.add(tokens.toArray(String[]::new));
+			} else
+			{
+				tokens.forEach(token -> clauses.add(new String[]{token}));
+			}
+		}
+		return clauses;
+	}
+
+	private boolean removeDocument(long key)
+	{
+		Integer doc = docByKey.remove(key);
+		if (doc == null)
+		{
+			return false;
+		}
+
+		deleted.set(doc);
+		liveCount--;
+		liveLength -= lengths[doc];
+		return true;
+	}
+
+	/**
+	 * Compacts once deleted documents make up a quarter of the index. Called with the write lock held.
+	 */
+	private void compactIfNeeded()
+	{
+		if (docCount >= MIN_COMPACTION_DOCS && deleted.cardinality() > docCount * COMPACTION_RATIO)
+		{
+			compact();
+		}
+	}
+
+	/**
+	 * Renumbers the live documents and drops the postings of deleted ones. Called with the write lock held.
+	 */
+	private void compact()
+	{
+		int[] remap = new int[docCount];
+		int live = 0;
+		for (int doc = 0; doc < docCount; doc++)
+		{
+			if (deleted.get(doc))
+			{
+				remap[doc] = -1;
+			} else
+			{
+				remap[doc] = live;
+				keys[live] = keys[doc];
+				lengths[live] = lengths[doc];
+				live++;
+			}
+		}
+
+		Iterator<Postings> iterator = postingsByTerm.values()
+													.iterator();
+		while (iterator.hasNext())
+		{
+			Postings postings = iterator.next();
+			postings.remap(remap);
+			if (postings.size == 0)
+			{
+				iterator.remove();
+			}
+		}
+
+		docByKey.clear();
+		for (int doc = 0; doc < live; doc++)
+		{
+			docByKey.put(keys[doc], doc);
+		}
+		deleted.clear();
+		docCount = live;
+	}
+
+	private static boolean findEntries(Postings[] postings, int doc, int[] entries)
+	{
+		for (int i = 0; i < postings.length; i++)
+		{
+			entries[i] = postings[i].find(doc);
+			if (entries[i] < 0)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean matchesPhrases(List<String[]> clauses, List<String> terms, Postings[] postings,
+										  int[] entries)
+	{
+		for (String[] clause : clauses)
+		{
+			if (clause.length > 1 && !matchesPhrase(clause, terms, postings, entries))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean matchesPhrase(String[] phrase, List<String> terms, Postings[] postings, int[] entries)
+	{
+		int first = terms.indexOf(phrase[0]);
+		Postings firstPostings = postings[first];
+		int entry = entries[first];
+		for (int p = firstPostings.positionStarts[entry]; p < firstPostings.positionStarts[entry + 1]; p++)
+		{
+			int start = firstPostings.positions[p];
+			boolean found = true;
+			for (int offset = 1; offset < phrase.length && found; offset++)
+			{
+				int term = terms.indexOf(phrase[offset]);
+				found = postings[term].hasPosition(entries[term], start + offset);
+			}
+			if (found)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private record ScoredKey(long key,
+							 double score)
+	{
+	}
+
+	/**
+	 * Postings of one term: sorted document numbers, term frequencies and positions, stored in parallel int arrays.
+	 */
+	private static final class Postings
+	{
+		private int size;
+		private int[] docs = new int[4];
+		private int[] positionStarts = new int[5];
+		private int[] positions = new int[8];
+
+		void add(int doc, IntArray docPositions)
+		{
+			if (size == docs.length)
+			{
+				docs = Arrays.copyOf(docs, size * 2);
+				positionStarts = Arrays.copyOf(positionStarts, size * 2 + 1);
+			}
+			int start = positionStarts[size];
+			int end = start + docPositions.size;
+			if (end > positions.length)
+			{
+				positions = Arrays.copyOf(positions, Math.max(end, positions.length * 2));
+			}
+			System.arraycopy(docPositions.values, 0, positions, start, docPositions.size);
+
+			docs[size] = doc;
+			size++;
+			positionStarts[size] = end;
+		}
+
+		int find(int doc)
+		{
+			int entry = Arrays.binarySearch(docs, 0, size, doc);
+			return entry < 0 ? -1 : entry;
+		}
+
+		int frequency(int entry)
+		{
+			return positionStarts[entry + 1] - positionStarts[entry];
+		}
+
+		boolean hasPosition(int entry, int position)
+		{
+			return Arrays.binarySearch(positions, positionStarts[entry], positionStarts[entry + 1], position) >= 0;
+		}
+
+		void remap(int[] remap)
+		{
+			int kept = 0;
+			int positionCount = 0;
+			for (int entry = 0; entry < size; entry++)
+			{
+				int doc = remap[docs[entry]];
+				if (doc < 0)
+				{
+					continue;
+				}
+
+				int start = positionStarts[entry];
+				int count = positionStarts[entry + 1] - start;
+				System.arraycopy(positions, start, positions, positionCount, count);
+				docs[kept] = doc;
+				positionStarts[kept] = positionCount;
+				positionCount += count;
+				kept++;
+			}
+			positionStarts[kept] = positionCount;
+			size = kept;
+		}
+	}
+
+	private static final class IntArray
+	{
+		private int[] values = new int[4];
+		private int size;
+
+		void add(int value)
+		{
+			if (size == values.length)
+			{
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+}
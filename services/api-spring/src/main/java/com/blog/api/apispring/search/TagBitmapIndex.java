@@ -0,0 +1,251 @@
+package com.blog.api.apispring.search;
+
+import com.blog.api.apispring.dto.tag.TagExpression;
+import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Thread-safe in-memory index of the tags of a set of posts, keeping one compressed bitmap of post ids per tag.
+ * <p>
+ * Tag expressions are evaluated with bitmap intersections, unions and differences, a negation is the difference with
+ * the bitmap of every indexed post. Post ids are stored as ints, which bounds them to {@link Integer#MAX_VALUE}.
+ */
+public class TagBitmapIndex
+{
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, RoaringBitmap> postsByTag = new HashMap<>();
+	private final Map<Integer, long[]> tagsByPost = new HashMap<>();
+	private final RoaringBitmap posts = new RoaringBitmap();
+
+	/**
+	 * Adds a post, or replaces its tags if it is already indexed.
+	 */
+	public void put(long postId, Collection<Long> tagIds)
+	{
+		int post = Math.toIntExact(postId);
+		long[] tags = tagIds.stream()
+							.mapToLong(Long::longValue)
+							.distinct()
+							.toArray();
+
+		lock.writeLock()
+			.lock();
+		try
+		{
+			removePost(post);
+			posts.add(post);
+			tagsByPost.put(post, tags);
+			for (long tag : tags)
+			{
+				postsByTag.computeIfAbsent(tag, _ -> new RoaringBitmap())
+						  .add(post);
+			}
+		} finally
+		{
+			lock.writeLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * @return true if the post was indexed
+	 */
+	public boolean remove(long postId)
+	{
+		lock.writeLock()
+			.lock();
+		try
+		{
+			return removePost(Math.toIntExact(postId));
+		} finally
+		{
+			lock.writeLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * Drops a tag from every post.
+	 */
+	public void removeTag(long tagId)
+	{
+		lock.writeLock()
+			.lock();
+		try
+		{
+			RoaringBitmap tagPosts = postsByTag.remove(tagId);
+			if (tagPosts == null)
+			{
+				return;
+			}
+
+			tagPosts.forEach((int post) -> tagsByPost.computeIfPresent(post, (_, tags) -> Arrays.stream(tags)
+																								  .filter(tag -> tag != tagId)
+																								  .toArray()));
+		} finally
+		{
+			lock.writeLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * Removes every post.
+	 */
+	public void clear()
+	{
+		lock.writeLock()
+			.lock();
+		try
+		{
+			postsByTag.clear();
+			tagsByPost.clear();
+			posts.clear();
+		} finally
+		{
+			lock.writeLock()
+				.unlock();
+		}
+	}
+
+	public int size()
+	{
+		lock.readLock()
+			.lock();
+		try
+		{
+			return posts.getCardinality();
+		} finally
+		{
+			lock.readLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * Finds the posts matching a tag expression.
+	 *
+	 * @param expression the expression
+	 * @param tagIds     resolves a tag of the expression to its id, null when the tag does not exist
+	 * @return a new bitmap of the ids of the matching posts
+	 */
+	public RoaringBitmap evaluate(TagExpression expression, Function<TagIdOrSlug, Long> tagIds)
+	{
+		lock.readLock()
+			.lock();
+		try
+		{
+			return evaluateLocked(expression, tagIds);
+		} finally
+		{
+			lock.readLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * Counts the posts matching a tag expression, the count of a single tag is read without copying its bitmap.
+	 *
+	 * @see #evaluate(TagExpression, Function)
+	 */
+	public int count(TagExpression expression, Function<TagIdOrSlug, Long> tagIds)
+	{
+		lock.readLock()
+			.lock();
+		try
+		{
+			return expression instanceof TagExpression.Tag(TagIdOrSlug tag) ? postsOf(tag, tagIds).getCardinality() :
+					evaluateLocked(expression, tagIds).getCardinality();
+		} finally
+		{
+			lock.readLock()
+				.unlock();
+		}
+	}
+
+	/**
+	 * Called with the read lock held. The bitmaps of the index are never returned, only new ones.
+	 */
+	private RoaringBitmap evaluateLocked(TagExpression expression, Function<TagIdOrSlug, Long> tagIds)
+	{
+		return switch (expression)
+		{
+			case TagExpression.Tag(TagIdOrSlug tag) -> postsOf(tag, tagIds).clone();
+			case TagExpression.And(List<TagExpression> operands) ->
+			{
+				// Negated operands are subtracted from the intersection of the others, rather than intersected with
+				// their complement.
+				RoaringBitmap result = null;
+				List<TagExpression> subtracted = new ArrayList<>();
+				for (TagExpression operand : operands)
+				{
+					if (operand instanceof TagExpression.Not(TagExpression negated))
+					{
+						subtracted.add(negated);
+					} else
+					{
+						RoaringBitmap matching = evaluateLocked(operand, tagIds);
+						result = result == null ? matching : RoaringBitmap.and(result, matching);
+					}
+				}
+				if (result == null)
+				{
+					result = posts.clone();
+				}
+				for (TagExpression negated : subtracted)
+				{
+					if (result.isEmpty())
+					{
+						break;
+					}
+					result.andNot(evaluateLocked(negated, tagIds));
+				}
+				yield result;
+			}
+			case TagExpression.Or(List<TagExpression> operands) ->
+			{
+				RoaringBitmap result = new RoaringBitmap();
+				operands.forEach(operand -> result.or(evaluateLocked(operand, tagIds)));
+				yield result;
+			}
+			case TagExpression.Not(TagExpression operand) -> RoaringBitmap.andNot(posts, evaluateLocked(operand,
+					tagIds));
+		};
+	}
+
+	private RoaringBitmap postsOf(TagIdOrSlug tag, Function<TagIdOrSlug, Long> tagIds)
+	{
+		Long tagId = tagIds.apply(tag);
+		RoaringBitmap tagPosts = tagId == null ? null : postsByTag.get(tagId);
+		return tagPosts == null ? new RoaringBitmap() : tagPosts;
+	}
+
+	private boolean removePost(int post)
+	{
+		long[] tags = tagsByPost.remove(post);
+		if (tags == null)
+		{
+			return false;
+		}
+
+		posts.remove(post);
+		for (long tag : tags)
+		{
+			RoaringBitmap tagPosts = postsByTag.get(tag);
+			if (tagPosts != null)
+			{
+				tagPosts.remove(post);
+				if (tagPosts.isEmpty())
+				{
+					postsByTag.remove(tag);
+				}
+			}
+		}
+		return true;
+	}
+}
@@ -1,6 +1,6 @@
 package com.blog.api.apispring.security;
 
-import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.projection.PostHeader;
 import com.blog.api.apispring.security.userdetails.BlogUserDetails;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -8,9 +8,19 @@ import org.springframework.stereotype.Service;
 @Service("postSecurity")
 public class PostSecurityService
 {
-	public boolean isOwner(Authentication authentication, Post post)
+	public boolean isOwner(Authentication authentication, PostHeader post)
 	{
-		if (authentication == null || post == null)
+		if (post == null)
+		{
+			return false;
+		}
+
+		return isAuthor(authentication, post.getAuthorId());
+	}
+
+	private static boolean isAuthor(Authentication authentication, Long authorId)
+	{
+		if (authentication == null || authorId == null)
 		{
 			return false;
 		}
@@ -21,6 +31,6 @@ public class PostSecurityService
 			return false;
 		}
 
-		return post.getAuthor().getId().equals(userDetails.getId());
+		return authorId.equals(userDetails.getId());
 	}
 }
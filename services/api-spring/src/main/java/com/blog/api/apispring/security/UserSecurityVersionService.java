@@ -0,0 +1,62 @@
+package com.blog.api.apispring.security;
+
+import com.blog.api.apispring.event.RoleSecurityChangedEvent;
+import com.blog.api.apispring.event.UserSecurityChangedEvent;
+import com.blog.api.apispring.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cached security versions of the users, checked against the version carried by each access token.
+ * <p>
+ * An entry is dropped when the user is saved through {@link com.blog.api.apispring.service.UserService}, every entry
+ * is dropped when the permissions of a role are changed through {@link com.blog.api.apispring.service.RoleService},
+ * which increments the version of the users of the role. Entries expire after a short time so that changes made by
+ * another instance are seen too.
+ */
+@Service
+public class UserSecurityVersionService
+{
+	private final UserRepository userRepository;
+	private final Cache<Long, Long> securityVersions;
+
+	public UserSecurityVersionService(UserRepository userRepository,
+									  @Value("${blog-api.security.user-version-cache.ttl:30s}") Duration ttl,
+									  @Value("${blog-api.security.user-version-cache.max-size:10000}") long maxSize)
+	{
+		this.userRepository = userRepository;
+		this.securityVersions = Caffeine.newBuilder()
+										.expireAfterWrite(ttl)
+										.maximumSize(maxSize)
+										.build();
+	}
+
+	/**
+	 * @return the security version of the user, empty if the user does not exist
+	 */
+	public Optional<Long> getSecurityVersion(long userId)
+	{
+		// Unknown users are not cached, the loader returns null.
+		return Optional.ofNullable(securityVersions.get(userId, id -> userRepository.findSecurityVersionById(id)
+																				.orElse(null)));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserSecurityChanged(UserSecurityChangedEvent event)
+	{
+		securityVersions.invalidate(event.userId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onRoleSecurityChanged(RoleSecurityChangedEvent event)
+	{
+		// The users of the role are not known here, they are usually a large share of the cached ones.
+		securityVersions.invalidateAll();
+	}
+}
@@ -1,8 +1,13 @@
 package com.blog.api.apispring.security.provider;
 
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.blog.api.apispring.exception.UserNotFoundException;
+import com.blog.api.apispring.security.UserSecurityVersionService;
 import com.blog.api.apispring.security.authentication.JwtAuthenticationToken;
+import com.blog.api.apispring.security.userdetails.JwtUserDetails;
 import com.blog.api.apispring.security.userdetails.service.BlogUserDetailsService;
+import com.blog.api.apispring.service.JwtService;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
@@ -14,22 +19,34 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.FactorGrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.Assert;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * Authenticates the users of the JWTs.
+ * <p>
+ * Access tokens carrying the authorities and the security version of the user are trusted without loading the user,
+ * as long as the version is still the current one. Other tokens, refresh tokens included, load the user.
+ */
 @Slf4j
 public class JwtAuthenticationProvider implements AuthenticationProvider
 {
 	private final BlogUserDetailsService userDetailsService;
+	private final UserSecurityVersionService userSecurityVersionService;
 
 	private static final String AUTHORITY = FactorGrantedAuthority.BEARER_AUTHORITY;
 
-	public JwtAuthenticationProvider(BlogUserDetailsService userDetailsService)
+	public JwtAuthenticationProvider(BlogUserDetailsService userDetailsService,
+									 UserSecurityVersionService userSecurityVersionService)
 	{
 		this.userDetailsService = userDetailsService;
+		this.userSecurityVersionService = userSecurityVersionService;
 	}
 
 	@Override
@@ -41,6 +58,12 @@ public class JwtAuthenticationProvider implements AuthenticationProvider
 		{
 			JwtAuthenticationToken jwtAuthenticationToken = (JwtAuthenticationToken) authentication;
 			Long userId = (Long) jwtAuthenticationToken.getCredentials();
+			UserDetails tokenUser = fromClaims(userId, (DecodedJWT) jwtAuthenticationToken.getPrincipal());
+			if (tokenUser != null)
+			{
+				return createSuccessAuthentication(tokenUser, authentication, tokenUser);
+			}
+
 			UserDetails user = userDetailsService.loadUserById(userId);
 			if (user == null)
 			{
@@ -55,6 +78,44 @@ public class JwtAuthenticationProvider implements AuthenticationProvider
 		}
 	}
 
+	/**
+	 * Reads the user from the claims of the token.
+	 *
+	 * @return the user, null when the token has no authorities or its security version is outdated
+	 */
+	private @Nullable UserDetails fromClaims(Long userId, DecodedJWT decodedJWT)
+	{
+		Claim authoritiesClaim = decodedJWT.getClaim(JwtService.AUTHORITIES_CLAIM);
+		Claim versionClaim = decodedJWT.getClaim(JwtService.SECURITY_VERSION_CLAIM);
+		if (isAbsent(authoritiesClaim) || isAbsent(versionClaim))
+		{
+			return null;
+		}
+
+		long tokenVersion = versionClaim.asLong();
+		Optional<Long> currentVersion = userSecurityVersionService.getSecurityVersion(userId);
+		if (currentVersion.isEmpty() || currentVersion.get() != tokenVersion)
+		{
+			log.debug("Outdated security version in access token of user {}", userId);
+			return null;
+		}
+
+		List<GrantedAuthority> authorities = authoritiesClaim.asList(String.class)
+															 .stream()
+															 .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+															 .toList();
+		String email = decodedJWT.getClaim("email")
+								 .asString();
+		String username = decodedJWT.getClaim("name")
+									.asString();
+		return new JwtUserDetails(userId, email, username, authorities, tokenVersion);
+	}
+
+	private static boolean isAbsent(@Nullable Claim claim)
+	{
+		return claim == null || claim.isMissing() || claim.isNull();
+	}
+
 	@Override
 	public boolean supports(@NonNull Class<?> authentication)
 	{
@@ -7,4 +7,12 @@ public interface BlogUserDetails extends UserDetails
 	Long getId();
 
 	String getEmail();
+
+	/**
+	 * @return the version of the roles of the user, written in the access tokens
+	 */
+	default long getSecurityVersion()
+	{
+		return 0;
+	}
 }
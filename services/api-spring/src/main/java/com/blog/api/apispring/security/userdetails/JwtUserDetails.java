@@ -0,0 +1,71 @@
+package com.blog.api.apispring.security.userdetails;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * User details read from the claims of an access token, without loading the user.
+ */
+public class JwtUserDetails implements BlogUserDetails
+{
+	private final Long id;
+	private final String email;
+	private final String username;
+	private final Set<GrantedAuthority> authorities;
+	private final long securityVersion;
+
+	public JwtUserDetails(Long id, String email, String username, Collection<? extends GrantedAuthority> authorities,
+						  long securityVersion)
+	{
+		this.id = id;
+		this.email = email;
+		this.username = username;
+		this.authorities = Set.copyOf(authorities);
+		this.securityVersion = securityVersion;
+	}
+
+	@Override
+	public Long getId()
+	{
+		return id;
+	}
+
+	@Override
+	public String getEmail()
+	{
+		return email;
+	}
+
+	@Override
+	public long getSecurityVersion()
+	{
+		return securityVersion;
+	}
+
+	@Override
+	@NullMarked
+	public String getUsername()
+	{
+		return username;
+	}
+
+	/**
+	 * Tokens never carry the password.
+	 */
+	@Override
+	public @Nullable String getPassword()
+	{
+		return null;
+	}
+
+	@Override
+	@NullMarked
+	public Collection<? extends GrantedAuthority> getAuthorities()
+	{
+		return authorities;
+	}
+}
@@ -36,6 +36,12 @@ public class SecurityUser implements BlogUserDetails
 		return user.getEmail();
 	}
 
+	@Override
+	public long getSecurityVersion()
+	{
+		return user.getSecurityVersion();
+	}
+
 	@Override
 	@NullMarked
 	public String getUsername()
@@ -14,6 +14,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -30,8 +31,12 @@ public class JpaUserDetailsService implements BlogUserDetailsService
 		this.userService = userService;
 	}
 
+	/**
+	 * Reads the roles and permissions of the user within the transaction, they are lazy.
+	 */
 	@Override
 	@NullMarked
+	@Transactional(readOnly = true)
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException
 	{
 		Optional<User> optionalUser = userService.findByEmail(email);
@@ -46,6 +51,7 @@ public class JpaUserDetailsService implements BlogUserDetailsService
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public UserDetails loadUserById(@NotNull Long id) throws UserNotFoundException
 	{
 		Optional<User> optionalUser = userService.findById(id);
@@ -1,28 +1,47 @@
 package com.blog.api.apispring.service;
 
+import com.blog.api.apispring.dto.comment.CommentCursor;
+import com.blog.api.apispring.dto.metadata.CursorPage;
+import com.blog.api.apispring.event.CommentChangedEvent;
 import com.blog.api.apispring.model.Comment;
 import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.projection.CollectionVersion;
 import com.blog.api.apispring.projection.CommentInfo;
+import com.blog.api.apispring.projection.EntityVersion;
 import com.blog.api.apispring.repository.CommentRepository;
+import com.blog.api.apispring.repository.PostRepository;
 import org.jspecify.annotations.NonNull;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.HtmlUtils;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 @Service
 public class CommentService
 {
 	private final CommentRepository commentRepository;
+	private final PostRepository postRepository;
 	private final TextService textService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
 
-	public CommentService(CommentRepository commentRepository, TextService textService)
+	public CommentService(CommentRepository commentRepository, PostRepository postRepository,
+						  TextService textService, ApplicationEventPublisher eventPublisher)
 	{
 		this.commentRepository = commentRepository;
+		this.postRepository = postRepository;
 		this.textService = textService;
+		this.eventPublisher = eventPublisher;
 	}
 
 	public Optional<Comment> getComment(long id)
@@ -35,12 +54,34 @@ public class CommentService
 		return commentRepository.findCommentInfoById(id);
 	}
 
+	public Optional<EntityVersion> getCommentVersion(long id)
+	{
+		return commentRepository.findVersionById(id);
+	}
+
+	public CollectionVersion getAllCommentsVersionByPostId(long postId)
+	{
+		return commentRepository.findAllVersionByPostId(postId);
+	}
+
+	@Transactional
 	public void deleteCommentById(long id)
 	{
-		commentRepository.deleteById(id);
+		Optional<Long> postId = commentRepository.findPostIdById(id);
+		// Decrement first, the post is found through the comment.
+		postRepository.decrementCommentsCountByCommentId(id);
+		commentRepository.deleteCommentById(id);
+		postId.ifPresent(
+				commentPostId -> eventPublisher.publishEvent(new CommentChangedEvent(id, commentPostId,
+						CommentChangedEvent.Type.DELETED)));
 	}
 
-	public Comment updateComment(Comment comment, String username, String body)
+	/**
+	 * Updates the comment.
+	 *
+	 * @return the updated comment, built from the saved entity without reading it again
+	 */
+	public CommentInfo updateComment(Comment comment, String username, String body)
 	{
 		if (username != null)
 		{
@@ -52,15 +93,44 @@ public class CommentService
 			comment.setBody(textService.sanitizeText(body));
 		}
 
-		return commentRepository.save(comment);
+		Comment savedComment = commentRepository.save(comment);
+		eventPublisher.publishEvent(new CommentChangedEvent(comment.getId(), comment.getPost()
+																					.getId(),
+				CommentChangedEvent.Type.UPDATED));
+		return toCommentInfo(savedComment);
 	}
 
-	public Set<CommentInfo> getAllCommentInfoByPostId(long postId)
+	/**
+	 * Reads one page of the comments of the post, oldest first, with keyset pagination. One extra row is fetched to
+	 * know if there is a page after this one.
+	 *
+	 * @param cursor the cursor returned with the previous page, null for the first page
+	 */
+	public CursorPage<CommentInfo> getCommentInfoPageByPostId(long postId, CommentCursor cursor, int limit)
 	{
-		return commentRepository.findAllInfoByPostId(postId);
+		Limit rowsLimit = Limit.of(limit + 1);
+		List<CommentInfo> rows = new ArrayList<>(cursor == null
+				? commentRepository.findFirstInfoByPostId(postId, rowsLimit)
+				: commentRepository.findInfoByPostIdAfter(postId, cursor.createdAt(), cursor.id(), rowsLimit));
+
+		String next = null;
+		if (rows.size() > limit)
+		{
+			rows.removeLast();
+			CommentInfo last = rows.getLast();
+			next = new CommentCursor(last.getCreatedAt(), last.getId()).encode();
+		}
+		return new CursorPage<>(rows, next, null);
 	}
 
-	public Comment addCommentToPost(Post post, String username, String body)
+	/**
+	 * Adds a comment to the post.
+	 *
+	 * @param post the post, a reference is enough
+	 * @return the new comment, built from the inserted entity and its generated id without reading it again
+	 */
+	@Transactional
+	public CommentInfo addCommentToPost(Post post, String username, String body)
 	{
 		Comment comment = new Comment();
 		comment.setCreatedAt(OffsetDateTime.now());
@@ -68,6 +138,24 @@ public class CommentService
 		comment.setBody(textService.sanitizeText(body));
 		comment.setPost(post);
 
-		return commentRepository.save(comment);
+		comment = commentRepository.save(comment);
+		postRepository.incrementCommentsCount(post.getId());
+		eventPublisher.publishEvent(new CommentChangedEvent(comment.getId(), post.getId(),
+				CommentChangedEvent.Type.CREATED));
+
+		return toCommentInfo(comment);
+	}
+
+	private CommentInfo toCommentInfo(Comment comment)
+	{
+		Map<String, Object> commentInfo = new HashMap<>();
+		commentInfo.put("id", comment.getId());
+		commentInfo.put("username", comment.getUsername());
+		commentInfo.put("body", comment.getBody());
+		commentInfo.put("createdAt", comment.getCreatedAt());
+		// The id of a lazy post is read from its proxy, the post is not loaded.
+		commentInfo.put("postId", comment.getPost()
+										 .getId());
+		return projectionFactory.createProjection(CommentInfo.class, commentInfo);
 	}
 }
@@ -0,0 +1,378 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.event.CommentChangedEvent;
+import com.blog.api.apispring.projection.CommentInfo;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional write-behind buffer of the new comments, enabled with {@code blog-api.comments.write-behind.enabled}.
+ * <p>
+ * Comments are queued and a single flusher thread inserts them in JDBC batches, one transaction per batch, as soon as
+ * a batch is full or after the maximum delay. Every caller waits until the batch holding its comment is committed,
+ * so a comment is never acknowledged before it is durable. A full buffer, or a comment still queued after
+ * {@code blog-api.comments.write-behind.timeout}, is reported to the caller, which then inserts its comment directly.
+ * <p>
+ * Flush time, batch sizes and queue size are published as {@code comments.write-behind.*} metrics.
+ */
+@Service
+@Slf4j
+public class CommentWriteBuffer
+{
+	private static final String INSERT_COMMENT = """
+			insert into comments (username, body, created_at, post_id, version, updated_at)
+			values (?, ?, ?, ?, 0, ?)
+			""";
+	private static final String INCREMENT_COMMENTS_COUNT = """
+			update posts
+			set comments_count = comments_count + ?, updated_at = current_timestamp
+			where id = ?
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final TextService textService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+	private final boolean enabled;
+	private final int batchSize;
+	private final int capacity;
+	private final long maxDelayNanos;
+	private final Duration timeout;
+
+	// Lock-free queue, bounded by the reservations made on size.
+	private final Queue<PendingComment> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final Thread flusher;
+	private volatile boolean running;
+
+	private final Timer flushTimer;
+	private final DistributionSummary batchSizeSummary;
+
+	public CommentWriteBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+							  TextService textService, ApplicationEventPublisher eventPublisher,
+							  MeterRegistry meterRegistry,
+							  @Value("${blog-api.comments.write-behind.enabled:false}") boolean enabled,
+							  @Value("${blog-api.comments.write-behind.batch-size:64}") int batchSize,
+							  @Value("${blog-api.comments.write-behind.max-delay:5ms}") Duration maxDelay,
+							  @Value("${blog-api.comments.write-behind.capacity:10000}") int capacity,
+							  @Value("${blog-api.comments.write-behind.timeout:5s}") Duration timeout)
+	{
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.textService = textService;
+		this.eventPublisher = eventPublisher;
+		this.enabled = enabled;
+		this.batchSize = batchSize;
+		this.capacity = capacity;
+		this.maxDelayNanos = maxDelay.toNanos();
+		this.timeout = timeout;
+
+		this.flushTimer = Timer.builder("comments.write-behind.flush")
+							   .description("Time spent inserting and committing a batch of comments")
+							   .register(meterRegistry);
+		this.batchSizeSummary = DistributionSummary.builder("comments.write-behind.batch.size")
+												   .description("Number of comments inserted by a batch")
+												   .register(meterRegistry);
+		Gauge.builder("comments.write-behind.queue.size", size, AtomicInteger::get)
+			 .description("Comments waiting to be inserted")
+			 .register(meterRegistry);
+
+		this.flusher = Thread.ofPlatform()
+							 .name("comment-write-behind")
+							 .daemon()
+							 .unstarted(this::run);
+		if (enabled)
+		{
+			running = true;
+			flusher.start();
+		}
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Queues a new comment and waits until it is committed.
+	 *
+	 * @return the new comment, empty when the buffer is disabled, full or stopped, or the comment was still queued
+	 * after the timeout, and the comment was not inserted
+	 * @throws RuntimeException the error of the insert, for instance when the post does not exist
+	 * @throws QueryTimeoutException when the batch of the comment is still being written after twice the timeout
+	 */
+	public Optional<CommentInfo> addComment(long postId, String username, String body)
+	{
+		if (!running)
+		{
+			return Optional.empty();
+		}
+
+		int queued = size.incrementAndGet();
+		if (queued > capacity)
+		{
+			size.decrementAndGet();
+			log.debug("Comment write-behind buffer is full");
+			return Optional.empty();
+		}
+
+		PendingComment pending = new PendingComment(postId, textService.sanitizeText(username),
+				textService.sanitizeText(body), OffsetDateTime.now(), new CompletableFuture<>());
+		queue.offer(pending);
+		// The buffer stopped while the comment was queued, after the flusher and stop() drained the queue. Whoever
+		// removes the comment first owns it, the caller then inserts it directly.
+		if (!running && queue.remove(pending))
+		{
+			size.decrementAndGet();
+			return Optional.empty();
+		}
+		if (queued >= batchSize)
+		{
+			LockSupport.unpark(flusher);
+		}
+
+		CommentInfo comment = await(pending);
+		if (comment != null)
+		{
+			return Optional.of(comment);
+		}
+		// Whoever removes the comment owns it. Still queued, the caller inserts it directly, otherwise its batch is
+		// being written and is waited for once more.
+		if (queue.remove(pending))
+		{
+			size.decrementAndGet();
+			log.warn("Comment still queued after {}, inserting it directly", timeout);
+			return Optional.empty();
+		}
+		comment = await(pending);
+		if (comment != null)
+		{
+			return Optional.of(comment);
+		}
+		throw new QueryTimeoutException("Comment batch still being written after " + timeout.multipliedBy(2));
+	}
+
+	/**
+	 * Waits for the comment to be committed, at most for the timeout.
+	 *
+	 * @return the committed comment, null on timeout
+	 */
+	private CommentInfo await(PendingComment pending)
+	{
+		try
+		{
+			return pending.result()
+						  .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e)
+		{
+			return null;
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread()
+				  .interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the comment batch", e);
+		} catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException cause)
+			{
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException
+	{
+		if (!running)
+		{
+			return;
+		}
+
+		// The flusher drains the queue before it exits.
+		running = false;
+		LockSupport.unpark(flusher);
+		flusher.join();
+
+		// Comments queued while the flusher was exiting.
+		PendingComment pending;
+		while ((pending = queue.poll()) != null)
+		{
+			size.decrementAndGet();
+			pending.result()
+				   .completeExceptionally(new IllegalStateException("Comment write-behind buffer is stopped"));
+		}
+	}
+
+	private void run()
+	{
+		List<PendingComment> batch = new ArrayList<>(batchSize);
+		while (running || size.get() > 0)
+		{
+			// Waits for more comments to share the commit, unless a batch is already full.
+			if (running && size.get() < batchSize)
+			{
+				LockSupport.parkNanos(this, maxDelayNanos);
+			}
+
+			PendingComment pending;
+			while (batch.size() < batchSize && (pending = queue.poll()) != null)
+			{
+				size.decrementAndGet();
+				batch.add(pending);
+			}
+
+			if (!batch.isEmpty())
+			{
+				try
+				{
+					flush(batch);
+				} catch (RuntimeException e)
+				{
+					// The flusher must survive, or every later comment would wait for nothing.
+					log.error("Comment batch failed unexpectedly", e);
+					batch.forEach(failed -> failed.result()
+												  .completeExceptionally(e));
+				}
+				batch.clear();
+			}
+		}
+	}
+
+	private void flush(List<PendingComment> batch)
+	{
+		List<CommentInfo> comments;
+		try
+		{
+			comments = flushTimer.record(() -> transactionTemplate.execute(status -> insert(batch)));
+			batchSizeSummary.record(batch.size());
+		} catch (RuntimeException e)
+		{
+			if (batch.size() == 1)
+			{
+				batch.getFirst()
+					 .result()
+					 .completeExceptionally(e);
+				return;
+			}
+
+			// One comment may fail the whole batch, each one is retried alone so only that comment fails.
+			log.debug("Comment batch failed, inserting its {} comments one by one", batch.size(), e);
+			for (PendingComment pending : batch)
+			{
+				flush(List.of(pending));
+			}
+			return;
+		}
+
+		// The callers are released first, a failing listener must not keep them waiting.
+		for (int i = 0; i < batch.size(); i++)
+		{
+			batch.get(i)
+				 .result()
+				 .complete(comments.get(i));
+		}
+		// No transaction here, the listeners run now on the flusher thread.
+		for (CommentInfo comment : comments)
+		{
+			try
+			{
+				eventPublisher.publishEvent(new CommentChangedEvent(comment.getId(), comment.getPostId(),
+						CommentChangedEvent.Type.CREATED));
+			} catch (RuntimeException e)
+			{
+				log.error("Listener of new comment {} failed", comment.getId(), e);
+			}
+		}
+	}
+
+	private List<CommentInfo> insert(List<PendingComment> batch)
+	{
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_COMMENT, new String[]{"id"}),
+				new BatchPreparedStatementSetter()
+				{
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException
+					{
+						PendingComment pending = batch.get(i);
+						ps.setString(1, pending.username());
+						ps.setString(2, pending.body());
+						ps.setObject(3, pending.createdAt());
+						ps.setLong(4, pending.postId());
+						ps.setObject(5, pending.createdAt());
+					}
+
+					@Override
+					public int getBatchSize()
+					{
+						return batch.size();
+					}
+				}, keyHolder);
+
+		// One update per post, however many comments it received.
+		Map<Long, Integer> countsByPostId = new HashMap<>();
+		for (PendingComment pending : batch)
+		{
+			countsByPostId.merge(pending.postId(), 1, Integer::sum);
+		}
+		List<Object[]> increments = new ArrayList<>(countsByPostId.size());
+		countsByPostId.forEach((postId, count) -> increments.add(new Object[]{count, postId}));
+		jdbcTemplate.batchUpdate(INCREMENT_COMMENTS_COUNT, increments);
+
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		List<CommentInfo> comments = new ArrayList<>(batch.size());
+		for (int i = 0; i < batch.size(); i++)
+		{
+			PendingComment pending = batch.get(i);
+			Map<String, Object> commentInfo = new HashMap<>();
+			commentInfo.put("id", ((Number) keys.get(i)
+												.get("id")).longValue());
+			commentInfo.put("username", pending.username());
+			commentInfo.put("body", pending.body());
+			commentInfo.put("createdAt", pending.createdAt());
+			commentInfo.put("postId", pending.postId());
+			comments.add(projectionFactory.createProjection(CommentInfo.class, commentInfo));
+		}
+		return comments;
+	}
+
+	private record PendingComment(long postId,
+								  String username,
+								  String body,
+								  OffsetDateTime createdAt,
+								  CompletableFuture<CommentInfo> result)
+	{
+	}
+}
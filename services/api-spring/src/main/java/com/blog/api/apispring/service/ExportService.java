@@ -0,0 +1,127 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.dto.export.ExportLine;
+import com.blog.api.apispring.dto.posts.PostDto;
+import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.projection.CommentInfo;
+import com.blog.api.apispring.projection.PostExportRow;
+import com.blog.api.apispring.projection.PostTagRow;
+import com.blog.api.apispring.repository.CommentRepository;
+import com.blog.api.apispring.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Writes every post, with its author and tags, followed by its comments as NDJSON.
+ * <p>
+ * Posts, tags and comments are read through three forward-only cursors ordered by post id and merged as they are
+ * read, so that only one post and one fetch of each cursor are held in memory whatever the size of the blog. The
+ * cursors share a repeatable read transaction, they see the same snapshot.
+ */
+@Service
+@Slf4j
+public class ExportService
+{
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final PostRepository postRepository;
+	private final CommentRepository commentRepository;
+	private final ObjectWriter writer;
+
+	public ExportService(PostRepository postRepository, CommentRepository commentRepository, ObjectMapper mapper)
+	{
+		this.postRepository = postRepository;
+		this.commentRepository = commentRepository;
+		this.writer = mapper.writerFor(ExportLine.class);
+	}
+
+	@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+	public void exportTo(OutputStream outputStream) throws IOException
+	{
+		long posts = 0;
+		long comments = 0;
+		try (Stream<PostExportRow> postRows = postRepository.streamAllExportRows();
+			 Stream<PostTagRow> tagRows = postRepository.streamAllTagRows();
+			 Stream<CommentInfo> commentRows = commentRepository.streamAllInfo())
+		{
+			OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+			Cursor<PostTagRow> tagCursor = new Cursor<>(tagRows.iterator());
+			Cursor<CommentInfo> commentCursor = new Cursor<>(commentRows.iterator());
+			Iterator<PostExportRow> postIterator = postRows.iterator();
+			while (postIterator.hasNext())
+			{
+				PostExportRow post = postIterator.next();
+				long postId = post.getId();
+
+				List<PostDto.TagDto> tags = new ArrayList<>();
+				while (tagCursor.hasRowOf(postId, PostTagRow::getPostId))
+				{
+					Tag tag = tagCursor.next()
+									   .getTag();
+					tags.add(new PostDto.TagDto(tag.getId(), tag.getName(), tag.getSlug()));
+				}
+				PostDto.AuthorDto author = post.getAuthorId() == null ? null :
+						new PostDto.AuthorDto(post.getAuthorId(), post.getAuthorName());
+				write(out, new ExportLine.PostLine(postId, post.getTitle(), post.getDescription(), post.getBody(),
+						post.getReadingTime(), post.getPublishedAt(), author, tags));
+				posts++;
+
+				while (commentCursor.hasRowOf(postId, CommentInfo::getPostId))
+				{
+					CommentInfo comment = commentCursor.next();
+					write(out, new ExportLine.CommentLine(comment.getId(), postId, comment.getUsername(),
+							comment.getBody(), comment.getCreatedAt()));
+					comments++;
+				}
+			}
+			out.flush();
+		}
+		log.info("Exported {} posts and {} comments", posts, comments);
+	}
+
+	private void write(OutputStream out, ExportLine line) throws IOException
+	{
+		out.write(writer.writeValueAsBytes(line));
+		out.write('\n');
+	}
+
+	/**
+	 * Iterator over rows ordered by post id, peeking at the next row to stop at the end of a post.
+	 */
+	private static final class Cursor<T>
+	{
+		private final Iterator<T> iterator;
+		private T next;
+
+		private Cursor(Iterator<T> iterator)
+		{
+			this.iterator = iterator;
+			this.next = iterator.hasNext() ? iterator.next() : null;
+		}
+
+		private boolean hasRowOf(long postId, ToLongFunction<T> postIdOf)
+		{
+			return next != null && postIdOf.applyAsLong(next) == postId;
+		}
+
+		private T next()
+		{
+			T row = next;
+			next = iterator.hasNext() ? iterator.next() : null;
+			return row;
+		}
+	}
+}
@@ -1,32 +1,98 @@
 package com.blog.api.apispring.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.auth0.jwt.interfaces.JWTVerifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
+/**
+ * Signs and verifies the JWTs of the API.
+ * <p>
+ * Algorithms and verifiers are built once per secret. Verified access tokens are kept until they expire, keyed by the
+ * SHA-256 digest of the token, so a client sending the same bearer token again skips the decoding and the HMAC
+ * verification.
+ */
 @Service
 public class JwtService
 {
+	/**
+	 * Authorities of the user, only written in access tokens.
+	 */
+	public static final String AUTHORITIES_CLAIM = "authorities";
+	/**
+	 * Security version of the user when the access token was signed.
+	 */
+	public static final String SECURITY_VERSION_CLAIM = "security_version";
+
+	private static final String ISSUER = "blog-api";
 
 	@Value("${blog-api.security.jwt.access-secret}")
 	private String jwtAccessSecret;
 	@Value("${blog-api.security.jwt.refresh-secret}")
 	private String jwtRefreshSecret;
 
+	private final Map<String, Algorithm> algorithms = new ConcurrentHashMap<>();
+	private final Map<String, JWTVerifier> verifiers = new ConcurrentHashMap<>();
+	private final Cache<String, DecodedJWT> verifiedAccessTokens;
+
+	public JwtService()
+	{
+		this(10_000);
+	}
+
+	@Autowired
+	public JwtService(@Value("${blog-api.security.jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize)
+	{
+		Expiry<String, DecodedJWT> untilTokenExpiry = Expiry.creating((digest, jwt) -> timeToExpiry(jwt));
+		this.verifiedAccessTokens = Caffeine.newBuilder()
+											.maximumSize(verifiedTokenCacheSize)
+											.expireAfter(untilTokenExpiry)
+											.build();
+	}
+
 	public DecodedJWT validateAccessToken(String token) throws JWTVerificationException
 	{
-		return validateToken(jwtAccessSecret, token);
+		if (token == null)
+		{
+			return validateToken(jwtAccessSecret, null);
+		}
+
+		String digest = digest(token);
+		DecodedJWT decodedJWT = verifiedAccessTokens.getIfPresent(digest);
+		// The entry may outlive the token by the resolution of the expiry.
+		if (decodedJWT != null && timeToExpiry(decodedJWT).isPositive())
+		{
+			return decodedJWT;
+		}
+
+		decodedJWT = validateToken(jwtAccessSecret, token);
+		verifiedAccessTokens.put(digest, decodedJWT);
+		return decodedJWT;
 	}
 
 	public DecodedJWT validateRefreshToken(String token) throws JWTVerificationException
@@ -36,12 +102,41 @@ public class JwtService
 
 	private DecodedJWT validateToken(String jwtSecret, String token) throws JWTVerificationException
 	{
-		JWTVerifier verifier = JWT.require(Algorithm.HMAC256(jwtSecret))
-								  .withIssuer("blog-api")
-								  .build();
+		JWTVerifier verifier = verifiers.computeIfAbsent(jwtSecret, secret -> JWT.require(algorithm(secret))
+																				 .withIssuer(ISSUER)
+																				 .build());
 		return verifier.verify(token);
 	}
 
+	private Algorithm algorithm(String jwtSecret)
+	{
+		return algorithms.computeIfAbsent(jwtSecret, Algorithm::HMAC256);
+	}
+
+	private static Duration timeToExpiry(DecodedJWT jwt)
+	{
+		Instant expiresAt = jwt.getExpiresAtAsInstant();
+		// Tokens without expiry are not signed by this service, they are verified again after a minute.
+		if (expiresAt == null)
+		{
+			return Duration.ofMinutes(1);
+		}
+		return Duration.between(Instant.now(), expiresAt);
+	}
+
+	private static String digest(String token)
+	{
+		try
+		{
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of()
+							.formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
 	public String generateAccessToken(Long userId, String username, String email)
 	{
 		return generateJwtToken(jwtAccessSecret,
@@ -57,6 +152,23 @@ public class JwtService
 		return generateJwtToken(jwtAccessSecret, username, email, userId, expiresAt);
 	}
 
+	/**
+	 * Generates an access token carrying the authorities of the user, which authenticates requests without loading the
+	 * user as long as its security version is unchanged.
+	 */
+	public String generateAccessToken(Long userId, String username, String email, Collection<String> authorities,
+									  long securityVersion)
+	{
+		return generateJwtToken(jwtAccessSecret,
+				username,
+				email,
+				userId,
+				Instant.now()
+					   .plus(1, ChronoUnit.DAYS),
+				builder -> builder.withClaim(AUTHORITIES_CLAIM, List.copyOf(authorities))
+								  .withClaim(SECURITY_VERSION_CLAIM, securityVersion));
+	}
+
 	public String generateRefreshToken(Long userId, String username, String email)
 	{
 		return generateJwtToken(jwtRefreshSecret,
@@ -73,18 +185,25 @@ public class JwtService
 	}
 
 	private String generateJwtToken(String jwtSecret, String username, String email, Long userId, Instant expiresAt)
+	{
+		return generateJwtToken(jwtSecret, username, email, userId, expiresAt, builder -> builder);
+	}
+
+	private String generateJwtToken(String jwtSecret, String username, String email, Long userId, Instant expiresAt,
+									UnaryOperator<JWTCreator.Builder> claims)
 	{
 		try
 		{
 			Instant now = Instant.now();
-			return JWT.create()
-					  .withIssuer("blog-api")
-					  .withSubject(String.valueOf(userId))
-					  .withClaim("name", username)
-					  .withClaim("email", email)
-					  .withIssuedAt(now)
-					  .withExpiresAt(expiresAt)
-					  .sign(Algorithm.HMAC256(jwtSecret));
+			JWTCreator.Builder builder = JWT.create()
+											.withIssuer(ISSUER)
+											.withSubject(String.valueOf(userId))
+											.withClaim("name", username)
+											.withClaim("email", email)
+											.withIssuedAt(now)
+											.withExpiresAt(expiresAt);
+			return claims.apply(builder)
+						 .sign(algorithm(jwtSecret));
 		} catch (JWTCreationException exception)
 		{
 			throw new RuntimeException(exception);
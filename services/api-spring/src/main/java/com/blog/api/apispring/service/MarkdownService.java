@@ -1,29 +1,50 @@
 package com.blog.api.apispring.service;
 
-import org.commonmark.node.Node;
-import org.commonmark.parser.Parser;
-import org.commonmark.renderer.text.TextContentRenderer;
+import com.blog.api.apispring.markdown.MarkdownAnalysis;
+import com.blog.api.apispring.markdown.MarkdownEngine;
 import org.springframework.stereotype.Service;
 
 @Service
 public class MarkdownService
 {
 	private final TextService textService;
+	private final MarkdownEngine markdownEngine;
 
-	public MarkdownService(TextService textService)
+	public MarkdownService(TextService textService, MarkdownEngine markdownEngine)
 	{
 		this.textService = textService;
+		this.markdownEngine = markdownEngine;
 	}
 
 	public String parseMarkdownToPlainText(String markdownText)
 	{
-		Parser parser = Parser.builder()
-							  .build();
-		Node parsedBodyMarkdown = parser.parse(markdownText);
-		TextContentRenderer textRenderer = TextContentRenderer.builder()
-															  .build();
+		return markdownEngine.toPlainText(markdownText);
+	}
+
+	/**
+	 * Derives the plain text, excerpt, word count and outline of markdown in a single walk of its syntax tree.
+	 *
+	 * @param excerptWordCount the maximum number of words of the excerpt
+	 */
+	public MarkdownAnalysis analyzeMarkdown(String markdownText, int excerptWordCount)
+	{
+		return markdownEngine.analyze(markdownText, excerptWordCount);
+	}
 
-		String plainTextBody = textRenderer.render(parsedBodyMarkdown);
-		return plainTextBody;
+	/**
+	 * Renders markdown to HTML. Raw HTML of the markdown is escaped and unsafe link destinations are removed, the
+	 * result is still meant to be cleaned by {@link TextService#sanitizeHtml(String)}.
+	 */
+	public String parseMarkdownToHtml(String markdownText)
+	{
+		return markdownEngine.toHtml(markdownText);
+	}
+
+	/**
+	 * @see MarkdownEngine#getHtmlFingerprint()
+	 */
+	public String getHtmlFingerprint()
+	{
+		return markdownEngine.getHtmlFingerprint();
 	}
 }
@@ -0,0 +1,206 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.dto.posts.GetPostsRequest;
+import com.blog.api.apispring.enums.PostCountMode;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.event.TagChangedEvent;
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.repository.PostRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the total count of post listings.
+ * <p>
+ * Counting a filtered listing is often as expensive as reading the page itself, so the count can be served from a
+ * per filter cache or estimated from the Postgres planner statistics instead of being run on every request. Listings
+ * of published posts only filtered by a tag expression are counted in the in-memory tag index when it is enabled.
+ */
+@Service
+@Slf4j
+public class PostCountService
+{
+	private static final String ESTIMATE_QUERY = """
+			select c.reltuples, s.null_frac
+			from pg_class c
+			left join pg_stats s on s.schemaname = current_schema() and s.tablename = 'posts' and s.attname = 'published_at'
+			where c.oid = to_regclass('posts')
+			""";
+
+	private final PostRepository postRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final PostTagIndexService postTagIndexService;
+	private final PostCountMode defaultMode;
+	private final Cache<String, Long> countCache;
+	private volatile Boolean postgres;
+
+	public PostCountService(PostRepository postRepository, JdbcTemplate jdbcTemplate,
+							ObjectProvider<PostTagIndexService> postTagIndexService,
+							@Value("${blog-api.posts.count.mode:exact}") String defaultMode,
+							@Value("${blog-api.posts.count.cache-ttl:5m}") Duration cacheTtl,
+							@Value("${blog-api.posts.count.cache-size:1000}") long cacheSize)
+	{
+		this.postRepository = postRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.postTagIndexService = postTagIndexService.getIfAvailable();
+		PostCountMode mode = PostCountMode.fromValue(defaultMode);
+		if (mode == null)
+		{
+			throw new IllegalArgumentException("Invalid blog-api.posts.count.mode: " + defaultMode);
+		}
+		this.defaultMode = mode;
+		this.countCache = Caffeine.newBuilder()
+								  .expireAfterWrite(cacheTtl)
+								  .maximumSize(cacheSize)
+								  .build();
+	}
+
+	/**
+	 * Counts the posts of a listing.
+	 *
+	 * @param getPostsRequest the listing request, its count mode overrides the configured one
+	 * @param specs           the specifications of the listing
+	 * @param authorId        the author the listing is restricted to, or null
+	 */
+	public long countPosts(GetPostsRequest getPostsRequest, Specification<Post> specs, Long authorId)
+	{
+		OptionalLong indexed = countIndexed(getPostsRequest, authorId);
+		if (indexed.isPresent())
+		{
+			return indexed.getAsLong();
+		}
+
+		PostCountMode mode = getPostsRequest.getCountMode() != null ? getPostsRequest.getCountMode() : defaultMode;
+		return switch (mode)
+		{
+			case EXACT -> postRepository.count(specs);
+			case CACHED -> countCached(getPostsRequest, specs, authorId);
+			case ESTIMATED ->
+			{
+				Long estimate = isUnfiltered(getPostsRequest, authorId) ? estimate(getPostsRequest.isUnpublished())
+																		: null;
+				// Filtered listings have no usable statistics, use the cache instead.
+				yield estimate != null ? estimate : countCached(getPostsRequest, specs, authorId);
+			}
+		};
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event)
+	{
+		countCache.invalidateAll();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTagChanged(TagChangedEvent event)
+	{
+		countCache.invalidateAll();
+	}
+
+	private long countCached(GetPostsRequest getPostsRequest, Specification<Post> specs, Long authorId)
+	{
+		return countCache.get(filterKey(getPostsRequest, authorId), key -> postRepository.count(specs));
+	}
+
+	/**
+	 * Normalized key of the filters of a listing, requests that match the same posts share the same key.
+	 */
+	static String filterKey(GetPostsRequest getPostsRequest, Long authorId)
+	{
+		String q = getPostsRequest.getQ() == null ? "" : getPostsRequest.getQ()
+																		 .trim()
+																		 .toLowerCase(Locale.ROOT);
+		String tags = getPostsRequest.getTags()
+									 .stream()
+									 .map(tag -> tag.isId() ? "#" + tag.getId() : tag.getSlug())
+									 .distinct()
+									 .sorted()
+									 .collect(Collectors.joining(","));
+		return String.join("|", q, tags, Objects.toString(getPostsRequest.getTagExpression(), ""),
+				String.valueOf(getPostsRequest.isUnpublished()), authorId == null ? "" : authorId.toString());
+	}
+
+	private static boolean isUnfiltered(GetPostsRequest getPostsRequest, Long authorId)
+	{
+		String q = getPostsRequest.getQ();
+		return authorId == null && (q == null || q.isBlank()) && getPostsRequest.getTags()
+																				.isEmpty() &&
+				getPostsRequest.getTagExpression() == null;
+	}
+
+	/**
+	 * Counts a listing of published posts only filtered by a tag expression from the in-memory tag index, which is
+	 * exact and cheaper than any database count.
+	 *
+	 * @return the count, empty when the listing has other filters or the index is not available
+	 */
+	private OptionalLong countIndexed(GetPostsRequest getPostsRequest, Long authorId)
+	{
+		String q = getPostsRequest.getQ();
+		if (postTagIndexService == null || getPostsRequest.getTagExpression() == null ||
+				getPostsRequest.isUnpublished() || authorId != null || (q != null && !q.isBlank()) ||
+				!getPostsRequest.getTags()
+								.isEmpty())
+		{
+			return OptionalLong.empty();
+		}
+
+		return postTagIndexService.count(getPostsRequest.getTagExpression());
+	}
+
+	/**
+	 * Reads the row estimate of the posts table, and the share of unpublished posts, from the planner statistics.
+	 *
+	 * @return the estimate or null when it is not available (not Postgres or the table was never analyzed)
+	 */
+	private Long estimate(boolean includeUnpublished)
+	{
+		if (!isPostgres())
+		{
+			return null;
+		}
+
+		return jdbcTemplate.query(ESTIMATE_QUERY, rs ->
+		{
+			if (!rs.next())
+			{
+				return null;
+			}
+
+			double rows = rs.getDouble("reltuples");
+			if (rows < 0)
+			{
+				return null;
+			}
+
+			double unpublished = includeUnpublished ? 0 : rs.getDouble("null_frac");
+			return Math.round(rows * (1 - unpublished));
+		});
+	}
+
+	private boolean isPostgres()
+	{
+		if (postgres == null)
+		{
+			String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData()
+																									 .getDatabaseProductName());
+			postgres = "PostgreSQL".equalsIgnoreCase(product);
+			log.info("Post count estimates are {}", postgres ? "enabled" : "disabled, not running on PostgreSQL");
+		}
+		return postgres;
+	}
+}
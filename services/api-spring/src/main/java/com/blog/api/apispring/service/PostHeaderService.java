@@ -0,0 +1,79 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.event.CommentChangedEvent;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.projection.PostHeader;
+import com.blog.api.apispring.repository.PostRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of the post headers, used to bind the {@code {id}} path variables of the post endpoints and to
+ * check the ownership and the publication state of a post without loading its body.
+ * <p>
+ * Entries are dropped after every write of the post. Hit ratio and evictions are published as {@code cache.*}
+ * metrics with the {@code posts.header} name.
+ */
+@Service
+public class PostHeaderService
+{
+	static final String CACHE_NAME = "posts.header";
+
+	private final PostRepository postRepository;
+	private final boolean enabled;
+	private final Cache<Long, PostHeader> cache;
+
+	public PostHeaderService(PostRepository postRepository, MeterRegistry meterRegistry,
+							 @Value("${blog-api.posts.header-cache.enabled:true}") boolean enabled,
+							 @Value("${blog-api.posts.header-cache.ttl:1m}") Duration ttl,
+							 @Value("${blog-api.posts.header-cache.max-size:10000}") long maxSize)
+	{
+		this.postRepository = postRepository;
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder()
+							 .expireAfterWrite(ttl)
+							 .maximumSize(maxSize)
+							 .recordStats()
+							 .build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/**
+	 * @return the header of the post, empty if the post does not exist
+	 */
+	public Optional<PostHeader> getPostHeader(long id)
+	{
+		if (!enabled)
+		{
+			return postRepository.findHeaderById(id);
+		}
+
+		// Missing posts are not cached, the loader returns null.
+		return Optional.ofNullable(cache.get(id, postId -> postRepository.findHeaderById(postId)
+																		 .orElse(null)));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event)
+	{
+		cache.invalidate(event.postId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCommentChanged(CommentChangedEvent event)
+	{
+		// Adding or removing a comment touches the post.
+		if (event.type() != CommentChangedEvent.Type.UPDATED)
+		{
+			cache.invalidate(event.postId());
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.Post_;
+import com.blog.api.apispring.repository.PostRepository;
+import com.blog.api.apispring.search.InvertedIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps an in-memory {@link InvertedIndex} of the published posts, so that searches never use a database connection.
+ * <p>
+ * The index is loaded once the application is ready, then updated with the {@link PostChangedEvent} published by
+ * {@link PostService}. Until it is loaded searches run in the database. Enabled with
+ * {@code blog-api.posts.search.engine=memory}.
+ */
+@Service
+@ConditionalOnProperty(name = "blog-api.posts.search.engine", havingValue = "memory")
+@Slf4j
+public class PostIndexService
+{
+	private static final int LOAD_BATCH_SIZE = 200;
+
+	private final PostRepository postRepository;
+	private final MarkdownService markdownService;
+	private final InvertedIndex index = new InvertedIndex();
+	private volatile boolean loaded;
+
+	public PostIndexService(PostRepository postRepository, MarkdownService markdownService)
+	{
+		this.postRepository = postRepository;
+		this.markdownService = markdownService;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadIndex()
+	{
+		Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by(Post_.id.getName()));
+		Slice<Post> posts;
+		do
+		{
+			posts = postRepository.findByPublishedAtIsNotNull(pageable);
+			posts.forEach(this::indexPost);
+			pageable = posts.nextPageable();
+		} while (posts.hasNext());
+
+		loaded = true;
+		log.info("Indexed {} published posts", index.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event)
+	{
+		switch (event.type())
+		{
+			// New posts are drafts.
+			case CREATED ->
+			{
+			}
+			case HIDDEN, DELETED -> index.remove(event.postId());
+			case PUBLISHED, UPDATED -> postRepository.findById(event.postId())
+													 .filter(Post::isPublished)
+													 .ifPresentOrElse(this::indexPost,
+															 () -> index.remove(event.postId()));
+		}
+	}
+
+	/**
+	 * @return false while the index is loading, its searches would miss posts
+	 */
+	public boolean isLoaded()
+	{
+		return loaded;
+	}
+
+	/**
+	 * @return the ids of the published posts matching the query, best match first
+	 */
+	public List<Long> search(String q, int limit)
+	{
+		return index.search(q, limit);
+	}
+
+	private void indexPost(Post post)
+	{
+		index.put(post.getId(), post.getTitle(), markdownService.parseMarkdownToPlainText(post.getBody()));
+	}
+}
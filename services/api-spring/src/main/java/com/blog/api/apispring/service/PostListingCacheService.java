@@ -0,0 +1,325 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.dto.posts.GetPostsRequest;
+import com.blog.api.apispring.dto.posts.GetPostsResponse;
+import com.blog.api.apispring.dto.posts.PostDto;
+import com.blog.api.apispring.dto.tag.TagExpression;
+import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.enums.PostCountMode;
+import com.blog.api.apispring.enums.PostSortBy;
+import com.blog.api.apispring.event.CommentChangedEvent;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.event.TagChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the public post listings, the responses of anonymous {@code GET /posts} requests.
+ * <p>
+ * Every entry remembers what it depends on: the posts it shows, the tags displayed on them and the tags it is
+ * filtered by. Writes only drop the entries they can change, a new comment on a post only drops the pages showing
+ * that post, and publishing a post only drops the listings it can enter.
+ * <p>
+ * Hit ratio, evictions and load time are published as {@code cache.*} metrics with the {@code posts.listing} name.
+ */
+@Service
+@Slf4j
+public class PostListingCacheService
+{
+	static final String CACHE_NAME = "posts.listing";
+
+	private final boolean enabled;
+	private final int maxEntryWeight;
+	private final Cache<ListingKey, CachedListing> cache;
+	private final Timer loadTimer;
+	private final Counter invalidationCounter;
+	// Incremented by every write, a page loaded while a write happened is not cached.
+	private final AtomicLong generation = new AtomicLong();
+
+	public PostListingCacheService(MeterRegistry meterRegistry,
+								   @Value("${blog-api.posts.listing-cache.enabled:true}") boolean enabled,
+								   @Value("${blog-api.posts.listing-cache.ttl:10m}") Duration ttl,
+								   @Value("${blog-api.posts.listing-cache.max-weight:16777216}") long maxWeight,
+								   @Value("${blog-api.posts.listing-cache.max-entry-weight:1048576}") int maxEntryWeight)
+	{
+		this.enabled = enabled;
+		this.maxEntryWeight = maxEntryWeight;
+		this.cache = Caffeine.newBuilder()
+							 .expireAfterWrite(ttl)
+							 .maximumWeight(maxWeight)
+							 .weigher((ListingKey key, CachedListing listing) -> listing.weight())
+							 .recordStats()
+							 .build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+		this.loadTimer = Timer.builder("cache.load.time")
+							  .description("Time spent loading post listings missing from the cache")
+							  .tag("cache", CACHE_NAME)
+							  .register(meterRegistry);
+		this.invalidationCounter = Counter.builder("cache.invalidations")
+										  .description("Post listings dropped because of a write")
+										  .tag("cache", CACHE_NAME)
+										  .register(meterRegistry);
+	}
+
+	/**
+	 * Returns the cached response of a listing, or loads and caches it.
+	 *
+	 * @param getPostsRequest the listing request, only listings of published posts are cached
+	 * @param loader          computes the response on a miss
+	 */
+	public GetPostsResponse getPosts(GetPostsRequest getPostsRequest, Supplier<GetPostsResponse> loader)
+	{
+		if (!enabled || getPostsRequest.isUnpublished())
+		{
+			return loader.get();
+		}
+
+		ListingKey key = ListingKey.of(getPostsRequest);
+		CachedListing cached = cache.getIfPresent(key);
+		if (cached != null)
+		{
+			return cached.response();
+		}
+
+		long loadGeneration = generation.get();
+		GetPostsResponse response = loadTimer.record(loader);
+		CachedListing listing = CachedListing.of(key, response);
+		if (listing.weight() > maxEntryWeight || loadGeneration != generation.get())
+		{
+			return response;
+		}
+
+		cache.put(key, listing);
+		// A write may have run its invalidation between the check and the put.
+		if (loadGeneration != generation.get())
+		{
+			cache.invalidate(key);
+		}
+		return response;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event)
+	{
+		long postId = event.postId();
+		switch (event.type())
+		{
+			// New posts are drafts.
+			case CREATED ->
+			{
+			}
+			// The post text may match other searches, its tags other listings.
+			case UPDATED -> invalidate((key, listing) -> listing.postIds()
+																 .contains(postId) || key.isSearch() ||
+					listing.isFilteredByAny(event.tagIds()));
+			// The post enters or leaves every listing it matches, a negated tag matches posts without it.
+			case PUBLISHED, HIDDEN, DELETED -> invalidate((key, listing) -> listing.postIds()
+																				  .contains(postId) ||
+					key.isSearch() || !key.isFilteredByTags() || key.tagExpression() != null ||
+					listing.isFilteredByAny(event.tagIds()));
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCommentChanged(CommentChangedEvent event)
+	{
+		// Listings show the comments count, not the comments.
+		if (event.type() == CommentChangedEvent.Type.UPDATED)
+		{
+			return;
+		}
+
+		invalidate((key, listing) -> listing.postIds()
+											.contains(event.postId()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTagChanged(TagChangedEvent event)
+	{
+		Set<Long> tagIds = Set.of(event.tagId());
+		invalidate((key, listing) -> listing.tagIds()
+											.contains(event.tagId()) || listing.isFilteredByAny(tagIds));
+	}
+
+	private void invalidate(BiPredicate<ListingKey, CachedListing> dependsOnChange)
+	{
+		generation.incrementAndGet();
+		List<ListingKey> keys = new ArrayList<>();
+		cache.asMap()
+			 .forEach((key, listing) ->
+			 {
+				 if (dependsOnChange.test(key, listing))
+				 {
+					 keys.add(key);
+				 }
+			 });
+		cache.invalidateAll(keys);
+		invalidationCounter.increment(keys.size());
+		log.debug("Invalidated {} cached post listings", keys.size());
+	}
+
+	/**
+	 * Normalized listing request, requests that return the same response share the same key. The tags of the tag
+	 * expression are part of the tags the listing is filtered by.
+	 */
+	record ListingKey(String q,
+					  Set<Long> tagIds,
+					  Set<String> tagSlugs,
+					  String tagExpression,
+					  PostSortBy sortBy,
+					  int page,
+					  int pageSize,
+					  String cursor,
+					  PostCountMode countMode,
+					  boolean body)
+	{
+		static ListingKey of(GetPostsRequest getPostsRequest)
+		{
+			String q = getPostsRequest.getQ() == null ? "" : getPostsRequest.getQ()
+																			 .trim()
+																			 .toLowerCase(Locale.ROOT);
+			Set<Long> tagIds = new HashSet<>();
+			Set<String> tagSlugs = new HashSet<>();
+			List<TagIdOrSlug> tags = new ArrayList<>(getPostsRequest.getTags());
+			TagExpression tagExpression = getPostsRequest.getTagExpression();
+			if (tagExpression != null)
+			{
+				tags.addAll(tagExpression.tags());
+			}
+			for (TagIdOrSlug tag : tags)
+			{
+				if (tag.isId())
+				{
+					tagIds.add(tag.getId());
+				} else
+				{
+					tagSlugs.add(tag.getSlug());
+				}
+			}
+
+			// The page number is ignored by cursor listings and the cursor by offset listings.
+			boolean cursorPagination = getPostsRequest.isCursorPagination();
+			return new ListingKey(q, Set.copyOf(tagIds), Set.copyOf(tagSlugs),
+					tagExpression == null ? null : tagExpression.toString(), getPostsRequest.getSortBy(),
+					cursorPagination ? 0 : getPostsRequest.getPage(), getPostsRequest.getPageSize(),
+					cursorPagination ? getPostsRequest.getCursor() : null, getPostsRequest.getCountMode(),
+					getPostsRequest.isBodyIncluded());
+		}
+
+		boolean isSearch()
+		{
+			return !q.isEmpty();
+		}
+
+		boolean isFilteredByTags()
+		{
+			return !tagIds.isEmpty() || !tagSlugs.isEmpty();
+		}
+	}
+
+	/**
+	 * A cached response and the dependencies used to invalidate it.
+	 *
+	 * @param postIds          the posts shown by the listing
+	 * @param tagIds           the tags shown on these posts
+	 * @param filterTagIds     the tags the listing is filtered by, when their id is known
+	 * @param unresolvedFilter whether some slugs of the filter could not be mapped to a tag id
+	 * @param weight           the approximate size of the response in bytes
+	 */
+	record CachedListing(GetPostsResponse response,
+						 Set<Long> postIds,
+						 Set<Long> tagIds,
+						 Set<Long> filterTagIds,
+						 boolean unresolvedFilter,
+						 int weight)
+	{
+		private static final int BASE_WEIGHT = 256;
+		private static final int POST_WEIGHT = 256;
+		private static final int TAG_WEIGHT = 64;
+
+		static CachedListing of(ListingKey key, GetPostsResponse response)
+		{
+			Set<Long> postIds = new HashSet<>();
+			Map<String, Long> tagIdsBySlug = new HashMap<>();
+			long weight = BASE_WEIGHT;
+			for (PostDto post : response.getResults())
+			{
+				postIds.add(post.getId());
+				weight += POST_WEIGHT + 2L * (length(post.getTitle()) + length(post.getDescription()) +
+						length(post.getBody()));
+				if (post.getTags() != null)
+				{
+					for (PostDto.TagDto tag : post.getTags())
+					{
+						tagIdsBySlug.put(tag.slug(), tag.id());
+						weight += TAG_WEIGHT;
+					}
+				}
+			}
+
+			// Posts of a listing filtered by a slug carry that tag, which gives its id.
+			Set<Long> filterTagIds = new HashSet<>(key.tagIds());
+			boolean unresolvedFilter = false;
+			for (String slug : key.tagSlugs())
+			{
+				Long tagId = tagIdsBySlug.get(slug);
+				if (tagId == null)
+				{
+					unresolvedFilter = true;
+				} else
+				{
+					filterTagIds.add(tagId);
+				}
+			}
+
+			return new CachedListing(response, postIds, Set.copyOf(tagIdsBySlug.values()), filterTagIds,
+					unresolvedFilter, (int) Math.min(Integer.MAX_VALUE, weight));
+		}
+
+		/**
+		 * Whether the listing is filtered by one of the tags.
+		 *
+		 * @param tagIds the tags, null when they are not known
+		 */
+		boolean isFilteredByAny(Set<Long> tagIds)
+		{
+			if ((tagIds != null && tagIds.isEmpty()) || (filterTagIds.isEmpty() && !unresolvedFilter))
+			{
+				return false;
+			}
+
+			if (tagIds == null || unresolvedFilter)
+			{
+				return true;
+			}
+
+			for (Long tagId : tagIds)
+			{
+				if (filterTagIds.contains(tagId))
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static int length(String value)
+		{
+			return value == null ? 0 : value.length();
+		}
+	}
+}
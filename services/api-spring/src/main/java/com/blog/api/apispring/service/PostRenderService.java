@@ -0,0 +1,141 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.PostRender;
+import com.blog.api.apispring.repository.PostRenderRepository;
+import com.blog.api.apispring.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Renders the markdown body of the posts to sanitized HTML once and stores it, readers are served the stored HTML
+ * instead of parsing the markdown themselves. A post is only rendered again when the hash of its body changes, or when
+ * the render was made by another renderer, for instance before the markdown extensions were changed.
+ */
+@Service
+@Slf4j
+public class PostRenderService
+{
+	private static final int RENDERER_LENGTH = 16;
+
+	private final PostRenderRepository postRenderRepository;
+	private final PostRepository postRepository;
+	private final MarkdownService markdownService;
+	private final TextService textService;
+	private final TransactionTemplate transactionTemplate;
+	private final String renderer;
+
+	public PostRenderService(PostRenderRepository postRenderRepository, PostRepository postRepository,
+							 MarkdownService markdownService, TextService textService,
+							 PlatformTransactionManager transactionManager)
+	{
+		this.postRenderRepository = postRenderRepository;
+		this.postRepository = postRepository;
+		this.markdownService = markdownService;
+		this.textService = textService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.renderer = hash(markdownService.getHtmlFingerprint()).substring(0, RENDERER_LENGTH);
+	}
+
+	/**
+	 * @return the renderer of the renders made by this instance, it changes with the markdown engine fingerprint
+	 */
+	public String getRenderer()
+	{
+		return renderer;
+	}
+
+	/**
+	 * Renders the body of the post, unless the stored render was made from the same body by the same renderer.
+	 */
+	@Transactional
+	public PostRender render(Post post)
+	{
+		String bodyHash = hash(post.getBody());
+		Optional<PostRender> optionalRender = postRenderRepository.findById(post.getId());
+		if (optionalRender.isPresent() && isCurrent(optionalRender.get(), bodyHash))
+		{
+			return optionalRender.get();
+		}
+
+		PostRender render = optionalRender.orElseGet(() -> new PostRender(post.getId()));
+		renderBody(render, post.getBody(), bodyHash);
+		return postRenderRepository.save(render);
+	}
+
+	/**
+	 * Returns the HTML of a post. Posts written before the renders were stored, or rendered by another renderer, are
+	 * rendered on their first read.
+	 */
+	public Optional<String> getHtml(long postId)
+	{
+		Optional<PostRender> optionalRender = postRenderRepository.findById(postId);
+		if (optionalRender.isPresent() && isFromRenderer(optionalRender.get()))
+		{
+			return Optional.of(optionalRender.get()
+											 .getHtml());
+		}
+
+		Optional<Post> optionalPost = postRepository.findById(postId);
+		if (optionalPost.isEmpty())
+		{
+			return Optional.empty();
+		}
+
+		// Rendered outside any transaction, only the save is.
+		String body = optionalPost.get()
+								  .getBody();
+		PostRender render = optionalRender.orElseGet(() -> new PostRender(postId));
+		renderBody(render, body, hash(body));
+		try
+		{
+			transactionTemplate.executeWithoutResult(status -> postRenderRepository.save(render));
+		} catch (DataIntegrityViolationException e)
+		{
+			// Concurrent first reads both insert the render, the first one wins. Both rendered the same body.
+			log.debug("Post {} was rendered by a concurrent read", postId);
+		}
+		return Optional.of(render.getHtml());
+	}
+
+	private void renderBody(PostRender render, String body, String bodyHash)
+	{
+		render.setBodyHash(bodyHash);
+		render.setRenderer(renderer);
+		render.setHtml(textService.sanitizeHtml(markdownService.parseMarkdownToHtml(body)));
+		log.debug("Rendered post {}", render.getPostId());
+	}
+
+	private boolean isFromRenderer(PostRender render)
+	{
+		return renderer.equals(render.getRenderer());
+	}
+
+	private boolean isCurrent(PostRender render, String bodyHash)
+	{
+		return isFromRenderer(render) && bodyHash.equals(render.getBodyHash());
+	}
+
+	static String hash(String body)
+	{
+		try
+		{
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of()
+							.formatHex(digest.digest(body.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.specs.PostSpecs;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.PredicateSpecification;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Picks how the {@code q} parameter of post listings is matched.
+ * <p>
+ * With {@code blog-api.posts.search.engine=memory}, listings of published posts are searched in the in-memory index of
+ * {@link PostIndexService} once it is loaded, unless more than {@code blog-api.posts.search.max-results} posts match.
+ * Otherwise, and for listings including unpublished posts, the search runs in the database: on Postgres on the
+ * generated {@code search_vector} column (title, description and plain text body) with ranking, elsewhere, like the
+ * H2 profile, as a title substring match.
+ */
+@Service
+@Slf4j
+public class PostSearchService
+{
+	private final boolean fullTextSearch;
+	private final PostIndexService postIndexService;
+	private final int maxResults;
+
+	public PostSearchService(EntityManagerFactory entityManagerFactory,
+							 ObjectProvider<PostIndexService> postIndexService,
+							 @Value("${blog-api.posts.search.max-results:1000}") int maxResults)
+	{
+		this.fullTextSearch = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+												  .getJdbcServices()
+												  .getDialect() instanceof PostgreSQLDialect;
+		this.postIndexService = postIndexService.getIfAvailable();
+		this.maxResults = maxResults;
+		log.info("Post search uses {}", this.postIndexService != null ? "the in-memory index" : fullTextSearch
+																								? "Postgres full-text search"
+																								: "title substring match");
+	}
+
+	/**
+	 * Runs the search in memory when it can, the index is searched at most once per listing.
+	 */
+	public PostSearch search(String q, boolean includeUnpublished)
+	{
+		return new PostSearch(q, usesIndex(q, includeUnpublished) ? searchIndex(q) : null);
+	}
+
+	public PredicateSpecification<Post> matching(PostSearch search)
+	{
+		if (search.isInMemory())
+		{
+			return PostSpecs.withIds(search.rankedIds());
+		}
+		String q = search.q();
+		return fullTextSearch ? PostSpecs.matches(q) : PostSpecs.titleContains(q);
+	}
+
+	/**
+	 * Orders the matching posts by relevance in the database, or returns null when the results cannot be ranked (no
+	 * query or no full-text search) and the default order should be kept.
+	 */
+	public Specification<Post> orderByRelevance(String q)
+	{
+		if (!fullTextSearch || q == null || q.isBlank())
+		{
+			return null;
+		}
+		return PostSpecs.orderByRelevance(q);
+	}
+
+	/**
+	 * Searches the in-memory index, one more result than allowed tells a truncated search apart.
+	 *
+	 * @return the ranked ids, or null when more than {@code maxResults} posts match
+	 */
+	private List<Long> searchIndex(String q)
+	{
+		List<Long> ids = postIndexService.search(q, maxResults + 1);
+		if (ids.size() > maxResults)
+		{
+			log.debug("More than {} posts match '{}', searching in the database", maxResults, q);
+			return null;
+		}
+		return ids;
+	}
+
+	private boolean usesIndex(String q, boolean includeUnpublished)
+	{
+		return postIndexService != null && !includeUnpublished && q != null && !q.isBlank() &&
+				postIndexService.isLoaded();
+	}
+
+	/**
+	 * Search of a listing.
+	 *
+	 * @param q         the query of the listing
+	 * @param rankedIds the ids of the matching posts ranked by the in-memory index, best match first, or null when the
+	 *                  search runs in the database
+	 */
+	public record PostSearch(String q,
+							 List<Long> rankedIds)
+	{
+		public boolean isInMemory()
+		{
+			return rankedIds != null;
+		}
+	}
+}
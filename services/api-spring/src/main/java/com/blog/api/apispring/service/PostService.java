@@ -1,18 +1,30 @@
 package com.blog.api.apispring.service;
 
+import com.blog.api.apispring.dto.metadata.CursorPage;
 import com.blog.api.apispring.dto.posts.GetPostsRequest;
+import com.blog.api.apispring.dto.posts.PostCursor;
+import com.blog.api.apispring.dto.tag.TagExpression;
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.enums.PostSortBy;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.markdown.MarkdownAnalysis;
 import com.blog.api.apispring.model.*;
 import com.blog.api.apispring.projection.*;
 import com.blog.api.apispring.repository.PostRepository;
 import com.blog.api.apispring.specs.PostSpecs;
 import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.HtmlUtils;
@@ -24,22 +36,41 @@ import java.util.*;
 @Slf4j
 public class PostService
 {
+	private static final int DESCRIPTION_WORD_COUNT = 50;
+
 	private final PostRepository postRepository;
-	private final TagService tagService;
+	private final TagDictionaryService tagDictionaryService;
 	private final EntityManager entityManager;
 	private final CommentService commentService;
 	private final TextService textService;
 	private final MarkdownService markdownService;
+	private final PostCountService postCountService;
+	private final PostSearchService postSearchService;
+	private final PostRenderService postRenderService;
+	private final PostTagIndexService postTagIndexService;
+	private final CommentWriteBuffer commentWriteBuffer;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
 
-	public PostService(PostRepository postRepository, TagService tagService, EntityManager entityManager,
-					   CommentService commentService, TextService textService, MarkdownService markdownService)
+	public PostService(PostRepository postRepository, TagDictionaryService tagDictionaryService,
+					   EntityManager entityManager, CommentService commentService, TextService textService,
+					   MarkdownService markdownService, PostCountService postCountService,
+					   PostSearchService postSearchService, PostRenderService postRenderService,
+					   ObjectProvider<PostTagIndexService> postTagIndexService, CommentWriteBuffer commentWriteBuffer,
+					   ApplicationEventPublisher eventPublisher)
 	{
 		this.postRepository = postRepository;
-		this.tagService = tagService;
+		this.tagDictionaryService = tagDictionaryService;
 		this.entityManager = entityManager;
 		this.commentService = commentService;
 		this.textService = textService;
 		this.markdownService = markdownService;
+		this.postCountService = postCountService;
+		this.postSearchService = postSearchService;
+		this.postRenderService = postRenderService;
+		this.postTagIndexService = postTagIndexService.getIfAvailable();
+		this.commentWriteBuffer = commentWriteBuffer;
+		this.eventPublisher = eventPublisher;
 	}
 
 	public Optional<PostInfoWithAuthor> getPostInfo(long id)
@@ -47,6 +78,11 @@ public class PostService
 		return postRepository.findInfoWithAuthorById(id);
 	}
 
+	public Optional<EntityVersion> getPostVersion(long id)
+	{
+		return postRepository.findVersionById(id);
+	}
+
 	public Optional<PostInfoWithAuthorAndTags> getPostInfoWithTags(long id)
 	{
 		return postRepository.findInfoWithTagsById(id);
@@ -62,55 +98,321 @@ public class PostService
 		return postRepository.findInfoWithTagsAndCommentsById(id);
 	}
 
-	public Page<PostInfoWithAuthorAndTags> getPageablePostsInfo(GetPostsRequest getPostsRequest)
+	@Transactional(readOnly = true)
+	public Page<PostSummaryWithAuthorAndTags> getPageablePostsInfo(GetPostsRequest getPostsRequest)
 	{
-		Specification<Post> specs = getPostsRequest.toSpecifications();
-		Pageable pageable = getPostsRequest.toPageable();
-		return postRepository.findBy(specs,
-				sfq -> sfq.as(PostInfoWithAuthorAndTags.class)
-						  .page(pageable));
+		return findPage(getPostsRequest, toFilters(getPostsRequest), null);
+	}
+
+	@Transactional(readOnly = true)
+	public Page<PostSummaryWithAuthorAndTags> getPageablePostsInfoByAuthor(GetPostsRequest getPostsRequest,
+																			long authorId)
+	{
+		Specification<Post> filters = toFilters(getPostsRequest).and(PostSpecs.withAuthor(authorId));
+		return findPage(getPostsRequest, filters, authorId);
 	}
 
-	public Page<PostInfoWithAuthorAndTags> getPageablePostsInfoByAuthor(GetPostsRequest getPostsRequest, long authorId)
+	/**
+	 * Reads one page with offset pagination. The total is computed by {@link PostCountService} and only when it
+	 * cannot be deduced from the page content.
+	 *
+	 * @param filters the filters of the listing, without the search query
+	 */
+	private Page<PostSummaryWithAuthorAndTags> findPage(GetPostsRequest getPostsRequest,
+														Specification<Post> filters, Long authorId)
 	{
-		Specification<Post> specs = getPostsRequest.toSpecifications()
-												   .and(PostSpecs.withAuthor(authorId));
+		String q = getPostsRequest.getQ();
+		boolean relevanceSort = getPostsRequest.getSortBy() == PostSortBy.RELEVANCE;
 		Pageable pageable = getPostsRequest.toPageable();
+		PostSearchService.PostSearch search = postSearchService.search(q, getPostsRequest.isUnpublished());
+		if (relevanceSort && search.isInMemory())
+		{
+			return findRankedPage(filters, search.rankedIds(), pageable, getPostsRequest.isBodyIncluded());
+		}
+
+		Specification<Post> specs = filters.and(postSearchService.matching(search));
+		Specification<Post> pageSpecs = specs;
+		Sort sort = pageable.getSort();
+		Specification<Post> relevance = relevanceSort ? postSearchService.orderByRelevance(q) : null;
+		if (relevance != null)
+		{
+			pageSpecs = specs.and(relevance);
+			sort = Sort.unsorted();
+		}
+		List<PostSummaryWithAuthorAndTags> content = findPostsInfo(pageSpecs, sort, pageable.getOffset(),
+				pageable.getPageSize(), getPostsRequest.isBodyIncluded());
+
+		return PageableExecutionUtils.getPage(content, pageable,
+				() -> postCountService.countPosts(getPostsRequest, specs, authorId));
+	}
+
+	/**
+	 * Reads one page of posts ranked by the in-memory search. The ranked ids are filtered with one query, then the page
+	 * is cut in rank order.
+	 */
+	private Page<PostSummaryWithAuthorAndTags> findRankedPage(Specification<Post> filters, List<Long> rankedIds,
+															  Pageable pageable, boolean includeBody)
+	{
+		if (rankedIds.isEmpty())
+		{
+			return Page.empty(pageable);
+		}
+
+		Set<Long> matchingIds = new HashSet<>(
+				postRepository.findPageIds(filters.and(PostSpecs.withIds(rankedIds)), Sort.unsorted(), 0,
+						rankedIds.size()));
+		List<Long> ids = rankedIds.stream()
+								  .filter(matchingIds::contains)
+								  .toList();
+
+		int from = (int) Math.min(pageable.getOffset(), ids.size());
+		int to = Math.min(from + pageable.getPageSize(), ids.size());
+		return new PageImpl<>(findPostsInfo(ids.subList(from, to), includeBody), pageable, ids.size());
+	}
+
+	private Specification<Post> toSpecifications(GetPostsRequest getPostsRequest)
+	{
+		return toFilters(getPostsRequest).and(postSearchService.matching(
+				postSearchService.search(getPostsRequest.getQ(), getPostsRequest.isUnpublished())));
+	}
+
+	/**
+	 * Filters of the request, its tags resolved to ids so that filtering by slug does not join the tags.
+	 */
+	private Specification<Post> toFilters(GetPostsRequest getPostsRequest)
+	{
+		Specification<Post> filters = getPostsRequest.toSpecifications();
+		Collection<TagIdOrSlug> tags = getPostsRequest.getTags();
+		if (tags != null && !tags.isEmpty())
+		{
+			Set<Long> tagIds = tagDictionaryService.resolveIds(tags);
+			// None of the tags exist, no post can match.
+			filters = filters.and(tagIds.isEmpty() ? Specification.where(PostSpecs.withIds(List.of())) :
+					PostSpecs.withTags(tagIds));
+		}
+
+		TagExpression tagExpression = getPostsRequest.getTagExpression();
+		if (tagExpression != null)
+		{
+			filters = filters.and(toTagExpressionFilter(tagExpression, getPostsRequest.isUnpublished()));
+		}
+		return filters;
+	}
 
-		return postRepository.findBy(specs,
-				sfq -> sfq.as(PostInfoWithAuthorAndTags.class)
-						  .page(pageable));
+	/**
+	 * Filters by a tag expression. Published listings are matched in the in-memory tag index when it is enabled and
+	 * only the matching ids are read, otherwise the expression is evaluated in the database.
+	 */
+	private Specification<Post> toTagExpressionFilter(TagExpression tagExpression, boolean includeUnpublished)
+	{
+		if (postTagIndexService != null && !includeUnpublished)
+		{
+			List<Long> ids = postTagIndexService.matchingIds(tagExpression);
+			if (ids != null)
+			{
+				return Specification.where(PostSpecs.withIds(ids));
+			}
+		}
+
+		return PostSpecs.matchingTags(tagExpression, tag -> tag.isId() ? tag.getId() :
+				tagDictionaryService.getTagId(tag.getSlug())
+									.orElse(null));
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPage<PostSummaryWithAuthorAndTags> getCursorPostsInfo(GetPostsRequest getPostsRequest)
+	{
+		return findCursorPage(getPostsRequest, toSpecifications(getPostsRequest));
 	}
 
-	public Long getCommentsCount(long id)
+	@Transactional(readOnly = true)
+	public CursorPage<PostSummaryWithAuthorAndTags> getCursorPostsInfoByAuthor(GetPostsRequest getPostsRequest,
+																				long authorId)
 	{
-		return postRepository.countCommentsById(id);
+		Specification<Post> specs = toSpecifications(getPostsRequest).and(PostSpecs.withAuthor(authorId));
+		return findCursorPage(getPostsRequest, specs);
 	}
 
-	public Map<Long, Long> getCommentsCount(List<Long> postIds)
+	/**
+	 * Reads one page with keyset pagination. One extra row is fetched to know if there is a page after this one,
+	 * the count query is never run.
+	 */
+	private CursorPage<PostSummaryWithAuthorAndTags> findCursorPage(GetPostsRequest getPostsRequest,
+																	Specification<Post> specs)
 	{
-		if (postIds == null || postIds.isEmpty())
+		PostSortBy sortBy = getPostsRequest.getSortBy();
+		PostCursor cursor = PostCursor.decode(getPostsRequest.getCursor(), sortBy);
+		boolean backward = cursor != null && cursor.backward();
+		if (cursor != null)
+		{
+			specs = specs.and(PostSpecs.after(cursor));
+		}
+
+		int pageSize = getPostsRequest.getPageSize();
+		Sort sort = PostCursor.toSort(sortBy, backward);
+		List<PostSummaryWithAuthorAndTags> rows = findPostsInfo(specs, sort, 0, pageSize + 1,
+				getPostsRequest.isBodyIncluded());
+
+		boolean hasMore = rows.size() > pageSize;
+		if (hasMore)
+		{
+			rows.removeLast();
+		}
+		if (backward)
+		{
+			Collections.reverse(rows);
+		}
+
+		if (rows.isEmpty())
 		{
-			return Collections.emptyMap();
+			return new CursorPage<>(rows, null, null);
 		}
 
-		return postRepository.countCommentsByIds(postIds);
+		PostSummaryWithAuthorAndTags first = rows.getFirst();
+		PostSummaryWithAuthorAndTags last = rows.getLast();
+		boolean hasNext = backward || hasMore;
+		boolean hasPrev = backward ? hasMore : cursor != null;
+		String next = hasNext ? PostCursor.next(sortBy, last.getId(), last.getPublishedAt())
+										  .encode() : null;
+		String prev = hasPrev ? PostCursor.prev(sortBy, first.getId(), first.getPublishedAt())
+										  .encode() : null;
+
+		return new CursorPage<>(rows, next, prev);
 	}
 
+	/**
+	 * Reads a list of posts in two steps: the ordered ids of the page first, then the posts with their author and
+	 * tags for these ids only. The cost of a page depends on its size, not on the number of matching posts.
+	 */
+	private List<PostSummaryWithAuthorAndTags> findPostsInfo(Specification<Post> specs, Sort sort, long offset,
+															 int limit, boolean includeBody)
+	{
+		return findPostsInfo(postRepository.findPageIds(specs, sort, offset, limit), includeBody);
+	}
+
+	/**
+	 * Loads the posts with their author and tags, in the order of the given ids.
+	 *
+	 * @param includeBody whether the whole posts are loaded, otherwise only the summaries are read and the body
+	 *                    column is never selected
+	 */
+	private List<PostSummaryWithAuthorAndTags> findPostsInfo(List<Long> ids, boolean includeBody)
+	{
+		if (ids.isEmpty())
+		{
+			return new ArrayList<>();
+		}
+
+		Map<Long, PostSummaryWithAuthorAndTags> postsById = includeBody ? findPostsWithBody(ids) : findSummaries(ids);
+		List<PostSummaryWithAuthorAndTags> posts = new ArrayList<>(ids.size());
+		for (Long id : ids)
+		{
+			PostSummaryWithAuthorAndTags post = postsById.get(id);
+			// The post may have been deleted between both queries.
+			if (post != null)
+			{
+				posts.add(post);
+			}
+		}
+		return posts;
+	}
+
+	private Map<Long, PostSummaryWithAuthorAndTags> findPostsWithBody(List<Long> ids)
+	{
+		Map<Long, PostSummaryWithAuthorAndTags> postsById = new HashMap<>(ids.size());
+		postRepository.findAllWithAuthorAndTagsByIdIn(ids)
+					  .forEach(post -> postsById.put(post.getId(),
+							  projectionFactory.createProjection(PostInfoWithAuthorAndTags.class, post)));
+		return postsById;
+	}
+
+	/**
+	 * Reads the summaries and the tags of the posts with two queries, without loading the entities.
+	 */
+	private Map<Long, PostSummaryWithAuthorAndTags> findSummaries(List<Long> ids)
+	{
+		Map<Long, Set<Tag>> tagsByPostId = new HashMap<>(ids.size());
+		for (PostTagRow row : postRepository.findTagRowsByPostIdIn(ids))
+		{
+			tagsByPostId.computeIfAbsent(row.getPostId(), postId -> new LinkedHashSet<>())
+						.add(row.getTag());
+		}
+
+		Map<Long, PostSummaryWithAuthorAndTags> postsById = new HashMap<>(ids.size());
+		for (PostSummaryRow row : postRepository.findSummaryRowsByIdIn(ids))
+		{
+			Map<String, Object> author = new HashMap<>();
+			author.put("id", row.getAuthorId());
+			author.put("name", row.getAuthorName());
+
+			Map<String, Object> summary = new HashMap<>();
+			summary.put("id", row.getId());
+			summary.put("title", row.getTitle());
+			summary.put("description", row.getDescription());
+			summary.put("readingTime", row.getReadingTime());
+			summary.put("publishedAt", row.getPublishedAt());
+			summary.put("commentsCount", row.getCommentsCount());
+			summary.put("author", author);
+			summary.put("tags", tagsByPostId.getOrDefault(row.getId(), Set.of()));
+			postsById.put(row.getId(), projectionFactory.createProjection(PostSummaryWithAuthorAndTags.class, summary));
+		}
+		return postsById;
+	}
+
+	@Transactional
 	public void deletePost(long id)
 	{
-		postRepository.deleteById(id);
+		deletePosts(List.of(id));
+	}
+
+	/**
+	 * Deletes the posts with set-based statements, neither the posts nor their comments are loaded.
+	 *
+	 * @return the number of deleted posts
+	 */
+	@Transactional
+	public int deletePosts(Collection<Long> ids)
+	{
+		if (ids.isEmpty())
+		{
+			return 0;
+		}
+
+		postRepository.deleteTagLinksByPostIdIn(ids);
+		int deleted = postRepository.deleteAllByIdIn(ids);
+		for (Long id : ids)
+		{
+			eventPublisher.publishEvent(new PostChangedEvent(id, PostChangedEvent.Type.DELETED));
+		}
+		return deleted;
 	}
 
 	public Post createPost(String title, long authorId)
 	{
-		User author = entityManager.getReference(User.class, authorId);
+		// Loaded rather than referenced, the author is part of the response. Users are in the second-level cache.
+		User author = entityManager.find(User.class, authorId);
 
 		Post newPost = new Post();
 		newPost.setTitle(textService.sanitizeText(title));
 		newPost.setAuthor(author);
 
-		return postRepository.save(newPost);
+		Post savedPost = postRepository.save(newPost);
+		// Drafts are in no public listing.
+		eventPublisher.publishEvent(new PostChangedEvent(savedPost.getId(), PostChangedEvent.Type.CREATED, Set.of()));
+		return savedPost;
+	}
+
+	/**
+	 * Loads and updates the post.
+	 *
+	 * @return the updated post, empty if it does not exist
+	 */
+	@Transactional
+	public Optional<PostInfoWithAuthorAndTags> updatePost(long id, String title, String body,
+														  Set<TagIdOrSlug> tagIdsOrSlugs)
+	{
+		return postRepository.findById(id)
+							 .map(post -> updatePost(post, title, body, tagIdsOrSlugs));
 	}
 
 	@Transactional
@@ -122,13 +424,14 @@ public class PostService
 			String sanitizedBody = textService.sanitizeText(body);
 			post.setBody(sanitizedBody);
 
-			// Parse markdown to plain text for processing.
-			String plainTextBody = markdownService.parseMarkdownToPlainText(sanitizedBody);
+			// Derive the plain text, description and word count in a single walk of the markdown.
+			MarkdownAnalysis analysis = markdownService.analyzeMarkdown(sanitizedBody, DESCRIPTION_WORD_COUNT);
+			post.setBodyText(analysis.plainText());
 			// Description
-			String description = textService.getFirstWordsSubstring(plainTextBody, 50) + "...";
+			String description = analysis.excerpt() + "...";
 			post.setDescription(description);
 			// Reading time
-			int readingTime = textService.estimateReadingTime(plainTextBody);
+			int readingTime = textService.estimateReadingTime(analysis.wordCount());
 			post.setReadingTime(readingTime);
 		}
 
@@ -138,50 +441,99 @@ public class PostService
 			post.setTitle(sanitizedTitle);
 		}
 
+		Set<Long> changedTagIds = Set.of();
 		if (tagIdsOrSlugs != null)
 		{
+			Set<Long> oldTagIds = getTagIds(post);
 			Set<Tag> newTags = getTagsFromIdOrSlug(tagIdsOrSlugs);
 			post.setTags(newTags);
+			changedTagIds = symmetricDifference(oldTagIds, getTagIds(post));
 		}
 
 		post = postRepository.save(post);
-		// Eager fetch tags and author, maybe there is a better way?
-		Set<Tag> postTags = post.getTags();
-		User author = post.getAuthor();
-		// Make a projection from the post.
-		ProjectionFactory pf = new SpelAwareProxyProjectionFactory();
-		PostInfoWithAuthorAndTags postProjection = pf.createProjection(PostInfoWithAuthorAndTags.class, post);
+		if (body != null)
+		{
+			postRenderService.render(post);
+		}
+		eventPublisher.publishEvent(new PostChangedEvent(post.getId(), PostChangedEvent.Type.UPDATED, changedTagIds));
+		// The projection is serialized after the transaction, its author and tags must be loaded now.
+		Hibernate.initialize(post.getAuthor());
+		Hibernate.initialize(post.getTags());
+		PostInfoWithAuthorAndTags postProjection = projectionFactory.createProjection(PostInfoWithAuthorAndTags.class,
+				post);
 
 		return postProjection;
 	}
 
+	private static Set<Long> getTagIds(Post post)
+	{
+		Set<Long> tagIds = new HashSet<>();
+		for (Tag tag : post.getTags())
+		{
+			tagIds.add(tag.getId());
+		}
+		return tagIds;
+	}
+
+	private static Set<Long> symmetricDifference(Set<Long> first, Set<Long> second)
+	{
+		Set<Long> difference = new HashSet<>(first);
+		for (Long id : second)
+		{
+			if (!difference.remove(id))
+			{
+				difference.add(id);
+			}
+		}
+		return difference;
+	}
+
+	/**
+	 * Resolves the tags with the tag dictionary, then loads them by id from the second-level cache. The tags end up in
+	 * the response, they must be initialized entities rather than proxies. Tags deleted since they were resolved are
+	 * left out.
+	 */
 	private Set<Tag> getTagsFromIdOrSlug(Set<TagIdOrSlug> tagIdOrSlugs)
 	{
-		Set<Tag> tags = new HashSet<>();
-		if (!tagIdOrSlugs.isEmpty())
+		Set<Tag> tags = new LinkedHashSet<>();
+		for (Long id : tagDictionaryService.resolveIds(tagIdOrSlugs))
 		{
-			List<Long> ids = new ArrayList<>();
-			List<String> slugs = new ArrayList<>();
-			for (TagIdOrSlug idOrSlug : tagIdOrSlugs)
+			Tag tag = entityManager.find(Tag.class, id);
+			if (tag != null)
 			{
-				if (idOrSlug.isSlug())
-				{
-					slugs.add(idOrSlug.getSlug());
-				} else
-				{
-					ids.add(idOrSlug.getId());
-				}
+				tags.add(tag);
 			}
-			// todo : is there a way to fetch entity references from a slug ?
-			tags = tagService.getAllTagsByIdOrSlug(ids, slugs);
 		}
 
 		return tags;
 	}
 
-	public Comment addCommentToPost(Post post, String username, String body)
+	public CommentInfo addCommentToPost(long postId, String username, String body)
+	{
+		// Not in a transaction, the caller must not hold a connection while its comment waits for the batch. Requests
+		// only hold one within a transaction, spring.jpa.open-in-view is disabled.
+		if (commentWriteBuffer.isEnabled())
+		{
+			Optional<CommentInfo> comment = commentWriteBuffer.addComment(postId, username, body);
+			if (comment.isPresent())
+			{
+				return comment.get();
+			}
+		}
+
+		return commentService.addCommentToPost(entityManager.getReference(Post.class, postId), username, body);
+	}
+
+	/**
+	 * Loads and publishes the post.
+	 *
+	 * @return the published post, empty if it does not exist
+	 */
+	@Transactional
+	public Optional<Post> publishPost(long id)
 	{
-		return commentService.addCommentToPost(post, username, body);
+		return postRepository.findById(id)
+							 .map(this::publishPost);
 	}
 
 	public Post publishPost(Post post)
@@ -193,7 +545,24 @@ public class PostService
 		}
 
 		post.setPublishedAt(OffsetDateTime.now());
-		return postRepository.save(post);
+		Post savedPost = postRepository.save(post);
+		// Usually already rendered by the last update, only drafts that kept the default body are rendered here.
+		postRenderService.render(savedPost);
+		eventPublisher.publishEvent(
+				new PostChangedEvent(post.getId(), PostChangedEvent.Type.PUBLISHED, getTagIds(post)));
+		return savedPost;
+	}
+
+	/**
+	 * Loads and hides the post.
+	 *
+	 * @return the hidden post, empty if it does not exist
+	 */
+	@Transactional
+	public Optional<Post> hidePost(long id)
+	{
+		return postRepository.findById(id)
+							 .map(this::hidePost);
 	}
 
 	public Post hidePost(Post post)
@@ -205,6 +574,8 @@ public class PostService
 		}
 
 		post.setPublishedAt(null);
-		return postRepository.save(post);
+		Post savedPost = postRepository.save(post);
+		eventPublisher.publishEvent(new PostChangedEvent(post.getId(), PostChangedEvent.Type.HIDDEN, getTagIds(post)));
+		return savedPost;
 	}
 }
@@ -0,0 +1,159 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.dto.tag.TagExpression;
+import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.event.TagChangedEvent;
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.Post_;
+import com.blog.api.apispring.projection.PostTagRow;
+import com.blog.api.apispring.repository.PostRepository;
+import com.blog.api.apispring.search.TagBitmapIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Keeps an in-memory {@link TagBitmapIndex} of the tags of the published posts, so that tag expressions are evaluated
+ * without a database connection and listings only hydrate the matching ids.
+ * <p>
+ * The index is loaded once the application is ready, then updated with the {@link PostChangedEvent} published by
+ * {@link PostService} and the deletions of tags. Enabled with {@code blog-api.posts.tag-filter.engine=memory}.
+ */
+@Service
+@ConditionalOnProperty(name = "blog-api.posts.tag-filter.engine", havingValue = "memory")
+@Slf4j
+public class PostTagIndexService
+{
+	private static final int LOAD_BATCH_SIZE = 200;
+
+	private final PostRepository postRepository;
+	private final TagDictionaryService tagDictionaryService;
+	private final int maxIds;
+	private final TagBitmapIndex index = new TagBitmapIndex();
+	private volatile boolean loaded;
+
+	public PostTagIndexService(PostRepository postRepository, TagDictionaryService tagDictionaryService,
+							   @Value("${blog-api.posts.tag-filter.max-ids:10000}") int maxIds)
+	{
+		this.postRepository = postRepository;
+		this.tagDictionaryService = tagDictionaryService;
+		this.maxIds = maxIds;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadIndex()
+	{
+		index.clear();
+		Pageable pageable = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by(Post_.id.getName()));
+		Slice<Post> posts;
+		do
+		{
+			posts = postRepository.findByPublishedAtIsNotNull(pageable);
+			indexPosts(posts.map(Post::getId)
+							.getContent());
+			pageable = posts.nextPageable();
+		} while (posts.hasNext());
+
+		loaded = true;
+		log.info("Indexed the tags of {} published posts", index.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event)
+	{
+		switch (event.type())
+		{
+			// New posts are drafts.
+			case CREATED ->
+			{
+			}
+			case HIDDEN, DELETED -> index.remove(event.postId());
+			case PUBLISHED, UPDATED -> postRepository.findById(event.postId())
+													 .filter(Post::isPublished)
+													 .ifPresentOrElse(post -> indexPosts(List.of(post.getId())),
+															 () -> index.remove(event.postId()));
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTagChanged(TagChangedEvent event)
+	{
+		if (event.type() == TagChangedEvent.Type.DELETED)
+		{
+			index.removeTag(event.tagId());
+		}
+	}
+
+	/**
+	 * Finds the published posts matching a tag expression.
+	 *
+	 * @return the ids of the matching posts in ascending order, null when the index is not loaded yet or when more
+	 * than {@code blog-api.posts.tag-filter.max-ids} posts match, the listing should filter in the database then
+	 */
+	public List<Long> matchingIds(TagExpression expression)
+	{
+		if (!loaded)
+		{
+			return null;
+		}
+
+		RoaringBitmap matching = index.evaluate(expression, this::resolveTagId);
+		if (matching.getCardinality() > maxIds)
+		{
+			return null;
+		}
+
+		List<Long> ids = new ArrayList<>(matching.getCardinality());
+		matching.forEach((int id) -> ids.add((long) id));
+		return ids;
+	}
+
+	/**
+	 * Counts the published posts matching a tag expression, a single tag gives the post count of that tag.
+	 *
+	 * @return the count, empty when the index is not loaded yet
+	 */
+	public OptionalLong count(TagExpression expression)
+	{
+		return loaded ? OptionalLong.of(index.count(expression, this::resolveTagId)) : OptionalLong.empty();
+	}
+
+	/**
+	 * Replaces the tags of published posts.
+	 */
+	private void indexPosts(List<Long> postIds)
+	{
+		if (postIds.isEmpty())
+		{
+			return;
+		}
+
+		Map<Long, List<Long>> tagIdsByPost = new HashMap<>();
+		postIds.forEach(postId -> tagIdsByPost.put(postId, new ArrayList<>()));
+		for (PostTagRow row : postRepository.findTagRowsByPostIdIn(postIds))
+		{
+			tagIdsByPost.get(row.getPostId())
+						.add(row.getTag()
+								.getId());
+		}
+		tagIdsByPost.forEach(index::put);
+	}
+
+	private Long resolveTagId(TagIdOrSlug tag)
+	{
+		return tag.isId() ? tag.getId() : tagDictionaryService.getTagId(tag.getSlug())
+															  .orElse(null);
+	}
+}
@@ -0,0 +1,75 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.event.RoleSecurityChangedEvent;
+import com.blog.api.apispring.model.Permission;
+import com.blog.api.apispring.model.Role;
+import com.blog.api.apispring.repository.RoleRepository;
+import com.blog.api.apispring.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Changes the permissions of the roles.
+ * <p>
+ * Access tokens carry the permissions of their user, so every change increments the security version of the users of
+ * the role: their tokens are then no longer trusted and their permissions are loaded again.
+ */
+@Service
+@Slf4j
+public class RoleService
+{
+	private final RoleRepository roleRepository;
+	private final UserRepository userRepository;
+	private final ApplicationEventPublisher eventPublisher;
+
+	public RoleService(RoleRepository roleRepository, UserRepository userRepository,
+					   ApplicationEventPublisher eventPublisher)
+	{
+		this.roleRepository = roleRepository;
+		this.userRepository = userRepository;
+		this.eventPublisher = eventPublisher;
+	}
+
+	/**
+	 * Replaces the permissions of the role, nothing is written when they are unchanged.
+	 *
+	 * @return the role, empty if it does not exist
+	 */
+	@Transactional
+	public Optional<Role> setPermissions(String name, Set<Permission> permissions)
+	{
+		Optional<Role> optionalRole = roleRepository.findByName(name);
+		if (optionalRole.isEmpty())
+		{
+			return optionalRole;
+		}
+
+		Role role = optionalRole.get();
+		if (idsOf(role.getPermissions()).equals(idsOf(permissions)))
+		{
+			return optionalRole;
+		}
+
+		role.setPermissions(new HashSet<>(permissions));
+		roleRepository.save(role);
+		int users = userRepository.incrementSecurityVersionByRoleId(role.getId());
+		eventPublisher.publishEvent(new RoleSecurityChangedEvent(role.getId()));
+		log.info("Changed the permissions of role {}, outdated the access tokens of {} users", name, users);
+		return optionalRole;
+	}
+
+	private static Set<Long> idsOf(Collection<Permission> permissions)
+	{
+		return permissions == null ? Set.of() : permissions.stream()
+														   .map(Permission::getId)
+														   .collect(Collectors.toSet());
+	}
+}
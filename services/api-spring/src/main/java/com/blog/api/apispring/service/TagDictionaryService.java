@@ -0,0 +1,201 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.event.TagChangedEvent;
+import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory dictionary of every tag, resolving a slug to its id and an id to its tag without a query.
+ * <p>
+ * Readers use an immutable snapshot, every change copies it. The dictionary is loaded once the application is ready
+ * and refreshed after the commit of the {@link TagChangedEvent} published by {@link TagService}. Tags missing from
+ * it, for instance written by another instance, are looked up in the database and added.
+ */
+@Service
+@Slf4j
+public class TagDictionaryService
+{
+	private final TagRepository tagRepository;
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+	// Incremented by every change, tags looked up while a change happened are not added.
+	private final AtomicLong generation = new AtomicLong();
+
+	public TagDictionaryService(TagRepository tagRepository)
+	{
+		this.tagRepository = tagRepository;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadTags()
+	{
+		reload();
+		log.info("Loaded {} tags in the tag dictionary", snapshot.tagsById()
+																 .size());
+	}
+
+	/**
+	 * Replaces the dictionary with the tags of the database.
+	 */
+	public synchronized void reload()
+	{
+		generation.incrementAndGet();
+		snapshot = Snapshot.of(copiesOf(tagRepository.findAll()));
+	}
+
+	/**
+	 * @return the tag, empty if it does not exist. The tag is shared and must not be modified.
+	 */
+	public Optional<Tag> getTag(long id)
+	{
+		Tag tag = snapshot.tagsById()
+						  .get(id);
+		if (tag != null)
+		{
+			return Optional.of(tag);
+		}
+
+		return Optional.ofNullable(lookUp(List.of(id), List.of()).tagsById()
+																 .get(id));
+	}
+
+	/**
+	 * @return the id of the tag, empty if it does not exist
+	 */
+	public Optional<Long> getTagId(String slug)
+	{
+		Long id = snapshot.idsBySlug()
+						  .get(slug);
+		if (id != null)
+		{
+			return Optional.of(id);
+		}
+
+		return Optional.ofNullable(lookUp(List.of(), List.of(slug)).idsBySlug()
+																   .get(slug));
+	}
+
+	/**
+	 * Resolves tags given by id or slug, tags that do not exist are left out.
+	 *
+	 * @return the ids of the existing tags
+	 */
+	public Set<Long> resolveIds(Collection<TagIdOrSlug> tagIdOrSlugs)
+	{
+		Snapshot current = snapshot;
+		Set<Long> ids = new LinkedHashSet<>();
+		List<Long> missingIds = new ArrayList<>();
+		List<String> missingSlugs = new ArrayList<>();
+		for (TagIdOrSlug idOrSlug : tagIdOrSlugs)
+		{
+			Long id = idOrSlug.isSlug() ? current.idsBySlug()
+												 .get(idOrSlug.getSlug()) : idOrSlug.getId();
+			if (id != null && current.tagsById()
+									 .containsKey(id))
+			{
+				ids.add(id);
+			} else if (idOrSlug.isSlug())
+			{
+				missingSlugs.add(idOrSlug.getSlug());
+			} else
+			{
+				missingIds.add(idOrSlug.getId());
+			}
+		}
+
+		if (missingIds.isEmpty() && missingSlugs.isEmpty())
+		{
+			return ids;
+		}
+
+		Snapshot found = lookUp(missingIds, missingSlugs);
+		ids.addAll(found.tagsById()
+						.keySet());
+		return ids;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onTagChanged(TagChangedEvent event)
+	{
+		generation.incrementAndGet();
+		Map<Long, Tag> tagsById = new HashMap<>(snapshot.tagsById());
+		tagsById.remove(event.tagId());
+		if (event.type() != TagChangedEvent.Type.DELETED)
+		{
+			tagRepository.findById(event.tagId())
+						 .ifPresent(tag -> tagsById.put(tag.getId(), copyOf(tag)));
+		}
+		snapshot = Snapshot.of(tagsById.values());
+	}
+
+	/**
+	 * Looks up tags missing from the dictionary and adds the ones found.
+	 *
+	 * @return the tags found
+	 */
+	private Snapshot lookUp(Collection<Long> ids, Collection<String> slugs)
+	{
+		long lookUpGeneration = generation.get();
+		Snapshot found = Snapshot.of(copiesOf(tagRepository.findAllByIdOrSlug(ids, slugs)));
+		if (found.tagsById()
+				 .isEmpty())
+		{
+			return found;
+		}
+
+		synchronized (this)
+		{
+			// A change committed during the lookup may have made the tags stale.
+			if (lookUpGeneration == generation.get())
+			{
+				Map<Long, Tag> tagsById = new HashMap<>(snapshot.tagsById());
+				tagsById.putAll(found.tagsById());
+				snapshot = Snapshot.of(tagsById.values());
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Detached copy of the tag, the dictionary never holds an instance managed by a persistence context.
+	 */
+	private static Tag copyOf(Tag tag)
+	{
+		Tag copy = new Tag(tag.getName(), tag.getSlug());
+		copy.setId(tag.getId());
+		return copy;
+	}
+
+	private static List<Tag> copiesOf(Iterable<Tag> tags)
+	{
+		List<Tag> copies = new ArrayList<>();
+		tags.forEach(tag -> copies.add(copyOf(tag)));
+		return copies;
+	}
+
+	private record Snapshot(Map<Long, Tag> tagsById,
+							Map<String, Long> idsBySlug)
+	{
+		static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+		static Snapshot of(Collection<Tag> tags)
+		{
+			Map<Long, Tag> tagsById = new HashMap<>();
+			Map<String, Long> idsBySlug = new HashMap<>();
+			for (Tag tag : tags)
+			{
+				tagsById.put(tag.getId(), tag);
+				idsBySlug.put(tag.getSlug(), tag.getId());
+			}
+			return new Snapshot(Map.copyOf(tagsById), Map.copyOf(idsBySlug));
+		}
+	}
+}
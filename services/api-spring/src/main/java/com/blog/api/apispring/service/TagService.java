@@ -1,28 +1,40 @@
 package com.blog.api.apispring.service;
 
 import com.blog.api.apispring.dto.tag.CreateTagRequest;
+import com.blog.api.apispring.dto.tag.TagPostCounts;
 import com.blog.api.apispring.dto.tag.UpdateTagRequest;
+import com.blog.api.apispring.event.TagChangedEvent;
 import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.projection.CollectionVersion;
+import com.blog.api.apispring.projection.EntityVersion;
+import com.blog.api.apispring.repository.PostRepository;
+import com.blog.api.apispring.repository.TagPostCountRepository;
 import com.blog.api.apispring.repository.TagRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.HtmlUtils;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 
 @Service
 public class TagService
 {
 	private final TagRepository tagRepository;
+	private final PostRepository postRepository;
+	private final TagPostCountRepository tagPostCountRepository;
 	private final TextService textService;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public TagService(TagRepository tagRepository, TextService textService)
+	public TagService(TagRepository tagRepository, PostRepository postRepository,
+					  TagPostCountRepository tagPostCountRepository, TextService textService,
+					  ApplicationEventPublisher eventPublisher)
 	{
 		this.tagRepository = tagRepository;
+		this.postRepository = postRepository;
+		this.tagPostCountRepository = tagPostCountRepository;
 		this.textService = textService;
+		this.eventPublisher = eventPublisher;
 	}
 
 	public Optional<Tag> getTag(Long id)
@@ -35,11 +47,49 @@ public class TagService
 		return tagRepository.findBySlug(slug);
 	}
 
+	public Optional<EntityVersion> getTagVersion(Long id)
+	{
+		return tagRepository.findVersionById(id);
+	}
+
+	public Optional<EntityVersion> getTagVersion(String slug)
+	{
+		return tagRepository.findVersionBySlug(slug);
+	}
+
+	public CollectionVersion getAllTagsVersion()
+	{
+		return tagRepository.findAllVersion();
+	}
+
+	/**
+	 * Version of the tags and of their post counts, which change without the tags when posts do.
+	 */
+	public CollectionVersion getAllTagsWithPostCountsVersion()
+	{
+		return tagPostCountRepository.findAllVersion();
+	}
+
 	public List<Tag> getAllTags()
 	{
 		return tagRepository.findAll();
 	}
 
+	/**
+	 * Reads the post counts of every tag from the tag_post_counts table, kept up to date by the database on every
+	 * change of the tags or the publication of a post, rather than counting the posts of each tag.
+	 *
+	 * @return the counts by tag id
+	 */
+	public Map<Long, TagPostCounts> getAllPostCounts()
+	{
+		Map<Long, TagPostCounts> postCounts = new HashMap<>();
+		tagPostCountRepository.findAll()
+							  .forEach(count -> postCounts.put(count.getTagId(),
+									  new TagPostCounts(count.getPublishedCount(), count.getTotalCount())));
+		return postCounts;
+	}
+
 	public Set<Tag> getAllTagsById(Iterable<Long> ids)
 	{
 		return tagRepository.findAllByIdOrSlug(ids, Collections.emptyList());
@@ -63,13 +113,19 @@ public class TagService
 	@Transactional
 	public Optional<Tag> deleteTag(Long id)
 	{
-		return tagRepository.deleteTagById(id);
+		Optional<Tag> deletedTag = tagRepository.deleteTagById(id);
+		deletedTag.ifPresent(
+				tag -> eventPublisher.publishEvent(new TagChangedEvent(tag.getId(), TagChangedEvent.Type.DELETED)));
+		return deletedTag;
 	}
 
 	@Transactional
 	public Optional<Tag> deleteTag(String slug)
 	{
-		return tagRepository.deleteTagBySlug(slug);
+		Optional<Tag> deletedTag = tagRepository.deleteTagBySlug(slug);
+		deletedTag.ifPresent(
+				tag -> eventPublisher.publishEvent(new TagChangedEvent(tag.getId(), TagChangedEvent.Type.DELETED)));
+		return deletedTag;
 	}
 
 	@Transactional
@@ -78,6 +134,7 @@ public class TagService
 		Tag newTag = new Tag(textService.sanitizeText(createTagDto.name()),
 				textService.sanitizeText(createTagDto.slug()));
 		newTag = tagRepository.save(newTag);
+		eventPublisher.publishEvent(new TagChangedEvent(newTag.getId(), TagChangedEvent.Type.CREATED));
 
 		return newTag;
 	}
@@ -85,10 +142,15 @@ public class TagService
 	@Transactional
 	public Tag updateTag(Long id, UpdateTagRequest updateTagDto)
 	{
-		Tag updatedTag = new Tag(textService.sanitizeText(updateTagDto.name()),
-				textService.sanitizeText(updateTagDto.slug()));
-		updatedTag.setId(id);
+		// Update the managed tag, a detached copy would not carry the current version.
+		Tag updatedTag = tagRepository.findById(id)
+									  .orElseThrow();
+		updatedTag.setName(textService.sanitizeText(updateTagDto.name()));
+		updatedTag.setSlug(textService.sanitizeText(updateTagDto.slug()));
 		updatedTag = tagRepository.save(updatedTag);
+		// Posts show their tags, their validators change with the tag.
+		postRepository.touchByTagId(id);
+		eventPublisher.publishEvent(new TagChangedEvent(id, TagChangedEvent.Type.UPDATED));
 
 		return updatedTag;
 	}
@@ -4,13 +4,24 @@ import org.jsoup.Jsoup;
 import org.jsoup.safety.Cleaner;
 import org.jsoup.safety.Safelist;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 public class TextService
 {
+	private static final String SANITIZED_TEXTS_ATTRIBUTE = TextService.class.getName() + ".SANITIZED_TEXTS";
+	private static final Pattern WORD_PATTERN = Pattern.compile("\\S+");
+	private static final int WORDS_PER_MINUTE = 200;
+	// Strikethrough is rendered as del, which the relaxed safelist does not have.
+	private static final Safelist HTML_SAFELIST = Safelist.relaxed()
+														  .addTags("del");
+
 	public String getFirstWordsSubstring(String text, int wordCount)
 	{
 		wordCount = Math.max(1, wordCount);
@@ -32,21 +43,111 @@ public class TextService
 
 	public int estimateReadingTime(String text)
 	{
-		Pattern pattern = Pattern.compile("\\S+");
-		Matcher matcher = pattern.matcher(text);
+		Matcher matcher = WORD_PATTERN.matcher(text);
 		int count = 0;
 		while (matcher.find())
 		{
 			count += 1;
 		}
 
-		return count > 0 ? Math.max(count / 200, 1) : 1;
+		return estimateReadingTime(count);
 	}
 
+	/**
+	 * @return the reading time in minutes of a text of the given number of words, at least one
+	 */
+	public int estimateReadingTime(int wordCount)
+	{
+		return wordCount > 0 ? Math.max(wordCount / WORDS_PER_MINUTE, 1) : 1;
+	}
+
+	/**
+	 * Removes every HTML element of the text and decodes its entities.
+	 * <p>
+	 * Most texts hold no markup, they are scanned once and returned as they are. The others are parsed by Jsoup and
+	 * the result is kept for the current request, so that validating a field with {@code @NoXSS} then sanitizing it
+	 * only parses it once.
+	 */
 	public String sanitizeText(String text)
+	{
+		if (isPlainText(text))
+		{
+			return text;
+		}
+
+		Map<String, String> sanitizedTexts = getRequestSanitizedTexts();
+		if (sanitizedTexts == null)
+		{
+			return cleanText(text);
+		}
+		return sanitizedTexts.computeIfAbsent(text, TextService::cleanText);
+	}
+
+	/**
+	 * Whether Jsoup would return the text unchanged: it has no tag, entity, carriage return or null character, and
+	 * does not start with whitespace, which the parser drops before the body.
+	 */
+	static boolean isPlainText(String text)
+	{
+		if (text.isEmpty())
+		{
+			return true;
+		}
+		if (isHtmlWhitespace(text.charAt(0)))
+		{
+			return false;
+		}
+
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if (c == '<' || c == '&' || c == '\r' || c == '\0')
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isHtmlWhitespace(char c)
+	{
+		return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r';
+	}
+
+	private static String cleanText(String text)
 	{
 		Cleaner cleaner = new Cleaner(Safelist.none());
 		return cleaner.clean(Jsoup.parse(text))
 					  .wholeText();
 	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, String> getRequestSanitizedTexts()
+	{
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes == null)
+		{
+			return null;
+		}
+
+		Object sanitizedTexts = requestAttributes.getAttribute(SANITIZED_TEXTS_ATTRIBUTE,
+				RequestAttributes.SCOPE_REQUEST);
+		if (sanitizedTexts == null)
+		{
+			sanitizedTexts = new HashMap<String, String>();
+			requestAttributes.setAttribute(SANITIZED_TEXTS_ATTRIBUTE, sanitizedTexts, RequestAttributes.SCOPE_REQUEST);
+		}
+		return (Map<String, String>) sanitizedTexts;
+	}
+
+	/**
+	 * Keeps only the formatting elements and attributes of the HTML, scripts, styles and event handlers are removed.
+	 */
+	public String sanitizeHtml(String html)
+	{
+		Cleaner cleaner = new Cleaner(HTML_SAFELIST);
+		return cleaner.clean(Jsoup.parseBodyFragment(html))
+					  .body()
+					  .html();
+	}
 }
@@ -1,8 +1,10 @@
 package com.blog.api.apispring.service;
 
+import com.blog.api.apispring.event.UserSecurityChangedEvent;
 import com.blog.api.apispring.model.Role;
 import com.blog.api.apispring.model.User;
 import com.blog.api.apispring.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,12 +17,15 @@ public class UserService
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
 	private final PostService postService;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, PostService postService)
+	public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, PostService postService,
+					   ApplicationEventPublisher eventPublisher)
 	{
 		this.userRepository = userRepository;
 		this.passwordEncoder = passwordEncoder;
 		this.postService = postService;
+		this.eventPublisher = eventPublisher;
 	}
 
 	public Optional<User> findById(Long id)
@@ -54,6 +59,8 @@ public class UserService
 			throw new IllegalArgumentException("Given user is null");
 		}
 
-		return userRepository.save(user);
+		User savedUser = userRepository.save(user);
+		eventPublisher.publishEvent(new UserSecurityChangedEvent(savedUser.getId()));
+		return savedUser;
 	}
 }
@@ -0,0 +1,94 @@
+package com.blog.api.apispring.specs;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.metamodel.model.domain.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * Registers the functions used by the Postgres full-text search of posts.
+ * <p>
+ * The {@code search_vector} column is generated by the database (see the V5 migration) and is not mapped on
+ * {@link com.blog.api.apispring.model.Post} so that it is never loaded with a post. Both functions take the post id as
+ * first argument only to find the alias of the posts table, and the search query as second argument:
+ * <ul>
+ *     <li>{@code post_search_match(p.id, q)} renders {@code p.search_vector @@ websearch_to_tsquery('english', q)}</li>
+ *     <li>{@code post_search_rank(p.id, q)} renders {@code ts_rank(p.search_vector, websearch_to_tsquery(...))}</li>
+ * </ul>
+ * Nothing is registered on other databases.
+ */
+public class PostSearchFunctionContributor implements FunctionContributor
+{
+	public static final String MATCH_FUNCTION = "post_search_match";
+	public static final String RANK_FUNCTION = "post_search_rank";
+
+	private static final String SEARCH_VECTOR_COLUMN = "search_vector";
+	private static final String TEXT_SEARCH_CONFIG = "english";
+
+	@Override
+	public void contributeFunctions(FunctionContributions functionContributions)
+	{
+		if (!(functionContributions.getDialect() instanceof PostgreSQLDialect))
+		{
+			return;
+		}
+
+		BasicTypeRegistry basicTypes = functionContributions.getTypeConfiguration()
+															.getBasicTypeRegistry();
+		SqmFunctionRegistry functionRegistry = functionContributions.getFunctionRegistry();
+		functionRegistry.register(MATCH_FUNCTION,
+				new SearchVectorFunction(MATCH_FUNCTION, false, basicTypes.resolve(StandardBasicTypes.BOOLEAN)));
+		functionRegistry.register(RANK_FUNCTION,
+				new SearchVectorFunction(RANK_FUNCTION, true, basicTypes.resolve(StandardBasicTypes.FLOAT)));
+	}
+
+	private static class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor
+	{
+		private final boolean rank;
+
+		SearchVectorFunction(String name, boolean rank, BasicType<?> returnType)
+		{
+			super(name, StandardArgumentsValidators.exactly(2),
+					StandardFunctionReturnTypeResolvers.invariant(returnType),
+					StandardFunctionArgumentTypeResolvers.NULL);
+			this.rank = rank;
+		}
+
+		@Override
+		public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> sqlAstArguments,
+						   ReturnableType<?> returnType, SqlAstTranslator<?> walker)
+		{
+			String searchVector = searchVector(sqlAstArguments.get(0));
+			sqlAppender.appendSql(rank ? "ts_rank(" + searchVector + ", " : "(" + searchVector + " @@ ");
+			sqlAppender.appendSql("websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', ");
+			sqlAstArguments.get(1)
+						   .accept(walker);
+			sqlAppender.appendSql("))");
+		}
+
+		private static String searchVector(SqlAstNode postId)
+		{
+			ColumnReference column = ((Expression) postId).getColumnReference();
+			if (column == null || column.getQualifier() == null)
+			{
+				return SEARCH_VECTOR_COLUMN;
+			}
+			return column.getQualifier() + "." + SEARCH_VECTOR_COLUMN;
+		}
+	}
+}
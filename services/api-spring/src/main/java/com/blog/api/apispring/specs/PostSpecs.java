@@ -1,17 +1,23 @@
 package com.blog.api.apispring.specs;
 
+import com.blog.api.apispring.dto.posts.PostCursor;
+import com.blog.api.apispring.dto.tag.TagExpression;
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.enums.PostSortBy;
 import com.blog.api.apispring.model.Post;
 import com.blog.api.apispring.model.Post_;
+import com.blog.api.apispring.model.Tag;
 import com.blog.api.apispring.model.Tag_;
 import com.blog.api.apispring.model.User_;
-import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.PredicateSpecification;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.OffsetDateTime;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 public class PostSpecs
 {
@@ -36,49 +42,163 @@ public class PostSpecs
 						from.get(Post_.title)), criteriaBuilder.lower(criteriaBuilder.literal("%" + q + "%")));
 	}
 
-	public static Specification<Post> withTags(Collection<TagIdOrSlug> tags)
+	/**
+	 * Full-text search over title, description and body, only available on Postgres.
+	 *
+	 * @see PostSearchFunctionContributor
+	 */
+	public static PredicateSpecification<Post> matches(String q)
 	{
-		if (tags == null || tags.isEmpty())
-		{
-			return ((_, query, criteriaBuilder) ->
-					{
-						query.distinct(true);
-						return criteriaBuilder.conjunction();
-					});
-		}
+		return (from, criteriaBuilder) ->
+				q == null || q.isBlank() ? criteriaBuilder.conjunction() : criteriaBuilder.isTrue(
+						criteriaBuilder.function(PostSearchFunctionContributor.MATCH_FUNCTION, Boolean.class,
+								from.get(Post_.id), criteriaBuilder.literal(q)));
+	}
 
-		Set<Long> tagIds = new HashSet<>();
-		Set<String> tagSlugs = new HashSet<>();
-		for (TagIdOrSlug idOrSlug : tags)
+	/**
+	 * Orders the posts by full-text search rank, best match first, only available on Postgres.
+	 */
+	public static Specification<Post> orderByRelevance(String q)
+	{
+		return (from, query, criteriaBuilder) ->
 		{
-			if (idOrSlug.isId())
+			if (query != null)
 			{
-				tagIds.add(idOrSlug.getId());
-			} else if (idOrSlug.isSlug())
-			{
-				tagSlugs.add(idOrSlug.getSlug());
+				Expression<Float> rank = criteriaBuilder.function(PostSearchFunctionContributor.RANK_FUNCTION,
+						Float.class, from.get(Post_.id), criteriaBuilder.literal(q));
+				query.orderBy(criteriaBuilder.desc(rank), criteriaBuilder.desc(from.get(Post_.id)));
 			}
+			return criteriaBuilder.conjunction();
+		};
+	}
+
+	/**
+	 * Keeps the posts having at least one of the given tags.
+	 * <p>
+	 * Written as an {@code exists} semi-join on posts_tags rather than a join, so that a post matching several tags is
+	 * returned once without a {@code distinct} over the whole post row. Only the tag ids are compared, the tags table
+	 * is not joined; slugs are resolved beforehand with {@link com.blog.api.apispring.service.TagDictionaryService}.
+	 */
+	public static Specification<Post> withTags(Collection<Long> tagIds)
+	{
+		if (tagIds == null || tagIds.isEmpty())
+		{
+			return ((_, _, criteriaBuilder) -> criteriaBuilder.conjunction());
 		}
 
+		Set<Long> ids = Set.copyOf(tagIds);
 		return (from, query, criteriaBuilder) ->
 		{
-			query.distinct(true);
+			Subquery<Long> subquery = query.subquery(Long.class);
+			Join<Post, Tag> tag = subquery.correlate(from)
+										  .join(Post_.tags);
 
-			CriteriaBuilder.In<Object> inIds = criteriaBuilder.in(from.get(Post_.TAGS)
-																	  .get(Tag_.ID));
-			inIds.value(tagIds);
+			subquery.select(tag.get(Tag_.id))
+					.where(tag.get(Tag_.id)
+							  .in(ids));
+			return criteriaBuilder.exists(subquery);
+		};
+	}
 
-			CriteriaBuilder.In<Object> inSlugs = criteriaBuilder.in(from.get(Post_.TAGS)
-																		.get(Tag_.SLUG));
-			inSlugs.value(tagSlugs);
+	/**
+	 * Keeps the posts whose tags match a boolean tag expression, each tag of the expression being an {@code exists}
+	 * semi-join on posts_tags like {@link #withTags(Collection)}.
+	 *
+	 * @param tagIds resolves a tag of the expression to its id, null when the tag does not exist
+	 */
+	public static Specification<Post> matchingTags(TagExpression expression, Function<TagIdOrSlug, Long> tagIds)
+	{
+		return (from, query, criteriaBuilder) -> tagPredicate(expression, tagIds, from, query, criteriaBuilder);
+	}
 
-			return criteriaBuilder.or(inIds, inSlugs);
+	private static Predicate tagPredicate(TagExpression expression, Function<TagIdOrSlug, Long> tagIds,
+										  Root<Post> from, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder)
+	{
+		return switch (expression)
+		{
+			case TagExpression.Tag(TagIdOrSlug tagIdOrSlug) ->
+			{
+				Long tagId = tagIds.apply(tagIdOrSlug);
+				if (tagId == null)
+				{
+					yield criteriaBuilder.disjunction();
+				}
+
+				Subquery<Long> subquery = query.subquery(Long.class);
+				Join<Post, Tag> tag = subquery.correlate(from)
+											  .join(Post_.tags);
+				yield criteriaBuilder.exists(subquery.select(tag.get(Tag_.id))
+													 .where(criteriaBuilder.equal(tag.get(Tag_.id), tagId)));
+			}
+			case TagExpression.And(List<TagExpression> operands) ->
+					criteriaBuilder.and(tagPredicates(operands, tagIds, from, query, criteriaBuilder));
+			case TagExpression.Or(List<TagExpression> operands) ->
+					criteriaBuilder.or(tagPredicates(operands, tagIds, from, query, criteriaBuilder));
+			case TagExpression.Not(TagExpression operand) -> criteriaBuilder.not(
+					tagPredicate(operand, tagIds, from, query, criteriaBuilder));
 		};
 	}
 
+	private static Predicate[] tagPredicates(List<TagExpression> operands, Function<TagIdOrSlug, Long> tagIds,
+											 Root<Post> from, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder)
+	{
+		return operands.stream()
+					   .map(operand -> tagPredicate(operand, tagIds, from, query, criteriaBuilder))
+					   .toArray(Predicate[]::new);
+	}
+
+	public static PredicateSpecification<Post> withIds(Collection<Long> ids)
+	{
+		return (from, criteriaBuilder) -> ids.isEmpty() ? criteriaBuilder.disjunction() : from.get(Post_.id)
+																						   .in(ids);
+	}
+
 	public static PredicateSpecification<Post> withAuthor(long userId)
 	{
 		return ((from, criteriaBuilder) -> criteriaBuilder.equal(from.get(Post_.AUTHOR)
 																	 .get(User_.ID), userId));
 	}
+
+	/**
+	 * Seek predicate for keyset pagination, only keeps the rows located after the cursor in its reading order.
+	 * <p>
+	 * Equivalent to {@code (published_at, id) < (?, ?)} for a descending read, written as
+	 * {@code published_at <= ? and (published_at < ? or id < ?)} so that the leading column stays usable as an index
+	 * bound. Unpublished posts have a null publishedAt which, as in Postgres, sorts after every date.
+	 */
+	public static PredicateSpecification<Post> after(PostCursor cursor)
+	{
+		return (from, criteriaBuilder) ->
+		{
+			Path<Long> id = from.get(Post_.id);
+			boolean ascending = cursor.isAscending();
+			Predicate idAfter = ascending ? criteriaBuilder.greaterThan(id, cursor.id()) : criteriaBuilder.lessThan(id,
+					cursor.id());
+
+			PostSortBy sortBy = cursor.sortBy();
+			if (sortBy == PostSortBy.ID_ASC || sortBy == PostSortBy.ID_DESC)
+			{
+				return idAfter;
+			}
+
+			Path<OffsetDateTime> publishedAt = from.get(Post_.publishedAt);
+			OffsetDateTime cursorPublishedAt = cursor.publishedAt();
+			if (cursorPublishedAt == null)
+			{
+				// Cursor is on an unpublished post, nulls come last.
+				Predicate sameKey = criteriaBuilder.and(criteriaBuilder.isNull(publishedAt), idAfter);
+				return ascending ? sameKey : criteriaBuilder.or(criteriaBuilder.isNotNull(publishedAt), sameKey);
+			}
+
+			if (ascending)
+			{
+				return criteriaBuilder.or(criteriaBuilder.greaterThan(publishedAt, cursorPublishedAt),
+						criteriaBuilder.and(criteriaBuilder.equal(publishedAt, cursorPublishedAt), idAfter),
+						criteriaBuilder.isNull(publishedAt));
+			}
+
+			return criteriaBuilder.and(criteriaBuilder.lessThanOrEqualTo(publishedAt, cursorPublishedAt),
+					criteriaBuilder.or(criteriaBuilder.lessThan(publishedAt, cursorPublishedAt), idAfter));
+		};
+	}
 }
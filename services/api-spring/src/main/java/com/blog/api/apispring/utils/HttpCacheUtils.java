@@ -0,0 +1,60 @@
+package com.blog.api.apispring.utils;
+
+import com.blog.api.apispring.projection.CollectionVersion;
+import com.blog.api.apispring.projection.EntityVersion;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Validators (ETag and Last-Modified) of conditional GET requests, computed from versions read without loading the
+ * resources.
+ */
+public class HttpCacheUtils
+{
+	/**
+	 * Strong ETag of a single resource, it changes with the version and with the update time, which bulk updates touch
+	 * without incrementing the version.
+	 *
+	 * @param resource the type of the resource
+	 * @param id       the id or slug of the resource, as it appears in the URL
+	 */
+	public static String eTag(String resource, Object id, EntityVersion version)
+	{
+		return "\"" + resource + "-" + id + "-" + version.getVersion() + "-" + toEpochMicro(version.getUpdatedAt()) +
+				"\"";
+	}
+
+	/**
+	 * Strong ETag of a collection, it changes with the number of elements and the last update of one of them.
+	 *
+	 * @param resource the collection, unique among all collections
+	 */
+	public static String eTag(String resource, CollectionVersion version)
+	{
+		return "\"" + resource + "-" + version.getCount() + "-" + toEpochMilli(version.getUpdatedAt()) + "\"";
+	}
+
+	/**
+	 * Checks the conditional headers of the request and adds the validators to the response.
+	 *
+	 * @return true when the client copy is up to date, the response status is then already 304
+	 */
+	public static boolean checkNotModified(WebRequest webRequest, String eTag, OffsetDateTime updatedAt)
+	{
+		return webRequest.checkNotModified(eTag, toEpochMilli(updatedAt));
+	}
+
+	private static long toEpochMicro(OffsetDateTime dateTime)
+	{
+		return dateTime == null ? -1 : ChronoUnit.MICROS.between(Instant.EPOCH, dateTime.toInstant());
+	}
+
+	private static long toEpochMilli(OffsetDateTime dateTime)
+	{
+		return dateTime == null ? -1 : dateTime.toInstant()
+											   .toEpochMilli();
+	}
+}
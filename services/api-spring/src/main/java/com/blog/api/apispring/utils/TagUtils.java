@@ -8,6 +8,60 @@ public class TagUtils
 
 	public static boolean isSlug(@NonNull String slug)
 	{
-		return slug.length() <= 30 && slug.matches(SLUG_REGEX);
+		return slug.length() <= 30 && matchesSlugFormat(slug);
+	}
+
+	/**
+	 * Same as matching {@link #SLUG_REGEX}, without the regex: lowercase letters and digits in groups separated by
+	 * single dashes.
+	 */
+	public static boolean matchesSlugFormat(@NonNull String value)
+	{
+		if (value.isEmpty())
+		{
+			return false;
+		}
+
+		boolean afterDash = true;
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			if (c == '-')
+			{
+				if (afterDash)
+				{
+					return false;
+				}
+				afterDash = true;
+			} else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))
+			{
+				afterDash = false;
+			} else
+			{
+				return false;
+			}
+		}
+		return !afterDash;
+	}
+
+	/**
+	 * Whether the value is a non-empty sequence of ASCII digits.
+	 */
+	public static boolean isDigits(@NonNull String value)
+	{
+		if (value.isEmpty())
+		{
+			return false;
+		}
+
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			if (c < '0' || c > '9')
+			{
+				return false;
+			}
+		}
+		return true;
 	}
 }
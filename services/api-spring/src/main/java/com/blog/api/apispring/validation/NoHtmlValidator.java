@@ -1,20 +1,36 @@
 package com.blog.api.apispring.validation;
 
+import com.blog.api.apispring.service.TextService;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import org.jsoup.Jsoup;
-import org.jsoup.safety.Cleaner;
-import org.jsoup.safety.Safelist;
+import org.springframework.beans.factory.annotation.Autowired;
 
 public class NoHtmlValidator implements ConstraintValidator<NoXSS, String>
 {
+	private final TextService textService;
+
+	/**
+	 * Used when the validator is not created by Spring.
+	 */
+	public NoHtmlValidator()
+	{
+		this(new TextService());
+	}
+
+	/**
+	 * Shares the sanitized texts of the request with the services, which sanitize the validated fields again.
+	 */
+	@Autowired
+	public NoHtmlValidator(TextService textService)
+	{
+		this.textService = textService;
+	}
+
 	@Override
 	public boolean isValid(String value, ConstraintValidatorContext ctx)
 	{
 		if (value == null) return true;
-		Cleaner cleaner = new Cleaner(Safelist.none());
-		String text = cleaner.clean(Jsoup.parse(value))
-							 .wholeText();
-		return text.equals(value);
+		return textService.sanitizeText(value)
+						  .equals(value);
 	}
-}
\ No newline at end of file
+}
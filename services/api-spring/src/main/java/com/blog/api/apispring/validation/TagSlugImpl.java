@@ -13,6 +13,6 @@ public class TagSlugImpl implements ConstraintValidator<TagSlug, String>
 		{
 			return false;
 		}
-		return value.matches(TagUtils.SLUG_REGEX);
+		return TagUtils.matchesSlugFormat(value);
 	}
 }
@@ -0,0 +1,92 @@
+CREATE TABLE tag_post_counts
+(
+    tag_id          BIGINT                                             NOT NULL,
+    published_count BIGINT                   DEFAULT 0                 NOT NULL,
+    total_count     BIGINT                   DEFAULT 0                 NOT NULL,
+    updated_at      TIMESTAMP WITH TIME ZONE DEFAULT clock_timestamp() NOT NULL,
+    CONSTRAINT pk_tag_post_counts PRIMARY KEY (tag_id)
+);
+
+ALTER TABLE tag_post_counts
+    ADD CONSTRAINT fk_tag_post_counts_on_tag FOREIGN KEY (tag_id) REFERENCES tags (id) ON DELETE CASCADE;
+
+INSERT INTO tag_post_counts (tag_id, published_count, total_count)
+SELECT t.id,
+       COUNT(p.id) FILTER (WHERE p.published_at IS NOT NULL),
+       COUNT(p.id)
+FROM tags t
+         LEFT JOIN posts_tags pt ON pt.tag_id = t.id
+         LEFT JOIN posts p ON p.id = pt.post_id
+GROUP BY t.id;
+
+-- Every tag has a row, created with the tag.
+CREATE FUNCTION tag_post_counts_on_tag_insert() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO tag_post_counts (tag_id) VALUES (NEW.id);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER tags_post_counts_insert
+    AFTER INSERT
+    ON tags
+    FOR EACH ROW
+EXECUTE FUNCTION tag_post_counts_on_tag_insert();
+
+-- A post gains or loses a tag. Links are always removed before their post, posts_tags has no cascade.
+CREATE FUNCTION tag_post_counts_on_link_change() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    link      posts_tags;
+    delta     BIGINT;
+    published BOOLEAN;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        link := NEW;
+        delta := 1;
+    ELSE
+        link := OLD;
+        delta := -1;
+    END IF;
+
+    SELECT p.published_at IS NOT NULL INTO published FROM posts p WHERE p.id = link.post_id;
+
+    UPDATE tag_post_counts
+    SET total_count     = total_count + delta,
+        published_count = published_count + CASE WHEN published THEN delta ELSE 0 END,
+        updated_at      = clock_timestamp()
+    WHERE tag_id = link.tag_id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER posts_tags_post_counts
+    AFTER INSERT OR DELETE
+    ON posts_tags
+    FOR EACH ROW
+EXECUTE FUNCTION tag_post_counts_on_link_change();
+
+-- A post is published or hidden, the published count of each of its tags changes.
+CREATE FUNCTION tag_post_counts_on_publish_change() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE tag_post_counts c
+    SET published_count = published_count + CASE WHEN NEW.published_at IS NULL THEN -1 ELSE 1 END,
+        updated_at      = clock_timestamp()
+    FROM posts_tags pt
+    WHERE pt.post_id = NEW.id
+      AND c.tag_id = pt.tag_id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER posts_post_counts_publish
+    AFTER UPDATE OF published_at
+    ON posts
+    FOR EACH ROW
+    WHEN ((OLD.published_at IS NULL) <> (NEW.published_at IS NULL))
+EXECUTE FUNCTION tag_post_counts_on_publish_change();
@@ -0,0 +1,3 @@
+-- Renders made before the renderer was recorded are stale, they are rendered again on their next read.
+ALTER TABLE post_renders
+    ADD COLUMN renderer VARCHAR(16) DEFAULT '' NOT NULL;
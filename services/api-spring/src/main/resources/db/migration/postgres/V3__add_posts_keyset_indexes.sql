@@ -0,0 +1,2 @@
+-- Keyset pagination seeks on (published_at, id), the index is scanned backward for descending reads.
+CREATE INDEX ix_posts_published_at_id ON posts (published_at, id);
@@ -0,0 +1,9 @@
+ALTER TABLE posts
+    ADD COLUMN comments_count BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE posts p
+SET comments_count = c.count
+FROM (SELECT post_id, COUNT(*) AS count
+      FROM comments
+      GROUP BY post_id) c
+WHERE c.post_id = p.id;
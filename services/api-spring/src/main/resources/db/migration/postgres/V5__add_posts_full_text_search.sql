@@ -0,0 +1,15 @@
+ALTER TABLE posts
+    ADD COLUMN body_text TEXT DEFAULT '' NOT NULL;
+
+-- Plain text is computed by the application on the next update, the raw markdown is a close enough start.
+UPDATE posts
+SET body_text = body;
+
+ALTER TABLE posts
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', description), 'B') ||
+        setweight(to_tsvector('english', body_text), 'C')
+        ) STORED;
+
+CREATE INDEX ix_posts_search_vector ON posts USING GIN (search_vector);
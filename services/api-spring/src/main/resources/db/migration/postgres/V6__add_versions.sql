@@ -0,0 +1,11 @@
+ALTER TABLE posts
+    ADD COLUMN version    BIGINT                   DEFAULT 0     NOT NULL,
+    ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT now() NOT NULL;
+
+ALTER TABLE comments
+    ADD COLUMN version    BIGINT                   DEFAULT 0     NOT NULL,
+    ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT now() NOT NULL;
+
+ALTER TABLE tags
+    ADD COLUMN version    BIGINT                   DEFAULT 0     NOT NULL,
+    ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT now() NOT NULL;
@@ -0,0 +1,10 @@
+CREATE TABLE post_renders
+(
+    post_id   BIGINT      NOT NULL,
+    body_hash VARCHAR(64) NOT NULL,
+    html      TEXT        NOT NULL,
+    CONSTRAINT pk_post_renders PRIMARY KEY (post_id)
+);
+
+ALTER TABLE post_renders
+    ADD CONSTRAINT fk_post_renders_on_post FOREIGN KEY (post_id) REFERENCES posts (id) ON DELETE CASCADE;
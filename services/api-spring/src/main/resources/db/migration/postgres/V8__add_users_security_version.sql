@@ -0,0 +1,2 @@
+ALTER TABLE users
+    ADD COLUMN security_version BIGINT DEFAULT 0 NOT NULL;
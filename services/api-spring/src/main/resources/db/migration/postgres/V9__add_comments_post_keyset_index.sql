@@ -0,0 +1,2 @@
+-- Comments of a post are read by post_id, in (created_at, id) order, with keyset pagination.
+CREATE INDEX ix_comments_post_id_created_at_id ON comments (post_id, created_at, id);
@@ -0,0 +1,94 @@
+package com.blog.api.apispring.benchmark;
+
+import com.blog.api.apispring.ApiSpringApplication;
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.User;
+import com.blog.api.apispring.projection.CommentInfo;
+import com.blog.api.apispring.repository.PostRepository;
+import com.blog.api.apispring.repository.UserRepository;
+import com.blog.api.apispring.service.CommentService;
+import com.blog.api.apispring.service.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds comments to one post from concurrent threads, like a burst of comments on a popular post, comparing the write
+ * path that builds the response from the inserted entity against the former path that read the comment again.
+ * <p>
+ * Runs against a PostgreSQL container, Docker is required. Not run by the tests, start it with the main method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentWriteBenchmark
+{
+	private PostgreSQLContainer<?> postgresContainer;
+	private ConfigurableApplicationContext context;
+	private PostService postService;
+	private CommentService commentService;
+	private long postId;
+
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder().include(CommentWriteBenchmark.class.getSimpleName())
+									   .build()).run();
+	}
+
+	@Setup
+	public void setUp()
+	{
+		postgresContainer = new PostgreSQLContainer<>("postgres:16.11-bookworm");
+		postgresContainer.start();
+		context = new SpringApplicationBuilder(ApiSpringApplication.class).properties(
+				"spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+				"spring.datasource.username=" + postgresContainer.getUsername(),
+				"spring.datasource.password=" + postgresContainer.getPassword(),
+				"spring.docker.compose.enabled=false",
+				"server.port=0").run();
+		postService = context.getBean(PostService.class);
+		commentService = context.getBean(CommentService.class);
+
+		User author = context.getBean(UserRepository.class)
+							 .save(new User("author@blog.com", "Author", "password"));
+		Post post = new Post();
+		post.setTitle("Trending post");
+		post.setAuthor(author);
+		post.setPublishedAt(OffsetDateTime.now());
+		postId = context.getBean(PostRepository.class)
+						.save(post)
+						.getId();
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		context.close();
+		postgresContainer.stop();
+	}
+
+	@Benchmark
+	public CommentInfo addComment()
+	{
+		return postService.addCommentToPost(postId, "Reader", "Great post!");
+	}
+
+	@Benchmark
+	public void addCommentThenReadAgain(Blackhole blackhole)
+	{
+		CommentInfo commentInfo = postService.addCommentToPost(postId, "Reader", "Great post!");
+		blackhole.consume(commentService.getCommentInfo(commentInfo.getId()));
+	}
+}
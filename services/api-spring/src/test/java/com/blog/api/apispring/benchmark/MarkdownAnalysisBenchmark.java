@@ -0,0 +1,87 @@
+package com.blog.api.apispring.benchmark;
+
+import com.blog.api.apispring.markdown.MarkdownAnalysis;
+import com.blog.api.apispring.markdown.MarkdownEngine;
+import com.blog.api.apispring.service.MarkdownService;
+import com.blog.api.apispring.service.TextService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the derivation of the plain text, description and reading time of a post body: the former path, which
+ * renders the plain text then runs a regex for the description and another for the reading time, against the single
+ * walk of {@link com.blog.api.apispring.markdown.MarkdownAnalyzer}.
+ * <p>
+ * Not run by the tests, start it with the main method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarkdownAnalysisBenchmark
+{
+	private static final int DESCRIPTION_WORD_COUNT = 50;
+
+	@Param({"1000", "10000", "50000"})
+	private int wordCount;
+
+	private TextService textService;
+	private MarkdownService markdownService;
+	private String body;
+
+	public static void main(String[] args) throws RunnerException
+	{
+		new Runner(new OptionsBuilder().include(MarkdownAnalysisBenchmark.class.getSimpleName())
+									   .build()).run();
+	}
+
+	@Setup
+	public void setUp()
+	{
+		textService = new TextService();
+		MarkdownEngine markdownEngine = new MarkdownEngine(new SimpleMeterRegistry(), List.of());
+		markdownService = new MarkdownService(textService, markdownEngine);
+
+		StringBuilder markdown = new StringBuilder();
+		for (int i = 0; i < wordCount; i++)
+		{
+			if (i % 500 == 0)
+			{
+				markdown.append("\n\n## Section ")
+						.append(i / 500)
+						.append("\n\n");
+			} else if (i % 50 == 0)
+			{
+				markdown.append("\n\n");
+			}
+			markdown.append(i % 7 == 0 ? "**word" + i + "** " : "word" + i + " ");
+		}
+		body = markdown.toString();
+	}
+
+	@Benchmark
+	public void plainTextThenRegexes(Blackhole blackhole)
+	{
+		String plainText = markdownService.parseMarkdownToPlainText(body);
+		blackhole.consume(plainText);
+		blackhole.consume(textService.getFirstWordsSubstring(plainText, DESCRIPTION_WORD_COUNT));
+		blackhole.consume(textService.estimateReadingTime(plainText));
+	}
+
+	@Benchmark
+	public void singlePass(Blackhole blackhole)
+	{
+		MarkdownAnalysis analysis = markdownService.analyzeMarkdown(body, DESCRIPTION_WORD_COUNT);
+		blackhole.consume(analysis);
+		blackhole.consume(textService.estimateReadingTime(analysis.wordCount()));
+	}
+}
@@ -32,6 +32,9 @@ import java.time.Duration;
 
 import static com.blog.api.apispring.security.filter.RefreshJwtAuthenticationFilter.REFRESH_TOKEN_COOKIE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 
@@ -98,7 +101,8 @@ public class AuthControllerTests
 		user = userRepository.save(user);
 
 		when(passwordEncoder.matches(user.getPassword(), user.getPassword())).thenReturn(true);
-		when(jwtService.generateAccessToken(user.getId(), user.getName(), user.getEmail())).thenReturn("Access Token");
+		when(jwtService.generateAccessToken(eq(user.getId()), eq(user.getName()), eq(user.getEmail()), anyCollection(),
+				anyLong())).thenReturn("Access Token");
 
 		LoginRequest body = new LoginRequest("user@email.com", user.getPassword());
 		MvcTestResult response = mockMvc.post()
@@ -185,7 +189,8 @@ public class AuthControllerTests
 		user = userRepository.save(user);
 
 		when(passwordEncoder.matches(user.getPassword(), user.getPassword())).thenReturn(true);
-		when(jwtService.generateAccessToken(user.getId(), user.getName(), user.getEmail())).thenReturn("Access Token");
+		when(jwtService.generateAccessToken(eq(user.getId()), eq(user.getName()), eq(user.getEmail()), anyCollection(),
+				anyLong())).thenReturn("Access Token");
 
 		MvcTestResult response = mockMvc.get()
 										.with(user(new SecurityUser(user)))
@@ -215,7 +220,8 @@ public class AuthControllerTests
 		DecodedJWT decodedJWT = Mockito.mock(DecodedJWT.class);
 		when(decodedJWT.getSubject()).thenReturn(String.valueOf(user.getId()));
 		when(jwtService.validateRefreshToken(Mockito.anyString())).thenReturn(decodedJWT);
-		when(jwtService.generateAccessToken(user.getId(), user.getName(), user.getEmail())).thenReturn("Access Token");
+		when(jwtService.generateAccessToken(eq(user.getId()), eq(user.getName()), eq(user.getEmail()), anyCollection(),
+				anyLong())).thenReturn("Access Token");
 		MvcTestResult response = mockMvc.get()
 										.header("Authorization", "Bearer ExpiredAccessToken")
 										.cookie(new Cookie(REFRESH_TOKEN_COOKIE, "Refresh token"))
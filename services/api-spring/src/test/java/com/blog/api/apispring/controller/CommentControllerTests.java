@@ -17,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -112,6 +113,31 @@ class CommentControllerTests
 								});
 		}
 
+		@Test
+		@WithMockUser(username = "Admin")
+		void getComment_Is304_WhenETagMatches()
+		{
+			Comment comment = new Comment();
+			comment.setBody("Body");
+			comment.setUsername("Username");
+			comment.setCreatedAt(OffsetDateTime.now());
+			comment.setPost(post);
+			comment = commentRepository.save(comment);
+
+			String eTag = mockMvc.get()
+								 .uri("/comments/" + comment.getId())
+								 .exchange()
+								 .getResponse()
+								 .getHeader(HttpHeaders.ETAG);
+			assertThat(eTag).isNotNull();
+
+			MvcTestResult response = mockMvc.get()
+											.uri("/comments/" + comment.getId())
+											.header(HttpHeaders.IF_NONE_MATCH, eTag)
+											.exchange();
+			assertThat(response).hasStatus(HttpStatus.NOT_MODIFIED);
+		}
+
 		@Test
 		@WithMockUser(username = "Admin")
 		void getComment_Is404_WhenWrongCommentId()
@@ -183,6 +209,33 @@ class CommentControllerTests
 			assertThat(deletedComment).isEmpty();
 		}
 
+		@Test
+		@WithMockUser(username = "Admin", authorities = "DELETE")
+		void deleteComment_DecrementsPostCommentsCount()
+		{
+			User author = userRepository.save(new User("other@blog.com", "Other Author", "password"));
+			Post commentedPost = new Post();
+			commentedPost.setTitle("Commented Post");
+			commentedPost.setAuthor(author);
+			commentedPost.setPublishedAt(OffsetDateTime.now());
+			Comment comment = new Comment();
+			comment.setBody("Body");
+			comment.setUsername("Username");
+			comment.setCreatedAt(OffsetDateTime.now());
+			commentedPost.addComment(comment);
+			commentedPost = postRepository.save(commentedPost);
+
+			MvcTestResult response = mockMvc.delete()
+											.contentType(MediaType.APPLICATION_JSON)
+											.uri("/comments/" + comment.getId())
+											.exchange();
+
+			assertThat(response).hasStatusOk();
+			assertThat(postRepository.findById(commentedPost.getId())).get()
+																	  .extracting(Post::getCommentsCount)
+																	  .isEqualTo(0L);
+		}
+
 		@Test
 		@WithMockUser(username = "Admin", authorities = "DELETE")
 		void deleteComment_Is404_WhenWrongCommentId()
@@ -0,0 +1,147 @@
+package com.blog.api.apispring.controller;
+
+import com.blog.api.apispring.PostgresTestConfig;
+import com.blog.api.apispring.extensions.ClearDatabaseExtension;
+import com.blog.api.apispring.model.Comment;
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.model.User;
+import com.blog.api.apispring.repository.PostRepository;
+import com.blog.api.apispring.repository.TagRepository;
+import com.blog.api.apispring.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(PostgresTestConfig.class)
+@WebAppConfiguration
+@AutoConfigureMockMvc
+@ExtendWith(ClearDatabaseExtension.class)
+class ExportControllerTests
+{
+	@Autowired
+	private MockMvcTester mockMvc;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private TagRepository tagRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void export_IsOk_WithEachPostFollowedByItsComments() throws Exception
+	{
+		User author = userRepository.save(new User("author@blog.com", "Author", "password"));
+		Tag tag = tagRepository.save(new Tag("tag", "tag-slug"));
+		Post first = createPost(author, OffsetDateTime.now(), List.of(tag), "First comment", "Second comment");
+		Post second = createPost(author, null, List.of());
+
+		MvcTestResult response = mockMvc.get()
+										.uri("/export")
+										.exchange();
+
+		assertThat(response).hasStatusOk()
+							.hasContentType(MediaType.APPLICATION_NDJSON);
+		assertThat(response.getResponse()
+						   .getHeader(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo(
+				"attachment; filename=\"blog-export.ndjson\"");
+		List<JsonNode> lines = response.getResponse()
+									   .getContentAsString()
+									   .lines()
+									   .map(mapper::readTree)
+									   .toList();
+		assertThat(lines).extracting(line -> line.get("type")
+												 .asString())
+						 .containsExactly("post", "comment", "comment", "post");
+		assertThat(lines.get(0)
+						.get("id")
+						.asLong()).isEqualTo(first.getId());
+		assertThat(lines.get(0)
+						.get("author")
+						.get("name")
+						.asString()).isEqualTo("Author");
+		assertThat(lines.get(0)
+						.get("tags")
+						.get(0)
+						.get("slug")
+						.asString()).isEqualTo("tag-slug");
+		assertThat(lines.get(1)
+						.get("body")
+						.asString()).isEqualTo("First comment");
+		assertThat(lines.get(2)
+						.get("postId")
+						.asLong()).isEqualTo(first.getId());
+		assertThat(lines.get(3)
+						.get("id")
+						.asLong()).isEqualTo(second.getId());
+		assertThat(lines.get(3)
+						.get("tags")
+						.isEmpty()).isTrue();
+	}
+
+	@Test
+	void export_Is401_WhenNotAuthenticated()
+	{
+		MvcTestResult response = mockMvc.get()
+										.uri("/export")
+										.exchange();
+		assertThat(response).hasStatus(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	@WithMockUser(authorities = "READ")
+	void export_Is403_WhenUserIsNotAdmin()
+	{
+		MvcTestResult response = mockMvc.get()
+										.uri("/export")
+										.exchange();
+		assertThat(response).hasStatus(HttpStatus.FORBIDDEN);
+	}
+
+	private Post createPost(User author, OffsetDateTime publishedAt, List<Tag> tags, String... comments)
+	{
+		Post post = new Post();
+		post.setTitle("Post");
+		post.setDescription("Post description");
+		post.setBody("Post body");
+		post.setReadingTime(1);
+		post.setPublishedAt(publishedAt);
+		post.setAuthor(author);
+		tags.forEach(post::addTag);
+		OffsetDateTime createdAt = OffsetDateTime.now();
+		for (int i = 0; i < comments.length; i++)
+		{
+			Comment comment = new Comment();
+			comment.setBody(comments[i]);
+			comment.setUsername("Commenter");
+			comment.setCreatedAt(createdAt.plusSeconds(i));
+			post.addComment(comment);
+		}
+		return postRepository.save(post);
+	}
+}
@@ -3,8 +3,10 @@ package com.blog.api.apispring.controller;
 import com.blog.api.apispring.PostgresTestConfig;
 import com.blog.api.apispring.dto.posts.CreatePostRequest;
 import com.blog.api.apispring.dto.posts.GetPostsRequestImpl;
+import com.blog.api.apispring.dto.posts.PostCursor;
 import com.blog.api.apispring.dto.posts.PostDto;
 import com.blog.api.apispring.dto.posts.UpdatePostRequest;
+import com.blog.api.apispring.enums.PostSortBy;
 import com.blog.api.apispring.extensions.ClearDatabaseExtension;
 import com.blog.api.apispring.model.Comment;
 import com.blog.api.apispring.model.Post;
@@ -15,6 +17,7 @@ import com.blog.api.apispring.repository.TagRepository;
 import com.blog.api.apispring.repository.UserRepository;
 import com.blog.api.apispring.security.userdetails.SecurityUser;
 import com.blog.api.apispring.utils.JsonUtils;
+import com.jayway.jsonpath.JsonPath;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -34,7 +38,11 @@ import org.springframework.test.web.servlet.assertj.MvcTestResult;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
@@ -112,6 +120,93 @@ class PostControllerTests
 								});
 		}
 
+		@Test
+		void getPost_Is304_WhenETagMatches()
+		{
+			User author = userRepository.save(new User("author@example.com", "Author Name", "password123"));
+			Post post = new Post();
+			post.setTitle("Test Post Title");
+			post.setAuthor(author);
+			post = postRepository.save(post);
+
+			MvcTestResult response = mockMvc.get()
+											.uri("/posts/" + post.getId())
+											.exchange();
+			assertThat(response).hasStatusOk();
+			String eTag = response.getResponse()
+								  .getHeader(HttpHeaders.ETAG);
+			assertThat(eTag).isNotNull();
+			assertThat(response.getResponse()
+							   .getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+
+			MvcTestResult conditionalResponse = mockMvc.get()
+													   .uri("/posts/" + post.getId())
+													   .header(HttpHeaders.IF_NONE_MATCH, eTag)
+													   .exchange();
+			assertThat(conditionalResponse).hasStatus(HttpStatus.NOT_MODIFIED);
+			assertThat(conditionalResponse.getResponse()
+										  .getContentAsByteArray()).isEmpty();
+		}
+
+		@Test
+		void getPost_IsOk_WhenPostChangedSinceETag()
+		{
+			User author = userRepository.save(new User("author@example.com", "Author Name", "password123"));
+			Post post = new Post();
+			post.setTitle("Test Post Title");
+			post.setAuthor(author);
+			post = postRepository.save(post);
+
+			String eTag = mockMvc.get()
+								 .uri("/posts/" + post.getId())
+								 .exchange()
+								 .getResponse()
+								 .getHeader(HttpHeaders.ETAG);
+			post.setTitle("Updated Title");
+			postRepository.save(post);
+
+			MvcTestResult response = mockMvc.get()
+											.uri("/posts/" + post.getId())
+											.header(HttpHeaders.IF_NONE_MATCH, eTag)
+											.exchange();
+			assertThat(response).hasStatusOk();
+			assertThat(response.getResponse()
+							   .getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+		}
+
+		@Test
+		void getPostHtml_IsOk_WithSanitizedHtml()
+		{
+			User author = userRepository.save(new User("author@example.com", "Author Name", "password123"));
+			Post post = new Post();
+			post.setTitle("Test Post Title");
+			post.setBody("# Heading\n\n**bold** [link](javascript:alert(1))");
+			post.setAuthor(author);
+			post = postRepository.save(post);
+
+			MvcTestResult response = mockMvc.get()
+											.uri("/posts/" + post.getId() + "/html")
+											.exchange();
+
+			assertThat(response).hasStatusOk()
+								.hasContentTypeCompatibleWith(MediaType.TEXT_HTML)
+								.bodyText()
+								.contains("<h1>Heading</h1>", "<strong>bold</strong>")
+								.doesNotContain("javascript");
+			assertThat(response.getResponse()
+							   .getHeader(HttpHeaders.ETAG)).isNotNull();
+		}
+
+		@Test
+		void getPostHtml_Is404_WhenPostIdDoesNotExist()
+		{
+			MvcTestResult response = mockMvc.get()
+											.uri("/posts/999/html")
+											.exchange();
+
+			assertThat(response).hasStatus(HttpStatus.NOT_FOUND);
+		}
+
 		/**
 		 * Test getPost returns 200 OK with post including tags when post has associated tags.
 		 */
@@ -456,6 +551,106 @@ class PostControllerTests
 								});
 		}
 
+		/**
+		 * Test getPosts returns the total count when it is served from the count cache.
+		 */
+		@Test
+		void getPosts_IsOk_WithCachedCount()
+		{
+			User author = new User("author@example.com", "Author Name", "password123");
+			author = userRepository.save(author);
+
+			for (int i = 0; i < 15; i++)
+			{
+				Post post = new Post();
+				post.setTitle("Counted post " + i);
+				post.setAuthor(author);
+				post.setPublishedAt(OffsetDateTime.now());
+				postRepository.save(post);
+			}
+
+			MvcTestResult response = mockMvc.get()
+											.contentType(MediaType.APPLICATION_JSON)
+											.uri("/posts?page=0&pageSize=10&q=counted&countMode=cached")
+											.exchange();
+
+			assertThat(response).hasStatusOk()
+								.hasContentType(MediaType.APPLICATION_JSON)
+								.bodyJson()
+								.satisfies(json ->
+								{
+									json.assertThat()
+										.extractingPath("$.results")
+										.convertTo(LIST)
+										.hasSize(10);
+									json.assertThat()
+										.extractingPath("$.metadata.count")
+										.isEqualTo(15);
+								});
+		}
+
+		@Test
+		void getPosts_IsOk_WithoutBody_ByDefault()
+		{
+			User author = userRepository.save(new User("author@example.com", "Author Name", "password123"));
+			Tag tag = tagRepository.save(new Tag("Java", "java"));
+			Post post = new Post();
+			post.setTitle("Summary post");
+			post.setDescription("Summary description");
+			post.setBody("Summary body");
+			post.setAuthor(author);
+			post.addTag(tag);
+			post.setPublishedAt(OffsetDateTime.now());
+			postRepository.save(post);
+
+			MvcTestResult response = mockMvc.get()
+											.contentType(MediaType.APPLICATION_JSON)
+											.uri("/posts")
+											.exchange();
+
+			assertThat(response).hasStatusOk()
+								.bodyJson()
+								.satisfies(json ->
+								{
+									json.assertThat()
+										.extractingPath("$.results[0].title")
+										.isEqualTo("Summary post");
+									json.assertThat()
+										.extractingPath("$.results[0].description")
+										.isEqualTo("Summary description");
+									json.assertThat()
+										.extractingPath("$.results[0].author.name")
+										.isEqualTo("Author Name");
+									json.assertThat()
+										.extractingPath("$.results[0].tags[0].slug")
+										.isEqualTo("java");
+									json.assertThat()
+										.doesNotHavePath("$.results[0].body");
+								});
+		}
+
+		@Test
+		void getPosts_IsOk_WithBody_WhenIncludeBody()
+		{
+			User author = userRepository.save(new User("author@example.com", "Author Name", "password123"));
+			Post post = new Post();
+			post.setTitle("Full post");
+			post.setBody("Full body");
+			post.setAuthor(author);
+			post.setPublishedAt(OffsetDateTime.now());
+			postRepository.save(post);
+
+			MvcTestResult response = mockMvc.get()
+											.contentType(MediaType.APPLICATION_JSON)
+											.uri("/posts?include=body")
+											.exchange();
+
+			assertThat(response).hasStatusOk()
+								.bodyJson()
+								.extractingPath("$.results[0].body")
+								.isEqualTo("Full body");
+		}
+
 		@Test
 		void getPosts_IsOk_WithInvalidPage()
 		{
@@ -499,6 +694,85 @@ class PostControllerTests
 								});
 		}
 
+		@Test
+		void getPosts_IsOk_WithCursorPagination() throws Exception
+		{
+			User author = new User("author@example.com", "Author Name", "password123");
+			author = userRepository.save(author);
+
+			for (int i = 0; i < 15; i++)
+			{
+				Post post = new Post();
+				post.setTitle("Post " + i);
+				post.setDescription("Description " + i);
+				post.setBody("Body " + i);
+				post.setAuthor(author);
+				post.setPublishedAt(OffsetDateTime.now());
+				postRepository.save(post);
+			}
+
+			MvcTestResult firstPage = mockMvc.get()
+											 .contentType(MediaType.APPLICATION_JSON)
+											 .uri("/posts?cursor=&pageSize=10&sortBy=id")
+											 .exchange();
+
+			assertThat(firstPage).hasStatusOk()
+								 .bodyJson()
+								 .satisfies(json ->
+								 {
+									 json.assertThat()
+										 .extractingPath("$.results")
+										 .convertTo(LIST)
+										 .hasSize(10);
+									 json.assertThat()
+										 .doesNotHavePath("$.metadata.count");
+									 json.assertThat()
+										 .doesNotHavePath("$.metadata.prev");
+									 json.assertThat()
+										 .extractingPath("$.metadata.next")
+										 .isNotNull();
+								 });
+
+			String next = JsonPath.read(firstPage.getResponse()
+												 .getContentAsString(), "$.metadata.next");
+			MvcTestResult secondPage = mockMvc.get()
+											  .contentType(MediaType.APPLICATION_JSON)
+											  .uri("/posts?cursor=" + next + "&pageSize=10&sortBy=id")
+											  .exchange();
+
+			assertThat(secondPage).hasStatusOk()
+								  .bodyJson()
+								  .satisfies(json ->
+								  {
+									  json.assertThat()
+										  .extractingPath("$.results")
+										  .convertTo(LIST)
+										  .hasSize(5);
+									  json.assertThat()
+										  .extractingPath("$.results[0].title")
+										  .isEqualTo("Post 10");
+									  json.assertThat()
+										  .doesNotHavePath("$.metadata.next");
+									  json.assertThat()
+										  .extractingPath("$.metadata.prev")
+										  .isNotNull();
+								  });
+		}
+
+		@Test
+		void getPosts_Is400_WhenCursorDoesNotMatchSortBy()
+		{
+			String cursor = PostCursor.next(PostSortBy.ID_ASC, 1L, null)
+									  .encode();
+
+			MvcTestResult response = mockMvc.get()
+											.contentType(MediaType.APPLICATION_JSON)
+											.uri("/posts?cursor=" + cursor + "&sortBy=-publishedAt")
+											.exchange();
+
+			assertThat(response).hasStatus(HttpStatus.BAD_REQUEST);
+		}
+
 		/**
 		 * Test getPosts includes tags when posts have associated tags.
 		 */
@@ -1205,6 +1479,94 @@ class PostControllerTests
 								});
 		}
 
+		@Test
+		void getPosts_IsOk_WithSearchQueryMatchingBody()
+		{
+			User author = new User("author@example.com", "Author Name", "password123");
+			author = userRepository.save(author);
+
+			Post post = new Post();
+			post.setTitle("Deployment notes");
+			post.setBody("We moved everything to **Kubernetes** last week.");
+			post.setBodyText("We moved everything to Kubernetes last week.");
+			post.setAuthor(author);
+			post.setPublishedAt(OffsetDateTime.now());
+			postRepository.save(post);
+
+			MvcTestResult response = mockMvc.get()
+											.contentType(MediaType.APPLICATION_JSON)
+											.uri("/posts?page=0&pageSize=10&q=kubernetes")
+											.exchange();
+
+			assertThat(response).hasStatusOk()
+								.hasContentType(MediaType.APPLICATION_JSON)
+								.bodyJson()
+								.satisfies(json ->
+								{
+									json.assertThat()
+										.extractingPath("$.results")
+										.convertTo(LIST)
+										.hasSize(1);
+									json.assertThat()
+										.extractingPath("$.results[0].title")
+										.isEqualTo("Deployment notes");
+								});
+		}
+
+		@Test
+		void getPosts_IsOk_WhenSortingByRelevance()
+		{
+			User author = new User("author@example.com", "Author Name", "password123");
+			author = userRepository.save(author);
+
+			Post bodyMatch = new Post();
+			bodyMatch.setTitle("Weekly notes");
+			bodyMatch.setBodyText("A few words about Java.");
+			bodyMatch.setAuthor(author);
+			bodyMatch.setPublishedAt(OffsetDateTime.now());
+			postRepository.save(bodyMatch);
+
+			Post titleMatch = new Post();
+			titleMatch.setTitle("Java Programming");
+			titleMatch.setAuthor(author);
+			titleMatch.setPublishedAt(OffsetDateTime.now()
+													.minusDays(1));
+			postRepository.save(titleMatch);
+
+			MvcTestResult response = mockMvc.get()
+											.contentType(MediaType.APPLICATION_JSON)
+											.uri("/posts?page=0&pageSize=10&q=java&sortBy=relevance")
+											.exchange();
+
+			assertThat(response).hasStatusOk()
+								.hasContentType(MediaType.APPLICATION_JSON)
+								.bodyJson()
+								.satisfies(json ->
+								{
+									json.assertThat()
+										.extractingPath("$.results")
+										.convertTo(LIST)
+										.hasSize(2);
+									json.assertThat()
+										.extractingPath("$.results[0].title")
+										.isEqualTo("Java Programming");
+									json.assertThat()
+										.extractingPath("$.metadata.count")
+										.isEqualTo(2);
+								});
+		}
+
+		@Test
+		void getPosts_Is400_WhenCursorWithRelevanceSort()
+		{
+			MvcTestResult response = mockMvc.get()
+											.contentType(MediaType.APPLICATION_JSON)
+											.uri("/posts?q=java&sortBy=relevance&cursor=")
+											.exchange();
+
+			assertThat(response).hasStatus(HttpStatus.BAD_REQUEST);
+		}
+
 		@Test
 		void getPosts_ReturnNone_WhenNoPublishedPostExist()
 		{
@@ -2273,6 +2635,103 @@ class PostControllerTests
 								});
 		}
 
+		/**
+		 * Test getPostComments returns the comments oldest first, one page at a time, when given a limit.
+		 */
+		@Test
+		void getPostComments_IsOk_WhenPaginatedWithCursor() throws Exception
+		{
+			User author = new User("author@example.com", "Author Name", "password123");
+			author = userRepository.save(author);
+
+			Post post = new Post();
+			post.setTitle("Post with multiple comments");
+			post.setDescription("Description");
+			post.setBody("Body");
+			post.setAuthor(author);
+			post.setPublishedAt(OffsetDateTime.now());
+			// Comments may share a creation date, the id breaks the tie.
+			OffsetDateTime createdAt = OffsetDateTime.now();
+			for (int i = 1; i <= 3; i++)
+			{
+				Comment comment = new Comment();
+				comment.setBody("Comment " + i);
+				comment.setUsername("User " + i);
+				comment.setCreatedAt(createdAt);
+				post.addComment(comment);
+			}
+			post = postRepository.save(post);
+
+			MvcTestResult firstPage = mockMvc.get()
+											 .uri("/posts/" + post.getId() + "/comments?limit=2")
+											 .exchange();
+			assertThat(firstPage).hasStatusOk()
+								 .bodyJson()
+								 .satisfies(json ->
+								 {
+									 json.assertThat()
+										 .extractingPath("$.results")
+										 .asInstanceOf(LIST)
+										 .hasSize(2);
+									 json.assertThat()
+										 .extractingPath("$.metadata.pageSize")
+										 .isEqualTo(2);
+									 json.assertThat()
+										 .extractingPath("$.metadata.next")
+										 .isNotNull();
+								 });
+			String next = JsonPath.read(firstPage.getResponse()
+												 .getContentAsString(), "$.metadata.next");
+			List<Integer> firstIds = JsonPath.read(firstPage.getResponse()
+															.getContentAsString(), "$.results[*].id");
+			assertThat(firstIds).isSorted();
+
+			MvcTestResult secondPage = mockMvc.get()
+											  .uri("/posts/" + post.getId() + "/comments?limit=2&cursor=" + next)
+											  .exchange();
+			assertThat(secondPage).hasStatusOk()
+								  .bodyJson()
+								  .satisfies(json ->
+								  {
+									  json.assertThat()
+										  .extractingPath("$.results")
+										  .asInstanceOf(LIST)
+										  .hasSize(1);
+									  json.assertThat()
+										  .extractingPath("$.results[0].id")
+										  .asNumber()
+										  .satisfies(id -> assertThat(id.longValue()).isGreaterThan(
+												  firstIds.getLast()));
+									  json.assertThat()
+										  .extractingPath("$.metadata.next")
+										  .isNull();
+								  });
+		}
+
+		/**
+		 * Test getPostComments returns 400 BAD REQUEST when the cursor is malformed.
+		 */
+		@Test
+		void getPostComments_Is400_WhenCursorIsInvalid()
+		{
+			User author = new User("author@example.com", "Author Name", "password123");
+			author = userRepository.save(author);
+
+			Post post = new Post();
+			post.setTitle("Post");
+			post.setDescription("Description");
+			post.setBody("Body");
+			post.setAuthor(author);
+			post.setPublishedAt(OffsetDateTime.now());
+			post = postRepository.save(post);
+
+			MvcTestResult response = mockMvc.get()
+											.uri("/posts/" + post.getId() + "/comments?cursor=not-a-cursor")
+											.exchange();
+
+			assertThat(response).hasStatus(HttpStatus.BAD_REQUEST);
+		}
+
 		/**
 		 * Test getPostComments returns 404 NOT FOUND when post ID does not exist.
 		 */
@@ -2438,6 +2897,103 @@ class PostControllerTests
 								});
 		}
 
+		@Test
+		void createPostComment_IncrementsPostCommentsCount()
+		{
+			User author = new User("author@example.com", "Author Name", "password123");
+			author = userRepository.save(author);
+
+			Post post = new Post();
+			post.setTitle("Published post");
+			post.setDescription("Description");
+			post.setBody("Body");
+			post.setAuthor(author);
+			post.setPublishedAt(OffsetDateTime.now());
+			Comment comment = new Comment();
+			comment.setBody("Existing comment");
+			comment.setUsername("Existing user");
+			comment.setCreatedAt(OffsetDateTime.now());
+			post.addComment(comment);
+			post = postRepository.save(post);
+
+			String requestBody = """
+					{
+						"body": "Test comment body",
+						"username": "Test User"
+					}
+					""";
+
+			MvcTestResult response = mockMvc.post()
+											.contentType(MediaType.APPLICATION_JSON)
+											.content(requestBody)
+											.uri("/posts/" + post.getId() + "/comments")
+											.exchange();
+			assertThat(response).hasStatusOk();
+
+			MvcTestResult postResponse = mockMvc.get()
+												.contentType(MediaType.APPLICATION_JSON)
+												.uri("/posts/" + post.getId())
+												.exchange();
+			assertThat(postResponse).hasStatusOk()
+									.bodyJson()
+									.convertTo(PostDto.class)
+									.satisfies(dto -> assertThat(dto.getCommentsCount()).isEqualTo(2L));
+		}
+
+		/**
+		 * Test createPostComment returns every comment with its own id when a burst of comments arrives concurrently.
+		 */
+		@Test
+		void createPostComment_IsOk_WhenConcurrentBurst() throws Exception
+		{
+			User author = new User("author@example.com", "Author Name", "password123");
+			author = userRepository.save(author);
+
+			Post post = new Post();
+			post.setTitle("Published post");
+			post.setDescription("Description");
+			post.setBody("Body");
+			post.setAuthor(author);
+			post.setPublishedAt(OffsetDateTime.now());
+			post = postRepository.save(post);
+
+			int commentCount = 32;
+			String uri = "/posts/" + post.getId() + "/comments";
+			List<Callable<MvcTestResult>> requests = new ArrayList<>();
+			for (int i = 0; i < commentCount; i++)
+			{
+				String requestBody = JsonUtils.asJsonString(Map.of("body", "Comment " + i, "username", "User " + i));
+				requests.add(() -> mockMvc.post()
+										  .contentType(MediaType.APPLICATION_JSON)
+										  .content(requestBody)
+										  .uri(uri)
+										  .exchange());
+			}
+
+			Set<Integer> ids = new HashSet<>();
+			try (ExecutorService executor = Executors.newFixedThreadPool(8))
+			{
+				for (Future<MvcTestResult> future : executor.invokeAll(requests))
+				{
+					MvcTestResult response = future.get();
+					assertThat(response).hasStatusOk();
+					ids.add(JsonPath.read(response.getResponse()
+												  .getContentAsString(), "$.id"));
+				}
+			}
+			assertThat(ids).hasSize(commentCount);
+
+			MvcTestResult postResponse = mockMvc.get()
+												.contentType(MediaType.APPLICATION_JSON)
+												.uri("/posts/" + post.getId())
+												.exchange();
+			assertThat(postResponse).hasStatusOk()
+									.bodyJson()
+									.convertTo(PostDto.class)
+									.satisfies(dto -> assertThat(dto.getCommentsCount()).isEqualTo(
+											(long) commentCount));
+		}
+
 		/**
 		 * Test createPostComment returns 200 OK when creating comment on unpublished post by owner.
 		 */
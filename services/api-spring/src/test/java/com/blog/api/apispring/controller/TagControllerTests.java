@@ -3,10 +3,15 @@ package com.blog.api.apispring.controller;
 import com.blog.api.apispring.PostgresTestConfig;
 import com.blog.api.apispring.dto.tag.CreateTagRequest;
 import com.blog.api.apispring.dto.tag.GetTagsResponse;
+import com.blog.api.apispring.dto.tag.TagPostCounts;
 import com.blog.api.apispring.dto.tag.UpdateTagRequest;
 import com.blog.api.apispring.extensions.ClearDatabaseExtension;
+import com.blog.api.apispring.model.Post;
 import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.model.User;
+import com.blog.api.apispring.repository.PostRepository;
 import com.blog.api.apispring.repository.TagRepository;
+import com.blog.api.apispring.repository.UserRepository;
 import com.blog.api.apispring.utils.JsonUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +20,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -22,6 +28,8 @@ import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.assertj.MockMvcTester;
 import org.springframework.test.web.servlet.assertj.MvcTestResult;
 
+import java.time.OffsetDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -38,6 +46,12 @@ class TagControllerTests
 	@Autowired
 	private TagRepository tagRepository;
 
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
 	private Tag tag1;
 	private Tag tag2;
 
@@ -106,6 +120,86 @@ class TagControllerTests
 							.satisfies(body -> assertThat(body).isEqualTo(tag2));
 	}
 
+	@Test
+	void getTags_Is304_WhenETagMatches()
+	{
+		String eTag = mockMvc.get()
+							 .uri("/tags")
+							 .exchange()
+							 .getResponse()
+							 .getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+
+		MvcTestResult response = mockMvc.get()
+										.uri("/tags")
+										.header(HttpHeaders.IF_NONE_MATCH, eTag)
+										.exchange();
+		assertThat(response).hasStatus(HttpStatus.NOT_MODIFIED);
+	}
+
+	@Test
+	void getTags_IncludesPostCounts_WhenAsked()
+	{
+		User author = userRepository.save(new User("author@blog.com", "Author", "password"));
+		Post published = createPost(author, OffsetDateTime.now(), tag1, tag2);
+		createPost(author, null, tag1);
+
+		assertPostCounts(new TagPostCounts(1, 2), new TagPostCounts(1, 1));
+
+		published.setPublishedAt(null);
+		postRepository.save(published);
+
+		assertPostCounts(new TagPostCounts(0, 2), new TagPostCounts(0, 1));
+	}
+
+	@Test
+	void getTags_OmitsPostCounts_WhenNotAsked()
+	{
+		MvcTestResult response = mockMvc.get()
+										.uri("/tags")
+										.exchange();
+		assertThat(response).hasStatusOk()
+							.bodyJson()
+							.doesNotHavePath("$.postCounts");
+	}
+
+	@Test
+	void getTags_IsOk_WhenETagMatchesButPostCountsChanged()
+	{
+		User author = userRepository.save(new User("author@blog.com", "Author", "password"));
+		String eTag = mockMvc.get()
+							 .uri("/tags?include=postCounts")
+							 .exchange()
+							 .getResponse()
+							 .getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+
+		createPost(author, OffsetDateTime.now(), tag1);
+
+		MvcTestResult response = mockMvc.get()
+										.uri("/tags?include=postCounts")
+										.header(HttpHeaders.IF_NONE_MATCH, eTag)
+										.exchange();
+		assertThat(response).hasStatusOk();
+	}
+
+	@Test
+	void getTag_Is304_WhenETagMatches()
+	{
+		String eTag = mockMvc.get()
+							 .uri("/tags/tag-2-slug")
+							 .exchange()
+							 .getResponse()
+							 .getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+
+		MvcTestResult response = mockMvc.get()
+										.uri("/tags/tag-2-slug")
+										.header(HttpHeaders.IF_NONE_MATCH, eTag)
+										.exchange();
+		assertThat(response).hasStatus(HttpStatus.NOT_MODIFIED);
+	}
+
 	@Test
 	void getTag_Is400_WhenGivenAnInvalidSlugs()
 	{
@@ -525,4 +619,32 @@ class TagControllerTests
 		assertThat(mockMvc.delete()
 						  .uri("/tags/slug-not-found")).hasStatus(HttpStatus.NOT_FOUND);
 	}
+
+	private void assertPostCounts(TagPostCounts tag1Counts, TagPostCounts tag2Counts)
+	{
+		MvcTestResult response = mockMvc.get()
+										.uri("/tags?include=postCounts")
+										.exchange();
+		assertThat(response).hasStatusOk()
+							.bodyJson()
+							.convertTo(GetTagsResponse.class)
+							.satisfies(body -> assertThat(body.postCounts()).containsEntry(tag1.getId(), tag1Counts)
+																			.containsEntry(tag2.getId(), tag2Counts));
+	}
+
+	private Post createPost(User author, OffsetDateTime publishedAt, Tag... tags)
+	{
+		Post post = new Post();
+		post.setTitle("Post");
+		post.setDescription("Post description");
+		post.setBody("Post body");
+		post.setReadingTime(1);
+		post.setPublishedAt(publishedAt);
+		post.setAuthor(author);
+		for (Tag tag : tags)
+		{
+			post.addTag(tag);
+		}
+		return postRepository.save(post);
+	}
 }
@@ -0,0 +1,88 @@
+package com.blog.api.apispring.dto.posts;
+
+import com.blog.api.apispring.enums.PostSortBy;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link PostCursor}.
+ */
+class PostCursorTests
+{
+	@Test
+	void decode_ReturnsNull_WhenTokenIsBlank()
+	{
+		assertThat(PostCursor.decode(null, PostSortBy.ID_ASC)).isNull();
+		assertThat(PostCursor.decode("", PostSortBy.ID_ASC)).isNull();
+		assertThat(PostCursor.decode("  ", PostSortBy.ID_ASC)).isNull();
+	}
+
+	@Test
+	void decode_ReturnsSameCursor_WhenGivenEncodedCursor()
+	{
+		OffsetDateTime publishedAt = OffsetDateTime.of(2024, 5, 1, 10, 30, 0, 123456000, ZoneOffset.UTC);
+		PostCursor cursor = PostCursor.next(PostSortBy.PUBLISHED_AT_DESC, 42L, publishedAt);
+
+		PostCursor result = PostCursor.decode(cursor.encode(), PostSortBy.PUBLISHED_AT_DESC);
+
+		assertThat(result).isEqualTo(cursor);
+	}
+
+	@Test
+	void decode_KeepsNullPublishedAt_WhenCursorIsOnUnpublishedPost()
+	{
+		PostCursor cursor = PostCursor.prev(PostSortBy.PUBLISHED_AT_ASC, 7L, null);
+
+		PostCursor result = PostCursor.decode(cursor.encode(), PostSortBy.PUBLISHED_AT_ASC);
+
+		assertThat(result.publishedAt()).isNull();
+		assertThat(result.backward()).isTrue();
+		assertThat(result.id()).isEqualTo(7L);
+	}
+
+	@Test
+	void decode_Throws_WhenSortByDoesNotMatch()
+	{
+		String token = PostCursor.next(PostSortBy.ID_ASC, 1L, null)
+								 .encode();
+
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+				() -> PostCursor.decode(token, PostSortBy.ID_DESC));
+	}
+
+	@Test
+	void decode_Throws_WhenTokenIsMalformed()
+	{
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+				() -> PostCursor.decode("not a cursor!", PostSortBy.ID_ASC));
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+				() -> PostCursor.decode("aWQ", PostSortBy.ID_ASC));
+	}
+
+	@Test
+	void isAscending_IsReversed_WhenReadingBackward()
+	{
+		assertThat(PostCursor.next(PostSortBy.ID_ASC, 1L, null)
+							 .isAscending()).isTrue();
+		assertThat(PostCursor.prev(PostSortBy.ID_ASC, 1L, null)
+							 .isAscending()).isFalse();
+		assertThat(PostCursor.next(PostSortBy.PUBLISHED_AT_DESC, 1L, null)
+							 .isAscending()).isFalse();
+		assertThat(PostCursor.prev(PostSortBy.PUBLISHED_AT_DESC, 1L, null)
+							 .isAscending()).isTrue();
+	}
+
+	@Test
+	void toSort_UsesIdAsTieBreaker_WhenSortingByPublicationDate()
+	{
+		Sort sort = PostCursor.toSort(PostSortBy.PUBLISHED_AT_DESC, false);
+
+		assertThat(sort).containsExactly(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+	}
+}
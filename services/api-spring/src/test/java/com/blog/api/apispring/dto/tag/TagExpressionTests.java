@@ -0,0 +1,63 @@
+package com.blog.api.apispring.dto.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link TagExpression}.
+ */
+class TagExpressionTests
+{
+	@Test
+	void parse_ReturnsTag_WhenGivenSingleSlug()
+	{
+		TagExpression expression = TagExpression.parse("java");
+
+		assertThat(expression).isInstanceOf(TagExpression.Tag.class);
+		assertThat(expression.tags()).extracting(TagIdOrSlug::getSlug)
+									 .containsExactly("java");
+	}
+
+	@Test
+	void parse_AppliesPrecedence_NotThenAndThenOr()
+	{
+		TagExpression expression = TagExpression.parse("java OR spring AND NOT 3");
+
+		assertThat(expression).isInstanceOf(TagExpression.Or.class);
+		assertThat(expression).hasToString("java OR (spring AND NOT 3)");
+	}
+
+	@Test
+	void parse_GroupsWithParentheses()
+	{
+		TagExpression expression = TagExpression.parse("(java OR spring)AND NOT(draft OR 3)");
+
+		assertThat(expression).hasToString("(java OR spring) AND NOT (draft OR 3)");
+		assertThat(expression.tags()).hasSize(4);
+	}
+
+	@Test
+	void parse_Throws_WhenExpressionIsMalformed()
+	{
+		assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse(" "));
+		assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("java AND"));
+		assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("(java OR spring"));
+		assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("java spring"));
+		assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("java and spring"));
+	}
+
+	@Test
+	void parse_Throws_WhenExpressionIsTooLarge()
+	{
+		String expression = IntStream.rangeClosed(1, TagExpression.MAX_OPERANDS + 1)
+									 .mapToObj(String::valueOf)
+									 .collect(Collectors.joining(" OR "));
+
+		assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse(expression));
+	}
+}
@@ -1,10 +1,13 @@
 package com.blog.api.apispring.extensions;
 
+import com.blog.api.apispring.service.TagDictionaryService;
+import jakarta.persistence.EntityManagerFactory;
 import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
-
+import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 // https://maciejwalkowiak.com/blog/spring-boot-flyway-clear-database-integration-tests/
@@ -13,9 +16,17 @@ public class ClearDatabaseExtension implements BeforeEachCallback
 	@Override
 	public void beforeEach(@NonNull ExtensionContext extensionContext) throws Exception
 	{
-		Flyway flyway = SpringExtension.getApplicationContext(extensionContext)
-									   .getBean(Flyway.class);
+		ApplicationContext applicationContext = SpringExtension.getApplicationContext(extensionContext);
+		Flyway flyway = applicationContext.getBean(Flyway.class);
 		flyway.clean();
 		flyway.migrate();
+
+		// The database was recreated behind Hibernate, its second-level cache still holds the previous rows.
+		applicationContext.getBean(EntityManagerFactory.class)
+						  .unwrap(SessionFactory.class)
+						  .getCache()
+						  .evictAllRegions();
+		applicationContext.getBean(TagDictionaryService.class)
+						  .reload();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.blog.api.apispring.markdown;
+
+import org.commonmark.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownAnalyzerTests
+{
+	private final Parser parser = Parser.builder()
+										.build();
+
+	@Test
+	void analyze_ShouldStripMarkup()
+	{
+		MarkdownAnalysis analysis = analyze("# Title\n\nSome **bold** and `code` with a [link](https://blog.com).", 50);
+
+		assertThat(analysis.plainText()).isEqualTo("Title\nSome bold and code with a link.");
+		assertThat(analysis.wordCount()).isEqualTo(8);
+	}
+
+	@Test
+	void analyze_ShouldNotJoinWords_OfConsecutiveBlocks()
+	{
+		MarkdownAnalysis analysis = analyze("first\n\nsecond\n\n- third\n- fourth", 50);
+
+		assertThat(analysis.wordCount()).isEqualTo(4);
+		assertThat(analysis.excerpt()).isEqualTo("first\nsecond\nthird\nfourth");
+	}
+
+	@Test
+	void analyze_ShouldCutExcerpt_AfterWordCount()
+	{
+		MarkdownAnalysis analysis = analyze("one two  three four five", 3);
+
+		assertThat(analysis.excerpt()).isEqualTo("one two  three");
+		assertThat(analysis.wordCount()).isEqualTo(5);
+	}
+
+	@Test
+	void analyze_ShouldCountCodeBlockWords()
+	{
+		MarkdownAnalysis analysis = analyze("Intro\n\n```java\nint a = 1;\n```", 50);
+
+		assertThat(analysis.wordCount()).isEqualTo(5);
+		assertThat(analysis.plainText()).isEqualTo("Intro\nint a = 1;");
+	}
+
+	@Test
+	void analyze_ShouldListHeadings_InOrder()
+	{
+		MarkdownAnalysis analysis = analyze("# Title\n\ntext\n\n## First *part*\n\n### Detail\n\nSecond\n---", 50);
+
+		assertThat(analysis.outline()).containsExactly(new MarkdownAnalysis.Heading(1, "Title"),
+				new MarkdownAnalysis.Heading(2, "First part"), new MarkdownAnalysis.Heading(3, "Detail"),
+				new MarkdownAnalysis.Heading(2, "Second"));
+	}
+
+	@Test
+	void analyze_ShouldReturnEmptyAnalysis_WhenBlank()
+	{
+		MarkdownAnalysis analysis = analyze("   ", 50);
+
+		assertThat(analysis.plainText()).isEmpty();
+		assertThat(analysis.excerpt()).isEmpty();
+		assertThat(analysis.wordCount()).isZero();
+		assertThat(analysis.outline()).isEmpty();
+	}
+
+	private MarkdownAnalysis analyze(String markdown, int excerptWordCount)
+	{
+		return MarkdownAnalyzer.analyze(parser.parse(markdown), excerptWordCount);
+	}
+}
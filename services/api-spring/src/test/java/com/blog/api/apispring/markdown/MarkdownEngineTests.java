@@ -0,0 +1,125 @@
+package com.blog.api.apispring.markdown;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarkdownEngineTests
+{
+	private SimpleMeterRegistry meterRegistry;
+	private MarkdownEngine markdownEngine;
+
+	@BeforeEach
+	void setUp()
+	{
+		meterRegistry = new SimpleMeterRegistry();
+		markdownEngine = new MarkdownEngine(meterRegistry, List.of("tables", "strikethrough", "autolink"));
+	}
+
+	@Test
+	void toHtml_ShouldRenderConfiguredExtensions()
+	{
+		String html = markdownEngine.toHtml("""
+				| a | b |
+				|---|---|
+				| 1 | 2 |
+
+				~~gone~~ https://blog.com
+				""");
+
+		assertThat(html).contains("<table>", "<td>1</td>", "<del>gone</del>", "<a href=\"https://blog.com\">");
+	}
+
+	@Test
+	void toHtml_ShouldNotRenderExtensions_WhenNotConfigured()
+	{
+		MarkdownEngine plainEngine = new MarkdownEngine(meterRegistry, List.of());
+
+		assertThat(plainEngine.toHtml("~~gone~~")).doesNotContain("<del>");
+	}
+
+	@Test
+	void getHtmlFingerprint_ShouldChange_WhenExtensionsChange()
+	{
+		MarkdownEngine sameEngine = new MarkdownEngine(meterRegistry, List.of("Tables", " strikethrough", "autolink"));
+		MarkdownEngine plainEngine = new MarkdownEngine(meterRegistry, List.of());
+
+		assertThat(sameEngine.getHtmlFingerprint()).isEqualTo(markdownEngine.getHtmlFingerprint());
+		assertThat(plainEngine.getHtmlFingerprint()).isNotEqualTo(markdownEngine.getHtmlFingerprint());
+	}
+
+	@Test
+	void toHtml_ShouldEscapeRawHtml()
+	{
+		assertThat(markdownEngine.toHtml("<script>alert(1)</script>")).doesNotContain("<script>");
+	}
+
+	@Test
+	void constructor_ShouldThrow_WhenUnknownExtension()
+	{
+		assertThatThrownBy(() -> new MarkdownEngine(meterRegistry, List.of("footnotes"))).isInstanceOf(
+				IllegalArgumentException.class);
+	}
+
+	@Test
+	void analyze_ShouldSeparateTableCells()
+	{
+		MarkdownAnalysis analysis = markdownEngine.analyze("""
+				| a | b |
+				|---|---|
+				| 1 | 2 |
+				""", 50);
+
+		assertThat(analysis.wordCount()).isEqualTo(4);
+	}
+
+	@Test
+	void outline_ShouldReturnHeadings()
+	{
+		assertThat(markdownEngine.outline("# Title\n\ntext\n\n## Part")).containsExactly(
+				new MarkdownAnalysis.Heading(1, "Title"), new MarkdownAnalysis.Heading(2, "Part"));
+	}
+
+	@Test
+	void parse_ShouldRecordParseTime()
+	{
+		markdownEngine.parse("# Title");
+		markdownEngine.toPlainText("text");
+
+		assertThat(meterRegistry.get("markdown.parse")
+								.timer()
+								.count()).isEqualTo(2);
+		assertThat(meterRegistry.get("markdown.parse.time.per.kb")
+								.summary()
+								.count()).isEqualTo(2);
+	}
+
+	@Test
+	void analyze_ShouldGiveSameResults_FromManyThreads() throws Exception
+	{
+		String markdown = "# Title\n\nSome **bold** text.";
+		MarkdownAnalysis expected = markdownEngine.analyze(markdown, 50);
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(8))
+		{
+			List<Future<MarkdownAnalysis>> results = new ArrayList<>();
+			for (int i = 0; i < 64; i++)
+			{
+				results.add(executor.submit(() -> markdownEngine.analyze(markdown, 50)));
+			}
+			for (Future<MarkdownAnalysis> result : results)
+			{
+				assertThat(result.get()).isEqualTo(expected);
+			}
+		}
+	}
+}
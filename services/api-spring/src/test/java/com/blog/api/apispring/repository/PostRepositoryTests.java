@@ -9,7 +9,10 @@ import com.blog.api.apispring.model.User;
 import com.blog.api.apispring.projection.PostInfoWithAuthor;
 import com.blog.api.apispring.projection.PostInfoWithAuthorAndComments;
 import com.blog.api.apispring.projection.PostInfoWithAuthorAndTags;
+import com.blog.api.apispring.projection.PostSummaryRow;
+import com.blog.api.apispring.projection.PostTagRow;
 import com.blog.api.apispring.projection.PostInfoWithAuthorTagsComments;
+import com.blog.api.apispring.specs.PostSpecs;
 import org.hibernate.LazyInitializationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,11 +24,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,6 +47,9 @@ class PostRepositoryTests
 	@Autowired
 	private TagRepository tagRepository;
 
+	@Autowired
+	private CommentRepository commentRepository;
+
 	private User author;
 	private Post post1;
 	private Post post2;
@@ -345,58 +350,82 @@ class PostRepositoryTests
 	}
 
 	@Test
-	void countCommentsById_ReturnCorrectValue()
+	void deleteById_RemovesPostFromDatabase_WhenPostExists()
 	{
-		long commentsCount = postRepository.countCommentsById(post1.getId());
-		assertThat(commentsCount).isEqualTo(1L);
+		long postId = post1.getId();
+
+		postRepository.deleteById(postId);
 
-		commentsCount = postRepository.countCommentsById(post2.getId());
-		assertThat(commentsCount).isEqualTo(0L);
+		Optional<PostInfoWithAuthor> result = postRepository.findInfoWithAuthorById(postId);
+		assertThat(result).isEmpty();
+		assertThat(postRepository.count()).isEqualTo(1);
 	}
 
 	@Test
-	void countCommentsById_ReturnZeroNoPostExists()
+	@Transactional
+	void deleteAllByIdIn_RemovesPostsWithTheirCommentsAndTags()
 	{
-		long commentsCount = postRepository.countCommentsById(99999L);
-		assertThat(commentsCount).isEqualTo(0);
+		List<Long> ids = List.of(post1.getId(), post2.getId());
+
+		postRepository.deleteTagLinksByPostIdIn(ids);
+		int deleted = postRepository.deleteAllByIdIn(ids);
+
+		assertThat(deleted).isEqualTo(2);
+		assertThat(postRepository.count()).isZero();
+		assertThat(commentRepository.count()).isZero();
+		assertThat(tagRepository.count()).isEqualTo(2);
 	}
 
 	@Test
-	void countCommentsByIds_ReturnCorrectNumberOfComments()
+	void findPageIds_ReturnsOrderedPage()
 	{
-		Map<Long, Long> comments = postRepository.countCommentsByIds(Arrays.asList(post1.getId(), post2.getId()));
-		assertThat(comments.size()).isEqualTo(2);
-		assertThat(comments.containsKey(post1.getId())).isTrue();
-		assertThat(comments.get(post1.getId())).isEqualTo(1);
-		assertThat(comments.containsKey(post2.getId())).isTrue();
-		assertThat(comments.get(post2.getId())).isEqualTo(0);
+		List<Long> ids = postRepository.findPageIds(PostSpecs.withTags(null), Sort.by(Sort.Direction.DESC, "id"), 1, 1);
+
+		assertThat(ids).containsExactly(post1.getId());
 	}
 
 	@Test
-	void countCommentsByIds_OnlyReturnCountForListedPost()
+	void findPageIds_ReturnsPostOnce_WhenSeveralTagsMatch()
 	{
-		Map<Long, Long> comments = postRepository.countCommentsByIds(Collections.singletonList(post1.getId()));
-		assertThat(comments.size()).isEqualTo(1);
-		assertThat(comments.containsKey(post1.getId())).isTrue();
-		assertThat(comments.get(post1.getId())).isEqualTo(1);
+		List<Long> ids = postRepository.findPageIds(PostSpecs.withTags(List.of(tag1.getId(), tag2.getId())),
+				Sort.by("id"), 0, 10);
+
+		assertThat(ids).containsExactly(post1.getId());
 	}
 
 	@Test
-	void countCommentsByIds_ReturnEmptyWhenGivenEmptyList()
+	void findAllWithAuthorAndTagsByIdIn_ReturnsPostsWithAuthorAndTags()
 	{
-		Map<Long, Long> comments = postRepository.countCommentsByIds(Collections.emptyList());
-		assertThat(comments.size()).isEqualTo(0);
+		List<Post> posts = postRepository.findAllWithAuthorAndTagsByIdIn(List.of(post1.getId()));
+
+		assertThat(posts).hasSize(1);
+		assertThat(posts.getFirst()
+						.getTags()).hasSize(2);
+		assertThat(posts.getFirst()
+						.getAuthor()
+						.getName()).isEqualTo("Test Author");
 	}
 
 	@Test
-	void deleteById_RemovesPostFromDatabase_WhenPostExists()
+	void findSummaryRowsByIdIn_ReturnsSummariesWithAuthor()
 	{
-		long postId = post1.getId();
+		List<PostSummaryRow> rows = postRepository.findSummaryRowsByIdIn(List.of(post1.getId()));
 
-		postRepository.deleteById(postId);
+		assertThat(rows).hasSize(1);
+		assertThat(rows.getFirst()
+					   .getId()).isEqualTo(post1.getId());
+		assertThat(rows.getFirst()
+					   .getAuthorName()).isEqualTo("Test Author");
+	}
 
-		Optional<PostInfoWithAuthor> result = postRepository.findInfoWithAuthorById(postId);
-		assertThat(result).isEmpty();
-		assertThat(postRepository.count()).isEqualTo(1);
+	@Test
+	void findTagRowsByPostIdIn_ReturnsOneRowPerTag()
+	{
+		List<PostTagRow> rows = postRepository.findTagRowsByPostIdIn(List.of(post1.getId()));
+
+		assertThat(rows).hasSize(2)
+						.allSatisfy(row -> assertThat(row.getPostId()).isEqualTo(post1.getId()));
+		assertThat(rows).extracting(PostTagRow::getTag)
+						.containsExactlyInAnyOrder(tag1, tag2);
 	}
 }
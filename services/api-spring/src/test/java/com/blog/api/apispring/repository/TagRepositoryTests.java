@@ -303,4 +303,37 @@ class TagRepositoryTests
 		assertThat(result).hasSize(1);
 		assertThat(result).contains(tag1);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Verifies that a slug lookup served by the query cache sees an update of the tag.
+	 */
+	@Test
+	void findBySlug_ReturnsUpdatedTag_WhenLookupWasCached()
+	{
+		tagRepository.save(new Tag("Java", "java"));
+		assertThat(tagRepository.findBySlug("java")).isPresent();
+		assertThat(tagRepository.findBySlug("java")).isPresent();
+
+		tagRepository.updateTag("java", new Tag("Java Programming", "java-programming"));
+
+		assertThat(tagRepository.findBySlug("java")).isEmpty();
+		assertThat(tagRepository.findBySlug("java-programming")).map(Tag::getName)
+																.contains("Java Programming");
+	}
+
+	/**
+	 * Verifies that a tag served by the second-level cache is gone once deleted.
+	 */
+	@Test
+	void findById_ReturnsEmpty_WhenCachedTagWasDeleted()
+	{
+		Tag tag = tagRepository.save(new Tag("Java", "java"));
+		assertThat(tagRepository.findById(tag.getId())).isPresent();
+		assertThat(tagRepository.findAll()).hasSize(1);
+
+		tagRepository.delete(tag);
+
+		assertThat(tagRepository.findById(tag.getId())).isEmpty();
+		assertThat(tagRepository.findAll()).isEmpty();
+	}
+}
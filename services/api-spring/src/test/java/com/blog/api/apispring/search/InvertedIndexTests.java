@@ -0,0 +1,139 @@
+package com.blog.api.apispring.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTests
+{
+	private InvertedIndex index;
+
+	@BeforeEach
+	void setUp()
+	{
+		index = new InvertedIndex();
+		index.put(1L, "Java Programming", "Getting started with Java and the JVM.");
+		index.put(2L, "Spring Boot", "Spring Boot makes Java web services easy.");
+		index.put(3L, "Weekly notes", "Some notes about boot camps and spring cleaning.");
+	}
+
+	@Test
+	void search_ReturnsMatchingKeys_WhenTermExists()
+	{
+		assertThat(index.search("java", 10)).containsExactlyInAnyOrder(1L, 2L);
+	}
+
+	@Test
+	void search_ReturnsEmpty_WhenTermDoesNotExist()
+	{
+		assertThat(index.search("python", 10)).isEmpty();
+	}
+
+	@Test
+	void search_RequiresEveryTerm()
+	{
+		assertThat(index.search("java jvm", 10)).containsExactly(1L);
+	}
+
+	@Test
+	void search_IsCaseInsensitive()
+	{
+		assertThat(index.search("JAVA", 10)).containsExactlyInAnyOrder(1L, 2L);
+	}
+
+	@Test
+	void search_RanksMoreFrequentTermFirst()
+	{
+		assertThat(index.search("spring", 10)).containsExactly(2L, 3L);
+	}
+
+	@Test
+	void search_MatchesPhrase_WhenTermsAreAdjacent()
+	{
+		assertThat(index.search("\"spring boot\"", 10)).containsExactly(2L);
+	}
+
+	@Test
+	void search_DoesNotMatchPhraseAcrossFields()
+	{
+		index.put(4L, "About spring", "boot");
+
+		assertThat(index.search("\"spring boot\"", 10)).containsExactly(2L);
+	}
+
+	@Test
+	void search_RespectsLimit()
+	{
+		assertThat(index.search("java", 1)).hasSize(1);
+	}
+
+	@Test
+	void remove_RemovesDocumentFromResults()
+	{
+		assertThat(index.remove(1L)).isTrue();
+
+		assertThat(index.search("java", 10)).containsExactly(2L);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void remove_ReturnsFalse_WhenKeyIsNotIndexed()
+	{
+		assertThat(index.remove(42L)).isFalse();
+	}
+
+	@Test
+	void put_ReplacesDocument_WhenKeyIsIndexed()
+	{
+		index.put(1L, "Kotlin Programming", "Getting started with Kotlin.");
+
+		assertThat(index.search("java", 10)).containsExactly(2L);
+		assertThat(index.search("kotlin", 10)).containsExactly(1L);
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void search_StillMatches_AfterCompaction()
+	{
+		for (long key = 100; key < 300; key++)
+		{
+			index.put(key, "Filler " + key, "Some filler content.");
+		}
+		for (long key = 100; key < 300; key++)
+		{
+			index.remove(key);
+		}
+
+		assertThat(index.size()).isEqualTo(3);
+		assertThat(index.search("filler", 10)).isEmpty();
+		assertThat(index.search("\"spring boot\"", 10)).containsExactly(2L);
+		assertThat(index.search("java", 10)).containsExactlyInAnyOrder(1L, 2L);
+	}
+
+	@Test
+	void put_CompactsReplacedDocuments_WhenSameKeyIsPutRepeatedly()
+	{
+		for (int version = 0; version < 1_000; version++)
+		{
+			index.put(1L, "Java Programming " + version, "Getting started with Java and the JVM.");
+		}
+
+		assertThat(index.documentCount()).isLessThan(100);
+		assertThat(index.size()).isEqualTo(3);
+		assertThat(index.search("java", 10)).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(index.search("999", 10)).containsExactly(1L);
+		assertThat(index.search("998", 10)).isEmpty();
+	}
+
+	@Test
+	void parse_SplitsTermsAndPhrases()
+	{
+		List<String[]> clauses = InvertedIndex.parse("java \"spring boot\" jvm");
+
+		assertThat(clauses).hasSize(3);
+		assertThat(clauses.get(1)).containsExactly("spring", "boot");
+	}
+}
@@ -0,0 +1,98 @@
+package com.blog.api.apispring.search;
+
+import com.blog.api.apispring.dto.tag.TagExpression;
+import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagBitmapIndexTests
+{
+	private static final Map<String, Long> TAG_IDS = Map.of("java", 1L, "spring", 2L, "draft", 3L);
+	private static final Function<TagIdOrSlug, Long> RESOLVER = tag -> tag.isId() ? tag.getId() :
+			TAG_IDS.get(tag.getSlug());
+
+	private TagBitmapIndex index;
+
+	@BeforeEach
+	void setUp()
+	{
+		index = new TagBitmapIndex();
+		index.put(10L, List.of(1L, 2L));
+		index.put(11L, List.of(1L));
+		index.put(12L, List.of(2L, 3L));
+		index.put(13L, List.of());
+	}
+
+	@Test
+	void evaluate_ReturnsIntersection_WhenAnd()
+	{
+		assertThat(matching("java AND spring")).containsExactly(10);
+	}
+
+	@Test
+	void evaluate_ReturnsUnion_WhenOr()
+	{
+		assertThat(matching("java OR draft")).containsExactly(10, 11, 12);
+	}
+
+	@Test
+	void evaluate_ReturnsPostsWithoutTag_WhenNot()
+	{
+		assertThat(matching("NOT spring")).containsExactly(11, 13);
+		assertThat(matching("spring AND NOT draft")).containsExactly(10);
+	}
+
+	@Test
+	void evaluate_ReturnsEmpty_WhenTagIsUnknown()
+	{
+		assertThat(matching("kotlin")).isEmpty();
+		assertThat(matching("NOT kotlin")).containsExactly(10, 11, 12, 13);
+	}
+
+	@Test
+	void evaluate_ReplacesTags_WhenPostIsPutAgain()
+	{
+		index.put(11L, List.of(3L));
+
+		assertThat(matching("java")).containsExactly(10);
+		assertThat(matching("draft")).containsExactly(11, 12);
+	}
+
+	@Test
+	void evaluate_IgnoresPost_WhenRemoved()
+	{
+		index.remove(10L);
+
+		assertThat(matching("java OR spring")).containsExactly(11, 12);
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void evaluate_IgnoresTag_WhenRemoved()
+	{
+		index.removeTag(2L);
+		index.remove(12L);
+
+		assertThat(matching("spring")).isEmpty();
+		assertThat(matching("java AND NOT spring")).containsExactly(10, 11);
+	}
+
+	@Test
+	void count_ReturnsNumberOfMatchingPosts()
+	{
+		assertThat(index.count(TagExpression.parse("spring"), RESOLVER)).isEqualTo(2);
+		assertThat(index.count(TagExpression.parse("NOT (java OR 3)"), RESOLVER)).isEqualTo(1);
+	}
+
+	private int[] matching(String expression)
+	{
+		return index.evaluate(TagExpression.parse(expression), RESOLVER)
+					.toArray();
+	}
+}
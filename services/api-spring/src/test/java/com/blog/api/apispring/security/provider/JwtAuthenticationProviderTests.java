@@ -0,0 +1,120 @@
+package com.blog.api.apispring.security.provider;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.blog.api.apispring.exception.UserNotFoundException;
+import com.blog.api.apispring.model.User;
+import com.blog.api.apispring.security.UserSecurityVersionService;
+import com.blog.api.apispring.security.authentication.JwtAuthenticationToken;
+import com.blog.api.apispring.security.userdetails.JwtUserDetails;
+import com.blog.api.apispring.security.userdetails.SecurityUser;
+import com.blog.api.apispring.security.userdetails.service.BlogUserDetailsService;
+import com.blog.api.apispring.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationProviderTests
+{
+	@Mock
+	private BlogUserDetailsService userDetailsService;
+
+	@Mock
+	private UserSecurityVersionService userSecurityVersionService;
+
+	private JwtService jwtService;
+	private JwtAuthenticationProvider jwtAuthenticationProvider;
+
+	@BeforeEach
+	void setUp()
+	{
+		jwtService = new JwtService();
+		ReflectionTestUtils.setField(jwtService, "jwtAccessSecret", "accessSecret");
+		ReflectionTestUtils.setField(jwtService, "jwtRefreshSecret", "refreshSecret");
+		jwtAuthenticationProvider = new JwtAuthenticationProvider(userDetailsService, userSecurityVersionService);
+	}
+
+	@Test
+	void authenticate_ShouldNotLoadUser_WhenSecurityVersionIsCurrent()
+	{
+		when(userSecurityVersionService.getSecurityVersion(1L)).thenReturn(Optional.of(3L));
+
+		Authentication result = jwtAuthenticationProvider.authenticate(token(List.of("ROLE_ADMIN"), 3));
+
+		assertThat(result.getPrincipal()).isInstanceOfSatisfying(JwtUserDetails.class, user ->
+		{
+			assertThat(user.getId()).isEqualTo(1L);
+			assertThat(user.getUsername()).isEqualTo("user");
+			assertThat(user.getEmail()).isEqualTo("user@blog.com");
+		});
+		assertThat(result.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+										   .contains("ROLE_ADMIN");
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	void authenticate_ShouldLoadUser_WhenSecurityVersionIsOutdated()
+	{
+		when(userSecurityVersionService.getSecurityVersion(1L)).thenReturn(Optional.of(4L));
+		SecurityUser securityUser = securityUser();
+		when(userDetailsService.loadUserById(1L)).thenReturn(securityUser);
+
+		Authentication result = jwtAuthenticationProvider.authenticate(token(List.of("ROLE_ADMIN"), 3));
+
+		assertThat(result.getPrincipal()).isSameAs(securityUser);
+		assertThat(result.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+										   .contains("READ")
+										   .doesNotContain("ROLE_ADMIN");
+	}
+
+	@Test
+	void authenticate_ShouldLoadUser_WhenTokenHasNoAuthorities()
+	{
+		SecurityUser securityUser = securityUser();
+		when(userDetailsService.loadUserById(1L)).thenReturn(securityUser);
+		String token = jwtService.generateAccessToken(1L, "user", "user@blog.com");
+		DecodedJWT decodedJWT = jwtService.validateAccessToken(token);
+
+		Authentication result = jwtAuthenticationProvider.authenticate(new JwtAuthenticationToken(decodedJWT));
+
+		assertThat(result.getPrincipal()).isSameAs(securityUser);
+		verifyNoInteractions(userSecurityVersionService);
+	}
+
+	@Test
+	void authenticate_ShouldThrowBadCredentials_WhenUserIsDeleted()
+	{
+		when(userSecurityVersionService.getSecurityVersion(1L)).thenReturn(Optional.empty());
+		when(userDetailsService.loadUserById(1L)).thenThrow(new UserNotFoundException("User not found", 1L));
+
+		assertThatThrownBy(() -> jwtAuthenticationProvider.authenticate(token(List.of("ROLE_ADMIN"), 3)))
+				.isInstanceOf(BadCredentialsException.class);
+	}
+
+	private JwtAuthenticationToken token(List<String> authorities, long securityVersion)
+	{
+		String token = jwtService.generateAccessToken(1L, "user", "user@blog.com", authorities, securityVersion);
+		return new JwtAuthenticationToken(jwtService.validateAccessToken(token));
+	}
+
+	private static SecurityUser securityUser()
+	{
+		User user = new User("user@blog.com", "user", "password");
+		user.setId(1L);
+		return new SecurityUser(user, List.of(new SimpleGrantedAuthority("READ")));
+	}
+}
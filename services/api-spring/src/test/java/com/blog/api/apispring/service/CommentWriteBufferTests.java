@@ -0,0 +1,130 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.PostgresTestConfig;
+import com.blog.api.apispring.event.CommentChangedEvent;
+import com.blog.api.apispring.extensions.ClearDatabaseExtension;
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.User;
+import com.blog.api.apispring.projection.CommentInfo;
+import com.blog.api.apispring.repository.CommentRepository;
+import com.blog.api.apispring.repository.PostRepository;
+import com.blog.api.apispring.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"blog-api.comments.write-behind.enabled=true",
+		"blog-api.comments.write-behind.batch-size=8"})
+@Import({PostgresTestConfig.class, CommentWriteBufferTests.FailingListener.class})
+@ExtendWith(ClearDatabaseExtension.class)
+class CommentWriteBufferTests
+{
+	@Autowired
+	private CommentWriteBuffer commentWriteBuffer;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private FailingListener failingListener;
+
+	@Test
+	void addComment_ShouldInsertEveryComment_WhenConcurrentBurst() throws Exception
+	{
+		long postId = savePost();
+		int commentCount = 50;
+		List<Callable<Optional<CommentInfo>>> comments = new ArrayList<>();
+		for (int i = 0; i < commentCount; i++)
+		{
+			String body = "Comment " + i;
+			comments.add(() -> commentWriteBuffer.addComment(postId, "User", body));
+		}
+
+		List<Long> ids = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(16))
+		{
+			for (Future<Optional<CommentInfo>> future : executor.invokeAll(comments))
+			{
+				CommentInfo comment = future.get()
+											.orElseThrow();
+				assertThat(commentRepository.findCommentInfoById(comment.getId())).hasValueSatisfying(
+						saved -> assertThat(saved.getBody()).isEqualTo(comment.getBody()));
+				ids.add(comment.getId());
+			}
+		}
+
+		assertThat(ids).doesNotHaveDuplicates();
+		assertThat(postRepository.findById(postId)).hasValueSatisfying(
+				post -> assertThat(post.getCommentsCount()).isEqualTo(commentCount));
+	}
+
+	@Test
+	void addComment_ShouldThrow_WhenPostDoesNotExist()
+	{
+		assertThatThrownBy(() -> commentWriteBuffer.addComment(123456789L, "User", "Comment")).isInstanceOf(
+				DataIntegrityViolationException.class);
+	}
+
+	@Test
+	void addComment_ShouldReturnComment_WhenListenerFails()
+	{
+		long postId = savePost();
+		failingListener.failing = true;
+		try
+		{
+			assertThat(commentWriteBuffer.addComment(postId, "User", "First")).isPresent();
+			// The flusher survived the failure of the listener.
+			assertThat(commentWriteBuffer.addComment(postId, "User", "Second")).isPresent();
+		} finally
+		{
+			failingListener.failing = false;
+		}
+	}
+
+	private long savePost()
+	{
+		User author = userRepository.save(new User("author@blog.com", "Author", "password"));
+		Post post = new Post();
+		post.setTitle("Trending post");
+		post.setAuthor(author);
+		post.setPublishedAt(OffsetDateTime.now());
+		return postRepository.save(post)
+							 .getId();
+	}
+
+	static class FailingListener
+	{
+		volatile boolean failing;
+
+		@EventListener
+		void onCommentChanged(CommentChangedEvent event)
+		{
+			if (failing)
+			{
+				throw new IllegalStateException("Listener failure");
+			}
+		}
+	}
+}
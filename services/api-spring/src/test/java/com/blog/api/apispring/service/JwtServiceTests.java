@@ -9,6 +9,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -94,6 +95,63 @@ class JwtServiceTests
 		});
 	}
 
+	@Test
+	void validateAccessToken_WithSameToken_ShouldReturnVerifiedJWT()
+	{
+		DecodedJWT first = jwtService.validateAccessToken(validAccessToken);
+		DecodedJWT second = jwtService.validateAccessToken(validAccessToken);
+
+		assertSame(first, second);
+	}
+
+	@Test
+	void validateAccessToken_WithInvalidSignature_ShouldThrow_WhenValidTokenVerified()
+	{
+		jwtService.validateAccessToken(validAccessToken);
+		String tokenWithInvalidSignature = validAccessToken.substring(0, validAccessToken.length() - 5) + "xxxxx";
+
+		assertThrows(JWTVerificationException.class, () ->
+		{
+			jwtService.validateAccessToken(tokenWithInvalidSignature);
+		});
+	}
+
+	@Test
+	void validateAccessToken_WithAuthorities_ShouldReturnAuthoritiesAndSecurityVersion()
+	{
+		String token = jwtService.generateAccessToken(testUserId, testUsername, testEmail, List.of("ROLE_ADMIN", "READ"),
+				3);
+
+		DecodedJWT decodedJWT = jwtService.validateAccessToken(token);
+
+		assertEquals(List.of("ROLE_ADMIN", "READ"),
+				decodedJWT.getClaim(JwtService.AUTHORITIES_CLAIM)
+						  .asList(String.class));
+		assertEquals(3L,
+				decodedJWT.getClaim(JwtService.SECURITY_VERSION_CLAIM)
+						  .asLong());
+	}
+
+	@Test
+	void validateAccessToken_WithoutAuthorities_ShouldNotHaveSecurityVersion()
+	{
+		DecodedJWT decodedJWT = jwtService.validateAccessToken(validAccessToken);
+
+		assertTrue(decodedJWT.getClaim(JwtService.SECURITY_VERSION_CLAIM)
+							 .isMissing());
+	}
+
+	@Test
+	void validateRefreshToken_WithAccessToken_ShouldThrowJWTVerificationException()
+	{
+		jwtService.validateAccessToken(validAccessToken);
+
+		assertThrows(JWTVerificationException.class, () ->
+		{
+			jwtService.validateRefreshToken(validAccessToken);
+		});
+	}
+
 	@Test
 	void validateRefreshToken_WithValidToken_ShouldReturnDecodedJWT()
 	{
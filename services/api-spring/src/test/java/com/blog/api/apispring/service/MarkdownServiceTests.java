@@ -1,16 +1,15 @@
 package com.blog.api.apispring.service;
 
-import org.commonmark.node.Node;
-import org.commonmark.parser.Parser;
-import org.commonmark.renderer.text.TextContentRenderer;
+import com.blog.api.apispring.markdown.MarkdownAnalysis;
+import com.blog.api.apispring.markdown.MarkdownEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,44 +20,36 @@ class MarkdownServiceTests
 	@Mock
 	private TextService textService;
 
+	@Mock
+	private MarkdownEngine markdownEngine;
+
 	private MarkdownService markdownService;
 
 	@BeforeEach
 	void setUp()
 	{
-		markdownService = new MarkdownService(textService);
+		markdownService = new MarkdownService(textService, markdownEngine);
 	}
 
 	@Test
 	void parseMarkdownToPlainText_ShouldParseMarkdownToPlainText()
 	{
-		try (MockedStatic<Parser> parserStaticMock = Mockito.mockStatic(Parser.class))
-		{
-			Parser parserMock = Mockito.mock(Parser.class);
-			Parser.Builder parserBuilderMock = Mockito.mock(Parser.Builder.class);
-			when(parserBuilderMock.build()).thenReturn(parserMock);
-			parserStaticMock.when(Parser::builder)
-							.thenReturn(parserBuilderMock);
-			try (MockedStatic<TextContentRenderer> textContentRendererMock = Mockito.mockStatic(TextContentRenderer.class))
-			{
-				TextContentRenderer.Builder mockBuilder = Mockito.mock(TextContentRenderer.Builder.class);
-				TextContentRenderer rendererMock = Mockito.mock(TextContentRenderer.class);
-				textContentRendererMock.when(TextContentRenderer::builder)
-									   .thenReturn(mockBuilder);
-				when(mockBuilder.build()).thenReturn(rendererMock);
+		String markdown = "# This is markdown";
+		when(markdownEngine.toPlainText(markdown)).thenReturn("Plain text");
 
-				String markdown = "# This is markdown";
+		String result = markdownService.parseMarkdownToPlainText(markdown);
 
-				Node parsedMarkdown = Mockito.mock(Node.class);
-				when(parserMock.parse(markdown)).thenReturn(parsedMarkdown);
-				when(rendererMock.render(parsedMarkdown)).thenReturn("Plain text");
+		assertThat(result).isEqualTo("Plain text");
+		verify(markdownEngine).toPlainText(markdown);
+	}
 
-				String result = markdownService.parseMarkdownToPlainText(markdown);
+	@Test
+	void analyzeMarkdown_ShouldUseSharedEngine()
+	{
+		String markdown = "# This is markdown";
+		MarkdownAnalysis analysis = new MarkdownAnalysis("This is markdown", "This is markdown", 3, List.of());
+		when(markdownEngine.analyze(markdown, 50)).thenReturn(analysis);
 
-				assertThat(result).isEqualTo("Plain text");
-				verify(parserMock).parse(markdown);
-				verify(rendererMock).render(parsedMarkdown);
-			}
-		}
+		assertThat(markdownService.analyzeMarkdown(markdown, 50)).isSameAs(analysis);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,142 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.dto.posts.GetPostsRequestImpl;
+import com.blog.api.apispring.dto.tag.TagExpression;
+import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.enums.PostCountMode;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostCountServiceTests
+{
+	@Mock
+	private PostRepository postRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private ObjectProvider<PostTagIndexService> postTagIndexServiceProvider;
+
+	@Mock
+	private PostTagIndexService postTagIndexService;
+
+	private final Specification<Post> specs = (root, query, criteriaBuilder) -> null;
+
+	private PostCountService postCountService;
+
+	@BeforeEach
+	void setUp()
+	{
+		postCountService = new PostCountService(postRepository, jdbcTemplate, postTagIndexServiceProvider, "exact",
+				Duration.ofMinutes(5), 100);
+	}
+
+	@Test
+	void countPosts_ShouldRunCountQuery_WhenExact()
+	{
+		when(postRepository.count(specs)).thenReturn(3L);
+		GetPostsRequestImpl request = new GetPostsRequestImpl();
+
+		assertEquals(3L, postCountService.countPosts(request, specs, null));
+		assertEquals(3L, postCountService.countPosts(request, specs, null));
+
+		verify(postRepository, times(2)).count(specs);
+	}
+
+	@Test
+	void countPosts_ShouldRunCountQueryOnce_WhenCached()
+	{
+		when(postRepository.count(specs)).thenReturn(3L);
+		GetPostsRequestImpl request = new GetPostsRequestImpl();
+		request.setCountMode(PostCountMode.CACHED);
+
+		assertEquals(3L, postCountService.countPosts(request, specs, null));
+		assertEquals(3L, postCountService.countPosts(request, specs, null));
+
+		verify(postRepository, times(1)).count(specs);
+	}
+
+	@Test
+	void countPosts_ShouldRunCountQueryAgain_WhenPostChanged()
+	{
+		when(postRepository.count(specs)).thenReturn(3L, 4L);
+		GetPostsRequestImpl request = new GetPostsRequestImpl();
+		request.setCountMode(PostCountMode.CACHED);
+
+		assertEquals(3L, postCountService.countPosts(request, specs, null));
+		postCountService.onPostChanged(new PostChangedEvent(1L, PostChangedEvent.Type.PUBLISHED));
+
+		assertEquals(4L, postCountService.countPosts(request, specs, null));
+	}
+
+	@Test
+	void countPosts_ShouldUseCache_WhenEstimatedAndFiltered()
+	{
+		when(postRepository.count(specs)).thenReturn(3L);
+		GetPostsRequestImpl request = new GetPostsRequestImpl();
+		request.setCountMode(PostCountMode.ESTIMATED);
+		request.setQ("title");
+
+		assertEquals(3L, postCountService.countPosts(request, specs, null));
+		assertEquals(3L, postCountService.countPosts(request, specs, null));
+
+		verify(postRepository, times(1)).count(specs);
+		verify(jdbcTemplate, never()).execute(any(ConnectionCallback.class));
+	}
+
+	@Test
+	void countPosts_ShouldUseTagIndex_WhenOnlyFilteredByTagExpression()
+	{
+		when(postTagIndexServiceProvider.getIfAvailable()).thenReturn(postTagIndexService);
+		postCountService = new PostCountService(postRepository, jdbcTemplate, postTagIndexServiceProvider, "exact",
+				Duration.ofMinutes(5), 100);
+		TagExpression tagExpression = TagExpression.parse("java AND NOT spring");
+		when(postTagIndexService.count(tagExpression)).thenReturn(OptionalLong.of(7L));
+		when(postRepository.count(specs)).thenReturn(2L);
+		GetPostsRequestImpl request = new GetPostsRequestImpl();
+		request.setTagExpression(tagExpression);
+
+		assertEquals(7L, postCountService.countPosts(request, specs, null));
+		assertEquals(2L, postCountService.countPosts(request, specs, 1L));
+
+		verify(postRepository, times(1)).count(specs);
+	}
+
+	@Test
+	void filterKey_ShouldIgnoreTagOrderAndQueryCase()
+	{
+		GetPostsRequestImpl first = new GetPostsRequestImpl();
+		first.setQ(" Title ");
+		first.setTags(List.of(TagIdOrSlug.fromSlug("java"), TagIdOrSlug.fromId(1)));
+		GetPostsRequestImpl second = new GetPostsRequestImpl();
+		second.setQ("title");
+		second.setTags(List.of(TagIdOrSlug.fromId(1), TagIdOrSlug.fromSlug("java")));
+
+		assertEquals(PostCountService.filterKey(first, null), PostCountService.filterKey(second, null));
+		assertNotEquals(PostCountService.filterKey(first, null), PostCountService.filterKey(second, 1L));
+
+		second.setTagExpression(TagExpression.parse("NOT java"));
+		assertNotEquals(PostCountService.filterKey(first, null), PostCountService.filterKey(second, null));
+	}
+}
@@ -0,0 +1,85 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.event.CommentChangedEvent;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.projection.PostHeader;
+import com.blog.api.apispring.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostHeaderServiceTests
+{
+	@Mock
+	private PostRepository postRepository;
+
+	@Mock
+	private PostHeader postHeader;
+
+	private PostHeaderService postHeaderService;
+
+	@BeforeEach
+	void setUp()
+	{
+		postHeaderService = new PostHeaderService(postRepository, new SimpleMeterRegistry(), true,
+				Duration.ofMinutes(1), 100);
+	}
+
+	@Test
+	void getPostHeader_ShouldQueryOnce_WhenCached()
+	{
+		when(postRepository.findHeaderById(1L)).thenReturn(Optional.of(postHeader));
+
+		assertThat(postHeaderService.getPostHeader(1L)).containsSame(postHeader);
+		assertThat(postHeaderService.getPostHeader(1L)).containsSame(postHeader);
+
+		verify(postRepository, times(1)).findHeaderById(1L);
+	}
+
+	@Test
+	void getPostHeader_ShouldNotCache_WhenPostDoesNotExist()
+	{
+		when(postRepository.findHeaderById(1L)).thenReturn(Optional.empty());
+
+		assertThat(postHeaderService.getPostHeader(1L)).isEmpty();
+		assertThat(postHeaderService.getPostHeader(1L)).isEmpty();
+
+		verify(postRepository, times(2)).findHeaderById(1L);
+	}
+
+	@Test
+	void onPostChanged_ShouldReloadHeader()
+	{
+		when(postRepository.findHeaderById(1L)).thenReturn(Optional.of(postHeader));
+		postHeaderService.getPostHeader(1L);
+
+		postHeaderService.onPostChanged(new PostChangedEvent(1L, PostChangedEvent.Type.PUBLISHED));
+		postHeaderService.getPostHeader(1L);
+
+		verify(postRepository, times(2)).findHeaderById(1L);
+	}
+
+	@Test
+	void onCommentChanged_ShouldKeepHeader_WhenCommentUpdated()
+	{
+		when(postRepository.findHeaderById(1L)).thenReturn(Optional.of(postHeader));
+		postHeaderService.getPostHeader(1L);
+
+		postHeaderService.onCommentChanged(new CommentChangedEvent(10L, 1L, CommentChangedEvent.Type.UPDATED));
+		postHeaderService.getPostHeader(1L);
+		postHeaderService.onCommentChanged(new CommentChangedEvent(11L, 1L, CommentChangedEvent.Type.CREATED));
+		postHeaderService.getPostHeader(1L);
+
+		verify(postRepository, times(2)).findHeaderById(1L);
+	}
+}
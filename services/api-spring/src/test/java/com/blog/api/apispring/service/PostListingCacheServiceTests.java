@@ -0,0 +1,167 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.dto.metadata.Metadata;
+import com.blog.api.apispring.dto.posts.GetPostsRequestImpl;
+import com.blog.api.apispring.dto.posts.GetPostsResponse;
+import com.blog.api.apispring.dto.posts.PostDto;
+import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.event.CommentChangedEvent;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.event.TagChangedEvent;
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PostListingCacheServiceTests
+{
+	private SimpleMeterRegistry meterRegistry;
+	private PostListingCacheService postListingCacheService;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp()
+	{
+		meterRegistry = new SimpleMeterRegistry();
+		postListingCacheService = new PostListingCacheService(meterRegistry, true, Duration.ofMinutes(10),
+				1024 * 1024, 64 * 1024);
+		loads = new AtomicInteger();
+	}
+
+	@Test
+	void getPosts_ShouldLoadOnce_WhenSameNormalizedRequest()
+	{
+		GetPostsRequestImpl first = new GetPostsRequestImpl();
+		first.setQ(" Java ");
+		first.setTags(List.of(TagIdOrSlug.fromSlug("java"), TagIdOrSlug.fromId(2)));
+		GetPostsRequestImpl second = new GetPostsRequestImpl();
+		second.setQ("java");
+		second.setTags(List.of(TagIdOrSlug.fromId(2), TagIdOrSlug.fromSlug("java")));
+
+		GetPostsResponse response = postListingCacheService.getPosts(first, loader(1L));
+
+		assertSame(response, postListingCacheService.getPosts(second, loader(1L)));
+		assertEquals(1, loads.get());
+		assertEquals(1.0, meterRegistry.get("cache.gets")
+									   .tag("result", "hit")
+									   .functionCounter()
+									   .count());
+	}
+
+	@Test
+	void getPosts_ShouldNotCache_WhenUnpublished()
+	{
+		GetPostsRequestImpl request = new GetPostsRequestImpl();
+		request.setUnpublished(true);
+
+		postListingCacheService.getPosts(request, loader(1L));
+		postListingCacheService.getPosts(request, loader(1L));
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void onCommentChanged_ShouldOnlyInvalidateListingsShowingPost()
+	{
+		GetPostsRequestImpl firstPage = new GetPostsRequestImpl();
+		GetPostsRequestImpl secondPage = new GetPostsRequestImpl();
+		secondPage.setPage(1);
+		postListingCacheService.getPosts(firstPage, loader(1L));
+		postListingCacheService.getPosts(secondPage, loader(2L));
+
+		postListingCacheService.onCommentChanged(new CommentChangedEvent(10L, 1L, CommentChangedEvent.Type.CREATED));
+		postListingCacheService.getPosts(firstPage, loader(1L));
+		postListingCacheService.getPosts(secondPage, loader(2L));
+
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void onPostChanged_ShouldInvalidateUnfilteredAndMatchingTagListings_WhenPublished()
+	{
+		GetPostsRequestImpl all = new GetPostsRequestImpl();
+		GetPostsRequestImpl matchingTag = requestWithTags(TagIdOrSlug.fromId(1));
+		GetPostsRequestImpl otherTag = requestWithTags(TagIdOrSlug.fromId(2));
+		postListingCacheService.getPosts(all, loader(5L));
+		postListingCacheService.getPosts(matchingTag, loader(5L));
+		postListingCacheService.getPosts(otherTag, loader(6L));
+
+		postListingCacheService.onPostChanged(new PostChangedEvent(7L, PostChangedEvent.Type.PUBLISHED, Set.of(1L)));
+		postListingCacheService.getPosts(all, loader(5L));
+		postListingCacheService.getPosts(matchingTag, loader(5L));
+		postListingCacheService.getPosts(otherTag, loader(6L));
+
+		assertEquals(5, loads.get());
+	}
+
+	@Test
+	void onPostChanged_ShouldKeepUnfilteredListings_WhenOtherPostUpdated()
+	{
+		GetPostsRequestImpl all = new GetPostsRequestImpl();
+		GetPostsRequestImpl search = new GetPostsRequestImpl();
+		search.setQ("java");
+		postListingCacheService.getPosts(all, loader(5L));
+		postListingCacheService.getPosts(search, loader(5L));
+
+		postListingCacheService.onPostChanged(new PostChangedEvent(7L, PostChangedEvent.Type.UPDATED, Set.of()));
+		postListingCacheService.getPosts(all, loader(5L));
+		postListingCacheService.getPosts(search, loader(5L));
+
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	void onTagChanged_ShouldInvalidateListingsShowingTag_WhenFilteredBySlug()
+	{
+		GetPostsRequestImpl bySlug = requestWithTags(TagIdOrSlug.fromSlug("tag-1"));
+		GetPostsRequestImpl otherSlug = requestWithTags(TagIdOrSlug.fromSlug("tag-2"));
+		postListingCacheService.getPosts(bySlug, loader(1L));
+		postListingCacheService.getPosts(otherSlug, loader(2L));
+
+		postListingCacheService.onTagChanged(new TagChangedEvent(1L, TagChangedEvent.Type.UPDATED));
+		postListingCacheService.getPosts(bySlug, loader(1L));
+		postListingCacheService.getPosts(otherSlug, loader(2L));
+
+		assertEquals(3, loads.get());
+	}
+
+	private static GetPostsRequestImpl requestWithTags(TagIdOrSlug... tags)
+	{
+		GetPostsRequestImpl request = new GetPostsRequestImpl();
+		request.setTags(List.of(tags));
+		return request;
+	}
+
+	/**
+	 * Loads a listing of one post tagged with the tag of the same id.
+	 */
+	private Supplier<GetPostsResponse> loader(long postId)
+	{
+		return () ->
+		{
+			loads.incrementAndGet();
+			User author = new User("author@blog.com", "Author", "password");
+			author.setId(1L);
+			Post post = new Post();
+			post.setId(postId);
+			post.setTitle("Post " + postId);
+			post.setAuthor(author);
+			Tag tag = new Tag("Tag " + postId, "tag-" + postId);
+			tag.setId(postId);
+			PostDto postDto = new PostDto(post);
+			postDto.setTags(Set.of(tag));
+			return new GetPostsResponse(List.of(postDto), new Metadata());
+		};
+	}
+}
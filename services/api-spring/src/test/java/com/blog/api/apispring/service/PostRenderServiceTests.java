@@ -0,0 +1,155 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.model.Post;
+import com.blog.api.apispring.model.PostRender;
+import com.blog.api.apispring.repository.PostRenderRepository;
+import com.blog.api.apispring.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostRenderServiceTests
+{
+	private static final String FINGERPRINT = "1:tables";
+
+	@Mock
+	private PostRenderRepository postRenderRepository;
+
+	@Mock
+	private PostRepository postRepository;
+
+	@Mock
+	private MarkdownService markdownService;
+
+	@Mock
+	private TextService textService;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private PostRenderService postRenderService;
+
+	@BeforeEach
+	void setUp()
+	{
+		when(markdownService.getHtmlFingerprint()).thenReturn(FINGERPRINT);
+		postRenderService = new PostRenderService(postRenderRepository, postRepository, markdownService, textService,
+				transactionManager);
+		clearInvocations(markdownService);
+	}
+
+	@Test
+	void render_ShouldRenderAndSave_WhenNotRendered()
+	{
+		Post post = post("# Title");
+		when(postRenderRepository.findById(1L)).thenReturn(Optional.empty());
+		when(markdownService.parseMarkdownToHtml("# Title")).thenReturn("<h1>Title</h1>");
+		when(textService.sanitizeHtml("<h1>Title</h1>")).thenReturn("<h1>Title</h1>");
+		when(postRenderRepository.save(any(PostRender.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		PostRender render = postRenderService.render(post);
+
+		assertThat(render.getPostId()).isEqualTo(1L);
+		assertThat(render.getHtml()).isEqualTo("<h1>Title</h1>");
+		assertThat(render.getBodyHash()).isEqualTo(PostRenderService.hash("# Title"));
+		assertThat(render.getRenderer()).isEqualTo(postRenderService.getRenderer());
+	}
+
+	@Test
+	void render_ShouldNotRenderAgain_WhenBodyHashUnchanged()
+	{
+		Post post = post("# Title");
+		PostRender existing = new PostRender(1L);
+		existing.setBodyHash(PostRenderService.hash("# Title"));
+		existing.setRenderer(postRenderService.getRenderer());
+		existing.setHtml("<h1>Title</h1>");
+		when(postRenderRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+		PostRender render = postRenderService.render(post);
+
+		assertThat(render).isSameAs(existing);
+		verifyNoInteractions(markdownService, textService);
+		verify(postRenderRepository, never()).save(any());
+	}
+
+	@Test
+	void render_ShouldRenderAgain_WhenBodyHashChanged()
+	{
+		Post post = post("# New title");
+		PostRender existing = new PostRender(1L);
+		existing.setBodyHash(PostRenderService.hash("# Title"));
+		existing.setRenderer(postRenderService.getRenderer());
+		existing.setHtml("<h1>Title</h1>");
+		when(postRenderRepository.findById(1L)).thenReturn(Optional.of(existing));
+		when(markdownService.parseMarkdownToHtml("# New title")).thenReturn("<h1>New title</h1>");
+		when(textService.sanitizeHtml("<h1>New title</h1>")).thenReturn("<h1>New title</h1>");
+		when(postRenderRepository.save(existing)).thenReturn(existing);
+
+		postRenderService.render(post);
+
+		assertThat(existing.getHtml()).isEqualTo("<h1>New title</h1>");
+		assertThat(existing.getBodyHash()).isEqualTo(PostRenderService.hash("# New title"));
+	}
+
+	@Test
+	void render_ShouldRenderAgain_WhenRenderedByAnotherRenderer()
+	{
+		Post post = post("~~gone~~");
+		PostRender existing = new PostRender(1L);
+		existing.setBodyHash(PostRenderService.hash("~~gone~~"));
+		existing.setRenderer("");
+		existing.setHtml("<p>~~gone~~</p>");
+		when(postRenderRepository.findById(1L)).thenReturn(Optional.of(existing));
+		when(markdownService.parseMarkdownToHtml("~~gone~~")).thenReturn("<p><del>gone</del></p>");
+		when(textService.sanitizeHtml("<p><del>gone</del></p>")).thenReturn("<p><del>gone</del></p>");
+		when(postRenderRepository.save(existing)).thenReturn(existing);
+
+		postRenderService.render(post);
+
+		assertThat(existing.getHtml()).isEqualTo("<p><del>gone</del></p>");
+		assertThat(existing.getRenderer()).isEqualTo(postRenderService.getRenderer());
+	}
+
+	@Test
+	void getHtml_ShouldNotReadPost_WhenRendered()
+	{
+		PostRender existing = new PostRender(1L);
+		existing.setRenderer(postRenderService.getRenderer());
+		existing.setHtml("<p>Body</p>");
+		when(postRenderRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+		assertThat(postRenderService.getHtml(1L)).contains("<p>Body</p>");
+		verifyNoInteractions(postRepository);
+	}
+
+	@Test
+	void getHtml_ShouldReturnRender_WhenConcurrentReadSavedItFirst()
+	{
+		when(postRenderRepository.findById(1L)).thenReturn(Optional.empty());
+		when(postRepository.findById(1L)).thenReturn(Optional.of(post("# Title")));
+		when(markdownService.parseMarkdownToHtml("# Title")).thenReturn("<h1>Title</h1>");
+		when(textService.sanitizeHtml("<h1>Title</h1>")).thenReturn("<h1>Title</h1>");
+		when(postRenderRepository.save(any(PostRender.class))).thenThrow(
+				new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+		assertThat(postRenderService.getHtml(1L)).contains("<h1>Title</h1>");
+	}
+
+	private static Post post(String body)
+	{
+		Post post = new Post();
+		post.setId(1L);
+		post.setBody(body);
+		return post;
+	}
+}
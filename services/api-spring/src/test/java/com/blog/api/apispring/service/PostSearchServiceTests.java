@@ -0,0 +1,89 @@
+package com.blog.api.apispring.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchServiceTests
+{
+	@Mock
+	private EntityManagerFactory entityManagerFactory;
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	private SessionFactoryImplementor sessionFactory;
+
+	@Mock
+	private ObjectProvider<PostIndexService> postIndexServiceProvider;
+
+	@Mock
+	private PostIndexService postIndexService;
+
+	private PostSearchService postSearchService;
+
+	@BeforeEach
+	void setUp()
+	{
+		when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+		when(sessionFactory.getJdbcServices()
+						   .getDialect()).thenReturn(new PostgreSQLDialect());
+		when(postIndexServiceProvider.getIfAvailable()).thenReturn(postIndexService);
+		postSearchService = new PostSearchService(entityManagerFactory, postIndexServiceProvider, 2);
+	}
+
+	@Test
+	void search_ShouldRunInMemory_WhenWithinMaxResults()
+	{
+		when(postIndexService.isLoaded()).thenReturn(true);
+		when(postIndexService.search("java", 3)).thenReturn(List.of(5L, 3L));
+
+		PostSearchService.PostSearch search = postSearchService.search("java", false);
+
+		assertTrue(search.isInMemory());
+		assertEquals(List.of(5L, 3L), search.rankedIds());
+	}
+
+	@Test
+	void search_ShouldRunInDatabase_WhenMoreThanMaxResultsMatch()
+	{
+		when(postIndexService.isLoaded()).thenReturn(true);
+		when(postIndexService.search("java", 3)).thenReturn(List.of(5L, 3L, 1L));
+
+		assertFalse(postSearchService.search("java", false)
+									 .isInMemory());
+	}
+
+	@Test
+	void search_ShouldRunInDatabase_WhenUnpublishedIncluded()
+	{
+		assertFalse(postSearchService.search("java", true)
+									 .isInMemory());
+
+		verifyNoInteractions(postIndexService);
+	}
+
+	@Test
+	void search_ShouldRunInDatabase_WhenIndexIsLoading()
+	{
+		when(postIndexService.isLoaded()).thenReturn(false);
+
+		assertFalse(postSearchService.search("java", false)
+									 .isInMemory());
+
+		verify(postIndexService, never()).search(anyString(), anyInt());
+	}
+}
@@ -1,6 +1,8 @@
 package com.blog.api.apispring.service;
 
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.event.PostChangedEvent;
+import com.blog.api.apispring.markdown.MarkdownAnalysis;
 import com.blog.api.apispring.model.Post;
 import com.blog.api.apispring.model.Tag;
 import com.blog.api.apispring.model.User;
@@ -16,6 +18,8 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -31,7 +35,7 @@ class PostServiceTests
 	private PostRepository postRepository;
 
 	@Mock
-	private TagService tagService;
+	private TagDictionaryService tagDictionaryService;
 
 	@Mock
 	private CommentService commentService;
@@ -45,17 +49,41 @@ class PostServiceTests
 	@Mock
 	private EntityManager entityManager;
 
+	@Mock
+	private PostCountService postCountService;
+
+	@Mock
+	private PostSearchService postSearchService;
+
+	@Mock
+	private PostRenderService postRenderService;
+
+	@Mock
+	private ObjectProvider<PostTagIndexService> postTagIndexService;
+
+	@Mock
+	private CommentWriteBuffer commentWriteBuffer;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	private PostService postService;
 
 	@BeforeEach
 	void setUp()
 	{
 		postService = new PostService(postRepository,
-				tagService,
+				tagDictionaryService,
 				entityManager,
 				commentService,
 				textService,
-				markdownService);
+				markdownService,
+				postCountService,
+				postSearchService,
+				postRenderService,
+				postTagIndexService,
+				commentWriteBuffer,
+				eventPublisher);
 	}
 
 	@Nested
@@ -91,6 +119,17 @@ class PostServiceTests
 	@Nested
 	class CreatePost
 	{
+		@BeforeEach
+		void setUp()
+		{
+			when(postRepository.save(any(Post.class))).thenAnswer(invocation ->
+			{
+				Post post = invocation.getArgument(0);
+				post.setId(1L);
+				return post;
+			});
+		}
+
 		@Test
 		void createPost_ShouldSanitizeTitle()
 		{
@@ -98,6 +137,14 @@ class PostServiceTests
 
 			verify(textService).sanitizeText("Title");
 		}
+
+		@Test
+		void createPost_ShouldPublishCreatedEvent()
+		{
+			postService.createPost("Title", 1L);
+
+			verify(eventPublisher).publishEvent(new PostChangedEvent(1L, PostChangedEvent.Type.CREATED, Set.of()));
+		}
 	}
 
 	@Nested
@@ -110,6 +157,8 @@ class PostServiceTests
 		{
 			mockPost = Mockito.mock(Post.class);
 			when(postRepository.save(mockPost)).thenReturn(mockPost);
+			lenient().when(markdownService.analyzeMarkdown(any(), anyInt()))
+					 .thenReturn(new MarkdownAnalysis("", "", 0, List.of()));
 		}
 
 		@Test
@@ -178,13 +227,33 @@ class PostServiceTests
 			verify(mockPost, never()).setBody(Mockito.anyString());
 		}
 
+		@Test
+		void updatePost_ShouldRenderBody_AfterSavingPost()
+		{
+			postService.updatePost(mockPost, null, "Body", null);
+
+			InOrder inOrder = inOrder(postRepository, postRenderService);
+			inOrder.verify(postRepository)
+				   .save(mockPost);
+			inOrder.verify(postRenderService)
+				   .render(mockPost);
+		}
+
+		@Test
+		void updatePost_ShouldNotRenderBody_WhenGivenNullBody()
+		{
+			postService.updatePost(mockPost, "Title", null, null);
+
+			verify(postRenderService, never()).render(any());
+		}
+
 		@Test
 		void updatePost_ShouldUpdateDescription_WhenGivenBody()
 		{
 			when(textService.sanitizeText("Body")).thenReturn("Sanitized body");
-			when(markdownService.parseMarkdownToPlainText("Sanitized body")).thenReturn("Plain body");
+			when(markdownService.analyzeMarkdown(eq("Sanitized body"), Mockito.anyInt())).thenReturn(
+					new MarkdownAnalysis("Plain body", "Description", 2, List.of()));
 
-			when(textService.getFirstWordsSubstring(eq("Plain body"), Mockito.anyInt())).thenReturn("Description");
 			postService.updatePost(mockPost, null, "Body", null);
 
 			verify(mockPost).setDescription("Description...");
@@ -202,15 +271,27 @@ class PostServiceTests
 		void updatePost_ShouldUpdateReadingTime_WhenGivenBody()
 		{
 			when(textService.sanitizeText("Body")).thenReturn("Sanitized body");
-			when(markdownService.parseMarkdownToPlainText("Sanitized body")).thenReturn("Plain body");
+			when(markdownService.analyzeMarkdown(eq("Sanitized body"), Mockito.anyInt())).thenReturn(
+					new MarkdownAnalysis("Plain body", "Description", 2000, List.of()));
 
-			when(textService.getFirstWordsSubstring(eq("Plain body"), Mockito.anyInt())).thenReturn("Description");
-			when(textService.estimateReadingTime("Plain body")).thenReturn(10);
+			when(textService.estimateReadingTime(2000)).thenReturn(10);
 			postService.updatePost(mockPost, null, "Body", null);
 
 			verify(mockPost).setReadingTime(10);
 		}
 
+		@Test
+		void updatePost_ShouldUpdateBodyText_WhenGivenBody()
+		{
+			when(textService.sanitizeText("Body")).thenReturn("Sanitized body");
+			when(markdownService.analyzeMarkdown(eq("Sanitized body"), Mockito.anyInt())).thenReturn(
+					new MarkdownAnalysis("Plain body", "Plain body", 2, List.of()));
+
+			postService.updatePost(mockPost, null, "Body", null);
+
+			verify(mockPost).setBodyText("Plain body");
+		}
+
 		@Test
 		void updatePost_ShouldNotUpdateReadingTime_WhenGivenNullBody()
 		{
@@ -222,22 +303,31 @@ class PostServiceTests
 		@Test
 		void updatePost_ShouldUpdateTags_WhenGivenTags()
 		{
-			TagIdOrSlug idTag = Mockito.mock(TagIdOrSlug.class);
-			when(idTag.isSlug()).thenReturn(false);
-			when(idTag.getId()).thenReturn(1L);
-			TagIdOrSlug slugTag = Mockito.mock(TagIdOrSlug.class);
-			when(slugTag.isSlug()).thenReturn(true);
-			when(slugTag.getSlug()).thenReturn("slug");
-			Set<TagIdOrSlug> tagIdOrSlugs = new HashSet<>(Arrays.asList(idTag, slugTag));
+			Set<TagIdOrSlug> tagIdOrSlugs = Set.of(TagIdOrSlug.fromId(1L), TagIdOrSlug.fromSlug("slug"));
 
-			Set<Tag> tags = new HashSet<>(Arrays.asList(Mockito.mock(Tag.class), Mockito.mock(Tag.class)));
-			when(tagService.getAllTagsByIdOrSlug(Mockito.any(), Mockito.any())).thenReturn(tags);
+			when(tagDictionaryService.resolveIds(tagIdOrSlugs)).thenReturn(Set.of(1L, 2L));
+			when(entityManager.find(Tag.class, 1L)).thenReturn(Mockito.mock(Tag.class));
+			when(entityManager.find(Tag.class, 2L)).thenReturn(Mockito.mock(Tag.class));
 
 			postService.updatePost(mockPost, null, null, tagIdOrSlugs);
 
 			verify(mockPost).setTags(argThat(set -> set.size() == 2));
 		}
 
+		@Test
+		void updatePost_ShouldLeaveOutTags_WhenDeletedSinceResolved()
+		{
+			Set<TagIdOrSlug> tagIdOrSlugs = Set.of(TagIdOrSlug.fromId(1L), TagIdOrSlug.fromId(2L));
+
+			when(tagDictionaryService.resolveIds(tagIdOrSlugs)).thenReturn(Set.of(1L, 2L));
+			when(entityManager.find(Tag.class, 1L)).thenReturn(Mockito.mock(Tag.class));
+			when(entityManager.find(Tag.class, 2L)).thenReturn(null);
+
+			postService.updatePost(mockPost, null, null, tagIdOrSlugs);
+
+			verify(mockPost).setTags(argThat(set -> set.size() == 1));
+		}
+
 		@Test
 		void updatePost_ShouldUpdateTags_WhenGivenEmptyTagSet()
 		{
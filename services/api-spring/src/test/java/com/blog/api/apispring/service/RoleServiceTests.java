@@ -0,0 +1,98 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.event.RoleSecurityChangedEvent;
+import com.blog.api.apispring.model.Permission;
+import com.blog.api.apispring.model.Role;
+import com.blog.api.apispring.repository.RoleRepository;
+import com.blog.api.apispring.repository.UserRepository;
+import com.blog.api.apispring.security.authorities.PermissionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleServiceTests
+{
+	@Mock
+	private RoleRepository roleRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	private RoleService roleService;
+
+	private Role role;
+	private Permission read;
+	private Permission create;
+
+	@BeforeEach
+	void setUp()
+	{
+		roleService = new RoleService(roleRepository, userRepository, eventPublisher);
+
+		read = permission(1L, PermissionType.READ);
+		create = permission(2L, PermissionType.CREATE);
+		role = new Role("ROLE_USER");
+		role.setId(3L);
+		role.setPermissions(new HashSet<>(Set.of(read)));
+	}
+
+	@Test
+	void setPermissions_ShouldIncrementSecurityVersionOfUsers_WhenChanged()
+	{
+		when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(role));
+		when(userRepository.incrementSecurityVersionByRoleId(3L)).thenReturn(2);
+
+		Optional<Role> result = roleService.setPermissions("ROLE_USER", Set.of(read, create));
+
+		assertTrue(result.isPresent());
+		assertEquals(Set.of(read, create), role.getPermissions());
+		verify(roleRepository).save(role);
+		verify(userRepository).incrementSecurityVersionByRoleId(3L);
+		verify(eventPublisher).publishEvent(new RoleSecurityChangedEvent(3L));
+	}
+
+	@Test
+	void setPermissions_ShouldWriteNothing_WhenUnchanged()
+	{
+		when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(role));
+
+		Optional<Role> result = roleService.setPermissions("ROLE_USER", Set.of(permission(1L, PermissionType.READ)));
+
+		assertTrue(result.isPresent());
+		verify(roleRepository, never()).save(any());
+		verifyNoInteractions(userRepository, eventPublisher);
+	}
+
+	@Test
+	void setPermissions_ShouldReturnEmpty_WhenRoleDoesNotExist()
+	{
+		when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.empty());
+
+		assertTrue(roleService.setPermissions("ROLE_USER", Set.of(read)).isEmpty());
+
+		verifyNoInteractions(userRepository, eventPublisher);
+	}
+
+	private static Permission permission(long id, PermissionType type)
+	{
+		Permission permission = new Permission(type);
+		permission.setId(id);
+		return permission;
+	}
+}
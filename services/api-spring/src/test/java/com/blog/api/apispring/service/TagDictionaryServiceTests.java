@@ -0,0 +1,97 @@
+package com.blog.api.apispring.service;
+
+import com.blog.api.apispring.dto.tag.TagIdOrSlug;
+import com.blog.api.apispring.event.TagChangedEvent;
+import com.blog.api.apispring.model.Tag;
+import com.blog.api.apispring.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagDictionaryServiceTests
+{
+	@Mock
+	private TagRepository tagRepository;
+
+	private TagDictionaryService tagDictionaryService;
+
+	@BeforeEach
+	void setUp()
+	{
+		tagDictionaryService = new TagDictionaryService(tagRepository);
+		when(tagRepository.findAll()).thenReturn(List.of(tag(1L, "java"), tag(2L, "spring")));
+		tagDictionaryService.reload();
+	}
+
+	@Test
+	void resolveIds_ShouldNotQuery_WhenTagsAreLoaded()
+	{
+		Set<Long> ids = tagDictionaryService.resolveIds(List.of(TagIdOrSlug.fromSlug("java"), TagIdOrSlug.fromId(2L)));
+
+		assertEquals(Set.of(1L, 2L), ids);
+		verify(tagRepository, never()).findAllByIdOrSlug(any(), any());
+	}
+
+	@Test
+	void resolveIds_ShouldLookUpOnce_WhenSlugIsMissing()
+	{
+		when(tagRepository.findAllByIdOrSlug(List.of(), List.of("kotlin"))).thenReturn(Set.of(tag(3L, "kotlin")));
+
+		assertEquals(Set.of(3L), tagDictionaryService.resolveIds(List.of(TagIdOrSlug.fromSlug("kotlin"))));
+		assertEquals(Set.of(3L), tagDictionaryService.resolveIds(List.of(TagIdOrSlug.fromSlug("kotlin"))));
+
+		verify(tagRepository, times(1)).findAllByIdOrSlug(any(), any());
+	}
+
+	@Test
+	void resolveIds_ShouldLeaveOutTags_WhenTheyDoNotExist()
+	{
+		when(tagRepository.findAllByIdOrSlug(List.of(9L), List.of("unknown"))).thenReturn(Set.of());
+
+		Set<Long> ids = tagDictionaryService.resolveIds(
+				List.of(TagIdOrSlug.fromId(1L), TagIdOrSlug.fromId(9L), TagIdOrSlug.fromSlug("unknown")));
+
+		assertEquals(Set.of(1L), ids);
+	}
+
+	@Test
+	void onTagChanged_ShouldReplaceSlug_WhenTagUpdated()
+	{
+		when(tagRepository.findById(1L)).thenReturn(Optional.of(tag(1L, "java-programming")));
+		when(tagRepository.findAllByIdOrSlug(List.of(), List.of("java"))).thenReturn(Set.of());
+
+		tagDictionaryService.onTagChanged(new TagChangedEvent(1L, TagChangedEvent.Type.UPDATED));
+
+		assertEquals(Optional.of(1L), tagDictionaryService.getTagId("java-programming"));
+		assertEquals(Optional.empty(), tagDictionaryService.getTagId("java"));
+	}
+
+	@Test
+	void onTagChanged_ShouldRemoveTag_WhenTagDeleted()
+	{
+		when(tagRepository.findAllByIdOrSlug(List.of(1L), List.of())).thenReturn(Set.of());
+
+		tagDictionaryService.onTagChanged(new TagChangedEvent(1L, TagChangedEvent.Type.DELETED));
+
+		assertEquals(Optional.empty(), tagDictionaryService.getTag(1L));
+		assertEquals(Optional.of(2L), tagDictionaryService.getTagId("spring"));
+	}
+
+	private static Tag tag(long id, String slug)
+	{
+		Tag tag = new Tag(slug, slug);
+		tag.setId(id);
+		return tag;
+	}
+}
@@ -1,9 +1,18 @@
 package com.blog.api.apispring.service;
 
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -197,4 +206,76 @@ class TextServiceTests
 			assertThat(result).isEqualTo(1000 / 200);
 		}
 	}
-}
\ No newline at end of file
+
+	@Nested
+	@DisplayName("sanitizeHtml")
+	class SanitizeHtml
+	{
+		@Test
+		void sanitizeHtml_ShouldKeepFormatting()
+		{
+			String result = textService.sanitizeHtml(
+					"<h1>Title</h1><p><strong>bold</strong> <a href=\"https://blog.com\">link</a></p>");
+
+			assertThat(result).contains("<h1>Title</h1>", "<strong>bold</strong>", "href=\"https://blog.com\"");
+		}
+
+		@Test
+		void sanitizeHtml_ShouldRemoveScriptsAndEventHandlers()
+		{
+			String result = textService.sanitizeHtml("<p onclick=\"alert(1)\">text</p><script>alert(1)</script>");
+
+			assertThat(result).isEqualTo("<p>text</p>");
+		}
+	}
+
+	@Nested
+	@DisplayName("sanitizeText")
+	class SanitizeText
+	{
+		@AfterEach
+		void tearDown()
+		{
+			RequestContextHolder.resetRequestAttributes();
+		}
+
+		@Test
+		void sanitizeText_ShouldReturnSameText_WhenNoMarkup()
+		{
+			String text = "Just a comment, with punctuation: 1 > 0!";
+
+			assertThat(textService.sanitizeText(text)).isSameAs(text);
+		}
+
+		@Test
+		void sanitizeText_ShouldRemoveTagsAndDecodeEntities()
+		{
+			assertThat(textService.sanitizeText("<b>Tom</b> &amp; <script>alert(1)</script>Jerry")).isEqualTo(
+					"Tom & Jerry");
+		}
+
+		@ParameterizedTest
+		@ValueSource(strings = {"", "plain text", "  leading spaces", "\ttab first", "trailing spaces  ",
+				"line\r\nbreaks", "a < b", "fish &chips", "<p>para</p>", "multi\n\nparagraph"})
+		void sanitizeText_ShouldMatchJsoup(String text)
+		{
+			String expected = new Cleaner(Safelist.none()).clean(Jsoup.parse(text))
+														   .wholeText();
+
+			assertThat(textService.sanitizeText(text)).isEqualTo(expected);
+		}
+
+		@Test
+		void sanitizeText_ShouldParseOnce_PerRequest()
+		{
+			RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+			String text = "<i>Title</i>";
+
+			String first = textService.sanitizeText(text);
+			String second = textService.sanitizeText(new String(text));
+
+			assertThat(first).isEqualTo("Title");
+			assertThat(second).isSameAs(first);
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.blog.api.apispring.specs;
 
 import com.blog.api.apispring.PostgresTestConfig;
+import com.blog.api.apispring.dto.tag.TagExpression;
 import com.blog.api.apispring.dto.tag.TagIdOrSlug;
 import com.blog.api.apispring.extensions.ClearDatabaseExtension;
 import com.blog.api.apispring.model.Post;
@@ -9,6 +10,7 @@ import com.blog.api.apispring.model.User;
 import com.blog.api.apispring.repository.PostRepository;
 import com.blog.api.apispring.repository.TagRepository;
 import com.blog.api.apispring.repository.UserRepository;
+import com.blog.api.apispring.service.TagDictionaryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -44,6 +46,9 @@ class PostSpecsTests
 	@Autowired
 	private TagRepository tagRepository;
 
+	@Autowired
+	private TagDictionaryService tagDictionaryService;
+
 	private Tag tag1;
 	private Tag tag2;
 
@@ -335,7 +340,7 @@ class PostSpecsTests
 		post.addTag(tag2);
 		post = postRepository.save(post);
 
-		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(List.of(TagIdOrSlug.fromId(tag1.getId()))));
+		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(List.of(tag1.getId())));
 		assertThat(postsWithTags).hasSize(1);
 		assertThat(postsWithTags.getFirst()
 								.getId()).isEqualTo(post.getId());
@@ -383,8 +388,7 @@ class PostSpecsTests
 		post3.addTag(tag1);
 		post3 = postRepository.save(post3);
 
-		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(List.of(TagIdOrSlug.fromId(tag1.getId()),
-				TagIdOrSlug.fromId(tag2.getId()))));
+		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(List.of(tag1.getId(), tag2.getId())));
 		assertThat(postsWithTags).hasSize(3);
 		assertThat(postsWithTags).extracting(Post::getId)
 								 .containsExactlyInAnyOrder(post.getId(), post2.getId(), post3.getId());
@@ -406,7 +410,7 @@ class PostSpecsTests
 		post.addTag(tag1);
 		post = postRepository.save(post);
 
-		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(List.of(TagIdOrSlug.fromId(tag2.getId()))));
+		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(List.of(tag2.getId())));
 		assertThat(postsWithTags).isEmpty();
 	}
 
@@ -427,7 +431,8 @@ class PostSpecsTests
 		post.addTag(tag1);
 		post = postRepository.save(post);
 
-		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(List.of(TagIdOrSlug.fromSlug(tag1.getSlug()))));
+		List<Post> postsWithTags = postRepository.findAll(
+				PostSpecs.withTags(tagDictionaryService.resolveIds(List.of(TagIdOrSlug.fromSlug(tag1.getSlug())))));
 		assertThat(postsWithTags).hasSize(1);
 		assertThat(postsWithTags.getFirst()
 								.getId()).isEqualTo(post.getId());
@@ -464,8 +469,8 @@ class PostSpecsTests
 		post2.addTag(tag2);
 		post2 = postRepository.save(post2);
 
-		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(List.of(TagIdOrSlug.fromSlug(tag1.getSlug()),
-				TagIdOrSlug.fromId(tag2.getId()))));
+		List<Post> postsWithTags = postRepository.findAll(PostSpecs.withTags(tagDictionaryService.resolveIds(
+				List.of(TagIdOrSlug.fromSlug(tag1.getSlug()), TagIdOrSlug.fromId(tag2.getId())))));
 		assertThat(postsWithTags).hasSize(2);
 		assertThat(postsWithTags).extracting(Post::getId)
 								 .containsExactlyInAnyOrder(post.getId(), post2.getId());
@@ -538,6 +543,45 @@ class PostSpecsTests
 		assertThat(postsWithTags).hasSize(2);
 	}
 
+	@Test
+	void matchingTags_ReturnPosts_WhenExpressionMatches()
+	{
+		User author = new User("author@blog.com", "Test Author", "password");
+		author = userRepository.save(author);
+
+		Post both = new Post();
+		both.setTitle("Post 1");
+		both.setDescription("post 1 description");
+		both.setBody("post 1 body");
+		both.setReadingTime(3);
+		both.setAuthor(author);
+		both.addTag(tag1);
+		both.addTag(tag2);
+		both = postRepository.save(both);
+
+		Post onlyTag1 = new Post();
+		onlyTag1.setTitle("Post 2");
+		onlyTag1.setDescription("post 2 description");
+		onlyTag1.setBody("post 2 body");
+		onlyTag1.setReadingTime(3);
+		onlyTag1.setAuthor(author);
+		onlyTag1.addTag(tag1);
+		onlyTag1 = postRepository.save(onlyTag1);
+
+		Post untagged = new Post();
+		untagged.setTitle("Post 3");
+		untagged.setDescription("post 3 description");
+		untagged.setBody("post 3 body");
+		untagged.setReadingTime(3);
+		untagged.setAuthor(author);
+		untagged = postRepository.save(untagged);
+
+		assertThat(findMatching("tag-1 AND tag-2")).containsExactly(both.getId());
+		assertThat(findMatching("tag-1 AND NOT tag-2")).containsExactly(onlyTag1.getId());
+		assertThat(findMatching("NOT (tag-1 OR " + tag2.getId() + ")")).containsExactly(untagged.getId());
+		assertThat(findMatching("tag-2 OR unknown")).containsExactly(both.getId());
+	}
+
 	@Test
 	void titleContains_ReturnPost_WhenExist()
 	{
@@ -675,4 +719,14 @@ class PostSpecsTests
 		List<Post> posts = postRepository.findAll(PostSpecs.titleContains("    "));
 		assertThat(posts).hasSize(2);
 	}
+
+	private List<Long> findMatching(String expression)
+	{
+		return postRepository.findAll(PostSpecs.matchingTags(TagExpression.parse(expression),
+									  tag -> tag.isId() ? tag.getId() : tagDictionaryService.getTagId(tag.getSlug())
+																							  .orElse(null)))
+							 .stream()
+							 .map(Post::getId)
+							 .toList();
+	}
 }
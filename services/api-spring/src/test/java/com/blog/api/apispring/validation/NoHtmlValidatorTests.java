@@ -0,0 +1,35 @@
+package com.blog.api.apispring.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NoHtmlValidatorTests
+{
+	private final NoHtmlValidator validator = new NoHtmlValidator();
+
+	@Test
+	void isValid_ReturnsTrue_WhenValueIsNull()
+	{
+		assertTrue(validator.isValid(null, null));
+	}
+
+	@Test
+	void isValid_ReturnsTrue_WhenValueIsPlainText()
+	{
+		assertTrue(validator.isValid("A title, with 1 > 0", null));
+	}
+
+	@Test
+	void isValid_ReturnsFalse_WhenValueHasTags()
+	{
+		assertFalse(validator.isValid("<script>alert(1)</script>", null));
+	}
+
+	@Test
+	void isValid_ReturnsFalse_WhenValueHasEntities()
+	{
+		assertFalse(validator.isValid("Tom &amp; Jerry", null));
+	}
+}